@@ -48,7 +48,6 @@ import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Field;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -1268,31 +1267,26 @@ public class ProjectPane extends Tab {
     }
 
     private AbstractNodeBase fetchProjectNodeWithId(String nodeId) throws CopyPasteException {
-        try {
-            Field storageField = AppFileSystem.class.getDeclaredField("storage");
-            storageField.setAccessible(true);
-            AppStorage storage = (AppStorage) storageField.get(project.getFileSystem());
-
-            NodeInfo projectFileInfo = storage.getNodeInfo(nodeId);
-            NodeInfo parentInfo = storage.getParentNode(projectFileInfo.getId()).orElse(null);
-            while (parentInfo != null && !Project.PSEUDO_CLASS.equals(parentInfo.getPseudoClass())) {
-                parentInfo = storage.getParentNode(parentInfo.getId()).orElse(null);
-            }
-            if (parentInfo == null) {
-                return project.getFileSystem().createNode(projectFileInfo);
-            }
+        AppStorage storage = AppFileSystemStorage.getStorage(project.getFileSystem())
+                .orElseThrow(() -> new CopyPasteException("Unable to retrieve node storage"));
 
-            ProjectFileCreationContext context = new ProjectFileCreationContext(projectFileInfo, storage, project);
+        NodeInfo projectFileInfo = storage.getNodeInfo(nodeId);
+        NodeInfo parentInfo = storage.getParentNode(projectFileInfo.getId()).orElse(null);
+        while (parentInfo != null && !Project.PSEUDO_CLASS.equals(parentInfo.getPseudoClass())) {
+            parentInfo = storage.getParentNode(parentInfo.getId()).orElse(null);
+        }
+        if (parentInfo == null) {
+            return project.getFileSystem().createNode(projectFileInfo);
+        }
 
-            if (ProjectFolder.PSEUDO_CLASS.equals(projectFileInfo.getPseudoClass())) {
-                return new ProjectFolder(context);
-            }
+        ProjectFileCreationContext context = new ProjectFileCreationContext(projectFileInfo, storage, project);
 
-            Optional<ProjectFileExtension> extension = PROJECT_FILE_EXTENSIONS.stream().filter(pfe -> pfe.getProjectFilePseudoClass().equals(projectFileInfo.getPseudoClass())).findFirst();
-            return extension.map(ext -> (AbstractNodeBase) ext.createProjectFile(context)).orElseGet(() -> project.getFileSystem().createNode(projectFileInfo));
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new CopyPasteException("Unhandled exception while trying to retrieve node storage", e);
+        if (ProjectFolder.PSEUDO_CLASS.equals(projectFileInfo.getPseudoClass())) {
+            return new ProjectFolder(context);
         }
+
+        Optional<ProjectFileExtension> extension = PROJECT_FILE_EXTENSIONS.stream().filter(pfe -> pfe.getProjectFilePseudoClass().equals(projectFileInfo.getPseudoClass())).findFirst();
+        return extension.map(ext -> (AbstractNodeBase) ext.createProjectFile(context)).orElseGet(() -> project.getFileSystem().createNode(projectFileInfo));
     }
 
     private class ProjectPaneProjectFolderListener implements ProjectFolderListener {
@@ -6,30 +6,25 @@
  */
 package com.powsybl.gse.explorer;
 
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.ImmutableMap;
+import com.powsybl.afs.ProjectFile;
 import com.powsybl.afs.ext.base.ProjectCase;
 import com.powsybl.afs.ext.base.ProjectCaseListener;
 import com.powsybl.afs.ext.base.ScriptType;
 import com.powsybl.commons.json.JsonUtil;
 import com.powsybl.gse.explorer.diagrams.LinePiModelDiagram;
 import com.powsybl.gse.explorer.query.LineQueryResult;
+import com.powsybl.gse.explorer.query.NetworkQuery;
 import com.powsybl.gse.explorer.query.VoltageLevelQueryResult;
 import com.powsybl.gse.explorer.symbols.*;
 import com.powsybl.gse.spi.GseContext;
-import com.powsybl.gse.spi.GseException;
 import com.powsybl.gse.spi.ProjectFileViewer;
 import com.powsybl.gse.util.*;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
-import freemarker.template.TemplateException;
-import freemarker.template.Version;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.*;
@@ -41,13 +36,12 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
+import javafx.util.Duration;
 import org.controlsfx.control.textfield.CustomTextField;
 import org.controlsfx.control.textfield.TextFields;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.StringWriter;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -58,9 +52,19 @@ import java.util.stream.Collectors;
  */
 class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCaseListener {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkExplorer.class);
+
     private static final ResourceBundle RESOURCE_BUNDLE = ResourceBundle.getBundle("lang.NetworkExplorer");
 
     private static final IdAndName LIST_BUSY = new IdAndName("...", "...");
+
+    // delay after the last keystroke before filtering substations
+    private static final Duration FILTER_DELAY = Duration.millis(150);
+
+    private static final int SUBSTATION_DETAILS_CACHE_SIZE = 256;
+
+    // number of substations before and after the selected one whose details are prefetched
+    private static final int SUBSTATION_DETAILS_PREFETCH_COUNT = 5;
     private static final EquipmentInfo TREEVIEW_BUSY = new EquipmentInfo(new IdAndName("...", "..."), null);
 
     private static final Color ICON_COLOR = Color.BLACK;
@@ -76,12 +80,19 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
 
     private final LastTaskOnlyExecutor substationExecutor;
     private final LastTaskOnlyExecutor substationDetailsExecutor;
+    private final LastTaskOnlyExecutor substationDetailsPrefetchExecutor;
     private final LastTaskOnlyExecutor equipmentExecutor;
+    private final LastTaskOnlyExecutor substationFilterExecutor;
 
-    private final ObservableList<IdAndName> substationIds = FXCollections.observableArrayList();
-    private final FilteredList<IdAndName> filteredSubstationIds = substationIds.filtered(s -> true);
+    private final ObservableList<IdAndName> filteredSubstationIds = FXCollections.observableArrayList();
     private final ListView<IdAndName> substationsView = new ListView<>(filteredSubstationIds);
     private final TextField substationFilterInput = TextFields.createClearableTextField();
+    private final PauseTransition substationFilterDelay = new PauseTransition(FILTER_DELAY);
+    // set on the application thread, searched on the filter executor
+    private volatile SubstationSearchIndex substationIndex = SubstationSearchIndex.EMPTY;
+    private final SubstationDetailsCache substationDetailsCache = new SubstationDetailsCache(SUBSTATION_DETAILS_CACHE_SIZE);
+    // voltage levels displayed in the substation detailed view, null if none
+    private List<VoltageLevelQueryResult> displayedVoltageLevels;
     private final TreeView<EquipmentInfo> substationDetailedView = new TreeView<>();
     private final TabPane equipmentTabs = new TabPane();
     private final SplitPane splitPane;
@@ -89,16 +100,11 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
 
     // json
     private final ObjectMapper mapper = JsonUtil.createObjectMapper();
-    private final JavaType voltageLevelQueryResultListType;
-    private final JavaType idAndNameListType;
-    private final JavaType lineType;
 
     private final double rem;
 
-    private final Configuration cfg;
-    private final Template substationTemplate;
-    private final Template voltageLevelTemplate;
-    private final Template lineTemplate;
+    // network of a local case is queried directly, with precompiled scripts
+    private final boolean localQueries;
 
     private final LinePiModelDiagram linePiModelDiagram;
 
@@ -111,7 +117,9 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
 
         substationExecutor = new LastTaskOnlyExecutor(context.getExecutor());
         substationDetailsExecutor = new LastTaskOnlyExecutor(context.getExecutor());
+        substationDetailsPrefetchExecutor = new LastTaskOnlyExecutor(context.getExecutor());
         equipmentExecutor = new LastTaskOnlyExecutor(context.getExecutor());
+        substationFilterExecutor = new LastTaskOnlyExecutor(context.getExecutor());
 
         equipmentTabs.setStyle("-fx-background-color: white;");
         linePiModelDiagram = new LinePiModelDiagram(Color.BLACK, 2);
@@ -139,19 +147,8 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
             refreshEquipmentView();
         });
 
-        substationFilterInput.textProperty().addListener(obs -> {
-            String filter = substationFilterInput.getText();
-            if (filter == null || filter.length() == 0) {
-                filteredSubstationIds.setPredicate(s -> true);
-            } else {
-                filteredSubstationIds.setPredicate(s -> s.getId().toLowerCase().contains(filter.toLowerCase()));
-            }
-
-            // select first
-            if (substationsView.getItems().size() > 0) {
-                substationsView.getSelectionModel().selectFirst();
-            }
-        });
+        substationFilterInput.textProperty().addListener(obs -> substationFilterDelay.playFromStart());
+        substationFilterDelay.setOnFinished(event -> filterSubstations());
         Text searchGlyph = Glyph.createAwesomeFont('\uf002').size("1.4em");
         ((CustomTextField) substationFilterInput).setLeft(searchGlyph);
 
@@ -162,22 +159,9 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
 
         substationDetailedView.setOnDragDetected(this::onDragDetected);
 
-        voltageLevelQueryResultListType = mapper.getTypeFactory().constructCollectionType(List.class, VoltageLevelQueryResult.class);
-        idAndNameListType = mapper.getTypeFactory().constructCollectionType(List.class, IdAndName.class);
-        lineType = mapper.getTypeFactory().constructType(LineQueryResult.class);
-
         rem = Math.rint(new Text("").getLayoutBounds().getHeight());
 
-        cfg = new Configuration(new Version(2, 3, 28));
-        cfg.setClassForTemplateLoading(NetworkExplorer.class, "/ftl");
-        cfg.setDefaultEncoding(StandardCharsets.UTF_8.name());
-        try {
-            substationTemplate = cfg.getTemplate("substationQuery.ftl");
-            voltageLevelTemplate = cfg.getTemplate("voltageLevelQuery.ftl");
-            lineTemplate = cfg.getTemplate("lineQuery.ftl");
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        localQueries = !isRemote(projectCase);
 
         projectCase.addListener(this);
     }
@@ -198,12 +182,34 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
         event.consume();
     }
 
-    private <T> void queryNetwork(String groovyScript, JavaType valueType, Consumer<T> updater, LastTaskOnlyExecutor lastTaskOnlyExecutor) {
+    private static boolean isRemote(ProjectCase projectCase) {
+        return !(projectCase instanceof ProjectFile) || AppFileSystemStorage.isRemote(((ProjectFile) projectCase).getFileSystem());
+    }
+
+    private <T> T runQuery(NetworkQuery<T> query, Map<String, ?> parameters) {
+        if (localQueries) {
+            // typed result objects are directly built from the script result
+            return query.run(projectCase.getNetwork(), parameters);
+        }
+        String json = projectCase.queryNetwork(ScriptType.GROOVY, query.toScript(parameters));
+        return json != null ? query.parseJson(mapper, json) : null;
+    }
+
+    private <T> void queryNetwork(NetworkQuery<T> query, Map<String, ?> parameters, Consumer<T> updater,
+                                  LastTaskOnlyExecutor lastTaskOnlyExecutor) {
+        queryNetwork(query, parameters, Function.identity(), updater, lastTaskOnlyExecutor);
+    }
+
+    /**
+     * Query the network and post process the result, both out of the application thread.
+     */
+    private <T, R> void queryNetwork(NetworkQuery<T> query, Map<String, ?> parameters, Function<T, R> postProcessor,
+                                     Consumer<R> updater, LastTaskOnlyExecutor lastTaskOnlyExecutor) {
         lastTaskOnlyExecutor.execute(() -> {
             try {
-                String json = projectCase.queryNetwork(ScriptType.GROOVY, groovyScript);
-                if (json != null) {
-                    T obj = mapper.readValue(json, valueType);
+                T result = runQuery(query, parameters);
+                R obj = result != null ? postProcessor.apply(result) : null;
+                if (obj != null) {
                     Platform.runLater(() -> updater.accept(obj));
                 }
             } catch (Exception e) {
@@ -268,31 +274,133 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
         };
     }
 
-    private static String processTemplate(Template template, Map<String, Object> templateData) {
-        try (StringWriter out = new StringWriter()) {
-            template.process(templateData, out);
-            out.flush();
-            return out.toString();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        } catch (TemplateException e) {
-            throw new GseException(e);
-        }
+    private void filterSubstations() {
+        String filter = substationFilterInput.getText();
+        SubstationSearchIndex index = substationIndex;
+        substationFilterExecutor.execute(() -> {
+            List<IdAndName> substations = index.search(filter);
+            Platform.runLater(() -> {
+                // substations may have been reloaded in the meantime
+                if (index != substationIndex) {
+                    return;
+                }
+                filteredSubstationIds.setAll(substations);
+
+                // select first
+                if (!filteredSubstationIds.isEmpty()) {
+                    substationsView.getSelectionModel().selectFirst();
+                }
+            });
+        });
     }
 
     private void refreshSubstationsView() {
-        substationIds.setAll(LIST_BUSY);
-        String query = processTemplate(substationTemplate, Collections.emptyMap());
-        queryNetwork(query, idAndNameListType, (List<IdAndName> ids) -> {
-            if (ids == null) {
-                substationIds.clear();
-            } else {
-                substationIds.setAll(ids.stream().sorted(getIdAndNameComparator()).collect(Collectors.toList()));
+        filteredSubstationIds.setAll(LIST_BUSY);
+        Comparator<IdAndName> comparator = getIdAndNameComparator();
+        queryNetwork(NetworkQuery.SUBSTATIONS, Collections.emptyMap(),
+            ids -> SubstationSearchIndex.build(ids.stream().sorted(comparator).collect(Collectors.toList())),
+            (SubstationSearchIndex index) -> {
+                if (index == null) {
+                    substationIndex = SubstationSearchIndex.EMPTY;
+                    filteredSubstationIds.clear();
+                } else {
+                    substationIndex = index;
+                    filteredSubstationIds.setAll(index.search(substationFilterInput.getText()));
+                }
+            }, substationExecutor);
+    }
+
+    /**
+     * Update substations after a network modification. Only removed, added and renamed substations are changed in
+     * the list, so that the selection and the scroll position are kept.
+     */
+    private void updateSubstationsView() {
+        SubstationSearchIndex previousIndex = substationIndex;
+        if (previousIndex.size() == 0) {
+            refreshSubstationsView();
+            return;
+        }
+        Comparator<IdAndName> comparator = getIdAndNameComparator();
+        queryNetwork(NetworkQuery.SUBSTATIONS, Collections.emptyMap(),
+            ids -> SubstationSearchIndex.build(SubstationListChanges.reuseUnchanged(previousIndex.getSubstations(), ids).stream().sorted(comparator).collect(Collectors.toList())),
+            (SubstationSearchIndex index) -> {
+                if (index == null) {
+                    substationIndex = SubstationSearchIndex.EMPTY;
+                    filteredSubstationIds.clear();
+                    return;
+                }
+                substationIndex = index;
+                IdAndName selectedSubstation = substationsView.getSelectionModel().getSelectedItem();
+                SubstationListChanges.applyChanges(filteredSubstationIds, index.search(substationFilterInput.getText()));
+                if (selectedSubstation == null || selectedSubstation == LIST_BUSY) {
+                    return;
+                }
+                if (substationsView.getSelectionModel().getSelectedItem() == selectedSubstation) {
+                    refreshSelectedSubstationDetails(selectedSubstation);
+                } else {
+                    // selected substation has been renamed
+                    SubstationListChanges.findById(filteredSubstationIds, selectedSubstation.getId())
+                            .ifPresent(substation -> substationsView.getSelectionModel().select(substation));
+                }
+            }, substationExecutor);
+    }
+
+    private static boolean isSame(IdAndName idAndName1, IdAndName idAndName2) {
+        return Objects.equals(idAndName1.getId(), idAndName2.getId()) && Objects.equals(idAndName1.getName(), idAndName2.getName());
+    }
+
+    private static boolean isSame(VoltageLevelQueryResult voltageLevel1, VoltageLevelQueryResult voltageLevel2) {
+        if (!isSame(voltageLevel1.getIdAndName(), voltageLevel2.getIdAndName())
+                || voltageLevel1.getEquipments().size() != voltageLevel2.getEquipments().size()) {
+            return false;
+        }
+        for (int i = 0; i < voltageLevel1.getEquipments().size(); i++) {
+            EquipmentInfo equipment1 = voltageLevel1.getEquipments().get(i);
+            EquipmentInfo equipment2 = voltageLevel2.getEquipments().get(i);
+            if (!Objects.equals(equipment1.getType(), equipment2.getType()) || !isSame(equipment1.getIdAndName(), equipment2.getIdAndName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSame(List<VoltageLevelQueryResult> voltageLevels1, List<VoltageLevelQueryResult> voltageLevels2) {
+        if (voltageLevels1 == null || voltageLevels2 == null || voltageLevels1.size() != voltageLevels2.size()) {
+            return voltageLevels1 == voltageLevels2;
+        }
+        for (int i = 0; i < voltageLevels1.size(); i++) {
+            if (!isSame(voltageLevels1.get(i), voltageLevels2.get(i))) {
+                return false;
             }
-        }, substationExecutor);
+        }
+        return true;
+    }
+
+    /**
+     * Query again the details of the selected substation after a network modification, the detailed view being only
+     * filled again if they changed, so that its selection and its scroll position are kept.
+     */
+    private void refreshSelectedSubstationDetails(IdAndName substationIdAndName) {
+        String substationId = substationIdAndName.getId();
+        int cacheGeneration = substationDetailsCache.getGeneration();
+        queryNetwork(NetworkQuery.VOLTAGE_LEVELS, Collections.singletonMap("substationIds", Collections.singletonList(substationId)),
+            voltageLevels -> {
+                substationDetailsCache.putAll(cacheGeneration, voltageLevels);
+                return voltageLevels;
+            },
+            (Map<String, List<VoltageLevelQueryResult>> voltageLevels) -> {
+                if (voltageLevels == null || substationsView.getSelectionModel().getSelectedItem() != substationIdAndName) {
+                    return;
+                }
+                List<VoltageLevelQueryResult> substationVoltageLevels = voltageLevels.get(substationId);
+                if (!isSame(displayedVoltageLevels, substationVoltageLevels)) {
+                    fillSubstationDetailViewWithQueryResults(substationIdAndName, substationVoltageLevels);
+                }
+            }, substationDetailsExecutor);
     }
 
     private void fillSubstationDetailViewWithQueryResults(IdAndName substationIdAndName, List<VoltageLevelQueryResult> voltageLevelQueryResults) {
+        displayedVoltageLevels = voltageLevelQueryResults;
         equipmentTabs.getTabs().clear();
         if (voltageLevelQueryResults != null) {
             TreeItem<EquipmentInfo> substationItem = new TreeItem<>(new EquipmentInfo(substationIdAndName, "SUBSTATION"));
@@ -313,12 +421,81 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
         }
     }
 
+    /**
+     * Get ids of the neighbours in the list of the selected substation that are not cached yet.
+     */
+    private List<String> getNeighbourIdsToPrefetch(int selectedIndex) {
+        List<String> substationIds = new ArrayList<>();
+        int fromIndex = Math.max(0, selectedIndex - SUBSTATION_DETAILS_PREFETCH_COUNT);
+        int toIndex = Math.min(filteredSubstationIds.size(), selectedIndex + SUBSTATION_DETAILS_PREFETCH_COUNT + 1);
+        for (int i = fromIndex; i < toIndex; i++) {
+            String neighbourId = filteredSubstationIds.get(i).getId();
+            if (i != selectedIndex && !substationDetailsCache.contains(neighbourId)) {
+                substationIds.add(neighbourId);
+            }
+        }
+        return substationIds;
+    }
+
+    /**
+     * Prefetch details of the neighbours of the selected substation, once its own details are available, so that
+     * the prefetch never delays the query of the selected substation. A prefetch is only cached and a failure is not
+     * reported, the substation being queried again when selected.
+     */
+    private void prefetchNeighbourSubstationDetails(IdAndName substationIdAndName) {
+        if (substationsView.getSelectionModel().getSelectedItem() != substationIdAndName) {
+            return;
+        }
+        List<String> substationIds = getNeighbourIdsToPrefetch(substationsView.getSelectionModel().getSelectedIndex());
+        if (substationIds.isEmpty()) {
+            return;
+        }
+        int cacheGeneration = substationDetailsCache.getGeneration();
+        substationDetailsPrefetchExecutor.execute(() -> {
+            try {
+                Map<String, List<VoltageLevelQueryResult>> voltageLevels
+                        = runQuery(NetworkQuery.VOLTAGE_LEVELS, Collections.singletonMap("substationIds", substationIds));
+                if (voltageLevels != null) {
+                    substationDetailsCache.putAll(cacheGeneration, voltageLevels);
+                }
+            } catch (Exception e) {
+                LOGGER.warn("Prefetch of substations {} details failed", substationIds, e);
+            }
+        });
+    }
+
     private void refreshSubstationDetailView(IdAndName substationIdAndName) {
         if (substationIdAndName != null && substationIdAndName != LIST_BUSY) {
+            String substationId = substationIdAndName.getId();
+            List<VoltageLevelQueryResult> cachedVoltageLevels = substationDetailsCache.get(substationId);
+            if (cachedVoltageLevels != null) {
+                fillSubstationDetailViewWithQueryResults(substationIdAndName, cachedVoltageLevels);
+                prefetchNeighbourSubstationDetails(substationIdAndName);
+                return;
+            }
+
+            displayedVoltageLevels = null;
             substationDetailedView.setRoot(new TreeItem<>(TREEVIEW_BUSY));
-            String query = processTemplate(voltageLevelTemplate, ImmutableMap.of("substationId", substationIdAndName.getId().replace("'", "\\'")));
-            queryNetwork(query, voltageLevelQueryResultListType, (List<VoltageLevelQueryResult> voltageLevelQueryResults) -> fillSubstationDetailViewWithQueryResults(substationIdAndName, voltageLevelQueryResults), substationDetailsExecutor);
+
+            // query the selected substation alone, its neighbours are prefetched afterwards
+            int cacheGeneration = substationDetailsCache.getGeneration();
+            queryNetwork(NetworkQuery.VOLTAGE_LEVELS, Collections.singletonMap("substationIds", Collections.singletonList(substationId)),
+                voltageLevels -> {
+                    substationDetailsCache.putAll(cacheGeneration, voltageLevels);
+                    return voltageLevels;
+                },
+                (Map<String, List<VoltageLevelQueryResult>> voltageLevels) -> {
+                    // another substation has been selected in the meantime
+                    if (substationsView.getSelectionModel().getSelectedItem() != substationIdAndName) {
+                        return;
+                    }
+                    fillSubstationDetailViewWithQueryResults(substationIdAndName, voltageLevels != null ? voltageLevels.get(substationId) : null);
+                    if (voltageLevels != null) {
+                        prefetchNeighbourSubstationDetails(substationIdAndName);
+                    }
+                }, substationDetailsExecutor);
         } else {
+            displayedVoltageLevels = null;
             substationDetailedView.setRoot(null);
         }
     }
@@ -326,8 +503,7 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
     private void refreshLineView(EquipmentInfo equipment) {
         equipmentTabs.getTabs().setAll(linePiModelTab);
 
-        String lineQuery = processTemplate(lineTemplate, ImmutableMap.of("lineId", equipment.getIdAndName().getId().replace("'", "\\'")));
-        queryNetwork(lineQuery, lineType, (LineQueryResult result) -> {
+        queryNetwork(NetworkQuery.LINE, Collections.singletonMap("lineId", equipment.getIdAndName().getId()), (LineQueryResult result) -> {
             linePiModelDiagram.rProperty().set(result.getR());
             linePiModelDiagram.xProperty().set(result.getX());
             linePiModelDiagram.g1Property().set(result.getG1());
@@ -361,12 +537,16 @@ class NetworkExplorer extends BorderPane implements ProjectFileViewer, ProjectCa
 
     @Override
     public void networkUpdated() {
-        Platform.runLater(this::refreshSubstationsView);
+        Platform.runLater(() -> {
+            substationDetailsCache.invalidate();
+            updateSubstationsView();
+        });
     }
 
     @Override
     public void dispose() {
         projectCase.removeListener(this);
+        substationFilterDelay.stop();
     }
 
     @Override
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.explorer.query.VoltageLevelQueryResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least recently used cache of the voltage levels of substations, filled by queries run on worker threads.
+ * <p>
+ * Invalidating the cache increments its generation, so that the results of a query started before the invalidation,
+ * possibly computed on the previous network state, are not added.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class SubstationDetailsCache {
+
+    private final Map<String, List<VoltageLevelQueryResult>> voltageLevelsBySubstationId;
+
+    private int generation = 0;
+
+    SubstationDetailsCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        voltageLevelsBySubstationId = new LinkedHashMap<String, List<VoltageLevelQueryResult>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<VoltageLevelQueryResult>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized List<VoltageLevelQueryResult> get(String substationId) {
+        return voltageLevelsBySubstationId.get(substationId);
+    }
+
+    /**
+     * Check if a substation is cached, without changing its recency.
+     */
+    synchronized boolean contains(String substationId) {
+        return voltageLevelsBySubstationId.containsKey(substationId);
+    }
+
+    synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Add results of a query started at a given generation, ignored if the cache has been invalidated since.
+     */
+    synchronized void putAll(int queryGeneration, Map<String, List<VoltageLevelQueryResult>> voltageLevels) {
+        if (queryGeneration == generation) {
+            voltageLevelsBySubstationId.putAll(voltageLevels);
+        }
+    }
+
+    synchronized void invalidate() {
+        voltageLevelsBySubstationId.clear();
+        generation++;
+    }
+}
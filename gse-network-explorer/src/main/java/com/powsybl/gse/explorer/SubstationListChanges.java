@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.util.IdAndName;
+import javafx.collections.ObservableList;
+
+import java.util.*;
+
+/**
+ * Incremental update of the substation list after a network modification, so that the selection and the scroll
+ * position of the list are kept.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class SubstationListChanges {
+
+    private SubstationListChanges() {
+    }
+
+    /**
+     * Reuse previous substations whose id and name are unchanged, so that they keep being selected and displayed
+     * as is.
+     */
+    static List<IdAndName> reuseUnchanged(List<IdAndName> previousSubstations, List<IdAndName> substations) {
+        Objects.requireNonNull(previousSubstations);
+        Objects.requireNonNull(substations);
+        Map<String, IdAndName> previousSubstationsById = new HashMap<>();
+        for (IdAndName substation : previousSubstations) {
+            previousSubstationsById.put(substation.getId(), substation);
+        }
+        List<IdAndName> result = new ArrayList<>(substations.size());
+        for (IdAndName substation : substations) {
+            IdAndName previousSubstation = previousSubstationsById.get(substation.getId());
+            result.add(previousSubstation != null && Objects.equals(previousSubstation.getName(), substation.getName())
+                       ? previousSubstation : substation);
+        }
+        return result;
+    }
+
+    /**
+     * Update a list to a target list with minimal changes, elements being compared by identity. Kept elements are
+     * never removed, unless they are not in the target order, in which case the whole list is reset.
+     */
+    static <T> void applyChanges(ObservableList<T> list, List<T> target) {
+        Objects.requireNonNull(list);
+        Objects.requireNonNull(target);
+        Set<T> targetElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        targetElements.addAll(target);
+        Set<T> removedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T element : list) {
+            if (!targetElements.contains(element)) {
+                removedElements.add(element);
+            }
+        }
+        if (!removedElements.isEmpty()) {
+            // a single change for all the removed elements
+            list.removeAll(removedElements);
+        }
+        Set<T> keptElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        keptElements.addAll(list);
+        for (int i = 0; i < target.size(); i++) {
+            T element = target.get(i);
+            if (i < list.size() && list.get(i) == element) {
+                continue;
+            }
+            if (keptElements.contains(element)) {
+                // kept elements are not in the target order, for instance because the sort criteria changed
+                list.setAll(target);
+                return;
+            }
+            list.add(i, element);
+        }
+    }
+
+    /**
+     * Find a substation by id, for instance the new instance of a renamed substation.
+     */
+    static Optional<IdAndName> findById(List<IdAndName> substations, String id) {
+        Objects.requireNonNull(substations);
+        Objects.requireNonNull(id);
+        return substations.stream()
+                .filter(substation -> id.equals(substation.getId()))
+                .findFirst();
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.util.IdAndName;
+
+import java.util.*;
+
+/**
+ * Case insensitive substring search of substations by id or name.
+ * <p>
+ * Ids and names are lower cased once at build time. Each trigram of an id or a name is mapped to the sorted positions
+ * of the substations containing it, so that a filter of at least 3 characters is only checked against the substations
+ * of its rarest trigram. Shorter filters are checked against all the substations.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class SubstationSearchIndex {
+
+    static final SubstationSearchIndex EMPTY = build(Collections.emptyList());
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final List<IdAndName> substations;
+
+    private final String[] ids;
+
+    private final String[] names;
+
+    private final Map<String, int[]> positionsByGram;
+
+    private SubstationSearchIndex(List<IdAndName> substations, String[] ids, String[] names, Map<String, int[]> positionsByGram) {
+        this.substations = substations;
+        this.ids = ids;
+        this.names = names;
+        this.positionsByGram = positionsByGram;
+    }
+
+    private static String normalize(String str) {
+        return str != null ? str.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static void indexGrams(String str, int position, Map<String, List<Integer>> positionsByGram) {
+        for (int i = 0; i + GRAM_LENGTH <= str.length(); i++) {
+            List<Integer> positions = positionsByGram.computeIfAbsent(str.substring(i, i + GRAM_LENGTH), k -> new ArrayList<>());
+            // substations are indexed in order, so a position already added is the last one
+            if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+                positions.add(position);
+            }
+        }
+    }
+
+    /**
+     * Build the index of a list of substations, search results being in the order of this list.
+     */
+    static SubstationSearchIndex build(List<IdAndName> substations) {
+        Objects.requireNonNull(substations);
+        List<IdAndName> substationsCopy = Collections.unmodifiableList(new ArrayList<>(substations));
+        String[] ids = new String[substationsCopy.size()];
+        String[] names = new String[substationsCopy.size()];
+        Map<String, List<Integer>> positionsByGram = new HashMap<>();
+        for (int i = 0; i < substationsCopy.size(); i++) {
+            IdAndName substation = substationsCopy.get(i);
+            ids[i] = normalize(substation.getId());
+            names[i] = normalize(substation.getName());
+            indexGrams(ids[i], i, positionsByGram);
+            indexGrams(names[i], i, positionsByGram);
+        }
+        Map<String, int[]> positionsArrayByGram = new HashMap<>(positionsByGram.size());
+        positionsByGram.forEach((gram, positions) -> positionsArrayByGram.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return new SubstationSearchIndex(substationsCopy, ids, names, positionsArrayByGram);
+    }
+
+    List<IdAndName> getSubstations() {
+        return substations;
+    }
+
+    int size() {
+        return substations.size();
+    }
+
+    private boolean matches(int position, String filter) {
+        return ids[position].contains(filter) || names[position].contains(filter);
+    }
+
+    /**
+     * Get candidate positions of a lower cased filter of at least 3 characters, positions of its rarest trigram.
+     */
+    int[] getCandidates(String filter) {
+        int[] candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= filter.length(); i++) {
+            int[] positions = positionsByGram.getOrDefault(filter.substring(i, i + GRAM_LENGTH), NO_POSITIONS);
+            if (candidates == null || positions.length < candidates.length) {
+                candidates = positions;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Get substations whose id or name contains a filter, ignoring case.
+     */
+    List<IdAndName> search(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            return substations;
+        }
+        String normalizedFilter = normalize(filter);
+        List<IdAndName> result = new ArrayList<>();
+        if (normalizedFilter.length() < GRAM_LENGTH) {
+            for (int i = 0; i < substations.size(); i++) {
+                if (matches(i, normalizedFilter)) {
+                    result.add(substations.get(i));
+                }
+            }
+        } else {
+            for (int i : getCandidates(normalizedFilter)) {
+                if (matches(i, normalizedFilter)) {
+                    result.add(substations.get(i));
+                }
+            }
+        }
+        return result;
+    }
+}
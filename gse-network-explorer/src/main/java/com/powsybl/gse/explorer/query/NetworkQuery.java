@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer.query;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import com.powsybl.gse.util.EquipmentInfo;
+import com.powsybl.gse.util.IdAndName;
+import com.powsybl.iidm.network.Network;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Groovy query of a network, read from the {@code /groovy} resources. Parameters of the query, like an equipment id
+ * or a list of equipment ids, are script variables.
+ * <p>
+ * When run locally, the script is compiled once and each run only binds the network and the parameters. The script
+ * result, made of lists and maps, is directly converted to typed result objects. When the query has to be sent as a
+ * script, for instance to a remote server, parameters are declared at the beginning of the script as string literals
+ * and the JSON result is parsed to the same typed objects.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class NetworkQuery<T> {
+
+    public static final NetworkQuery<List<IdAndName>> SUBSTATIONS
+            = new NetworkQuery<>("substationQuery", new TypeReference<List<IdAndName>>() { },
+                                 result -> toList(result, NetworkQuery::toIdAndName));
+
+    /**
+     * Voltage levels of a list of substations, indexed by substation id, so that substations can be queried in batch.
+     */
+    public static final NetworkQuery<Map<String, List<VoltageLevelQueryResult>>> VOLTAGE_LEVELS
+            = new NetworkQuery<>("voltageLevelQuery", new TypeReference<Map<String, List<VoltageLevelQueryResult>>>() { },
+                                 result -> toMap(result, voltageLevels -> toList(voltageLevels, NetworkQuery::toVoltageLevelQueryResult)),
+                                 "substationIds");
+
+    public static final NetworkQuery<LineQueryResult> LINE
+            = new NetworkQuery<>("lineQuery", new TypeReference<LineQueryResult>() { },
+                                 NetworkQuery::toLineQueryResult, "lineId");
+
+    private final String name;
+
+    private final TypeReference<T> resultType;
+
+    private final Function<Object, T> resultConverter;
+
+    private final List<String> parameterNames;
+
+    private final String source;
+
+    private Class<? extends Script> scriptClass;
+
+    private NetworkQuery(String name, TypeReference<T> resultType, Function<Object, T> resultConverter, String... parameterNames) {
+        this.name = Objects.requireNonNull(name);
+        this.resultType = Objects.requireNonNull(resultType);
+        this.resultConverter = Objects.requireNonNull(resultConverter);
+        this.parameterNames = Arrays.asList(parameterNames);
+        try (InputStream is = NetworkQuery.class.getResourceAsStream("/groovy/" + name + ".groovy")) {
+            source = new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void checkParameters(Map<String, ?> parameters) {
+        Objects.requireNonNull(parameters);
+        if (!parameters.keySet().equals(new HashSet<>(parameterNames))) {
+            throw new IllegalArgumentException("Query " + name + " expects parameters " + parameterNames + ", got "
+                    + parameters.keySet());
+        }
+    }
+
+    synchronized Class<? extends Script> getScriptClass() {
+        if (scriptClass == null) {
+            scriptClass = new GroovyShell().parse(source, name + ".groovy").getClass();
+        }
+        return scriptClass;
+    }
+
+    private static <E> List<E> toList(Object result, Function<Object, E> elementConverter) {
+        List<E> list = new ArrayList<>();
+        for (Object element : (Collection<?>) result) {
+            list.add(elementConverter.apply(element));
+        }
+        return list;
+    }
+
+    private static <V> Map<String, V> toMap(Object result, Function<Object, V> valueConverter) {
+        Map<String, V> map = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> e : ((Map<?, ?>) result).entrySet()) {
+            map.put(e.getKey().toString(), valueConverter.apply(e.getValue()));
+        }
+        return map;
+    }
+
+    private static String toString(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    private static double toDouble(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value != null ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    private static IdAndName toIdAndName(Object result) {
+        Map<?, ?> map = (Map<?, ?>) result;
+        IdAndName idAndName = new IdAndName();
+        idAndName.setId(toString(map, "id"));
+        idAndName.setName(toString(map, "name"));
+        return idAndName;
+    }
+
+    private static VoltageLevelQueryResult toVoltageLevelQueryResult(Object result) {
+        Map<?, ?> map = (Map<?, ?>) result;
+        VoltageLevelQueryResult voltageLevel = new VoltageLevelQueryResult();
+        voltageLevel.setIdAndName(toIdAndName(map.get("idAndName")));
+        voltageLevel.setEquipments(toList(map.get("equipments"), equipment -> {
+            Map<?, ?> equipmentMap = (Map<?, ?>) equipment;
+            return new EquipmentInfo(toIdAndName(equipmentMap.get("idAndName")), toString(equipmentMap, "type"));
+        }));
+        return voltageLevel;
+    }
+
+    private static LineQueryResult toLineQueryResult(Object result) {
+        Map<?, ?> map = (Map<?, ?>) result;
+        LineQueryResult line = new LineQueryResult();
+        line.setR(toDouble(map, "r"));
+        line.setX(toDouble(map, "x"));
+        line.setG1(toDouble(map, "g1"));
+        line.setG2(toDouble(map, "g2"));
+        line.setB1(toDouble(map, "b1"));
+        line.setB2(toDouble(map, "b2"));
+        line.setIdVoltageLevel1(toString(map, "idVoltageLevel1"));
+        line.setIdVoltageLevel2(toString(map, "idVoltageLevel2"));
+        line.setNameVoltageLevel1(toString(map, "nameVoltageLevel1"));
+        line.setNameVoltageLevel2(toString(map, "nameVoltageLevel2"));
+        return line;
+    }
+
+    /**
+     * Run the query on a network, the script being compiled at first run only.
+     *
+     * @return the typed result, or null if the script returned nothing
+     */
+    public T run(Network network, Map<String, ?> parameters) {
+        Objects.requireNonNull(network);
+        checkParameters(parameters);
+        Binding binding = new Binding();
+        binding.setVariable("network", network);
+        parameters.forEach(binding::setVariable);
+        // a new script instance per run, as a script instance holds its binding
+        Object result = InvokerHelper.createScript(getScriptClass(), binding).run();
+        return result != null ? resultConverter.apply(result) : null;
+    }
+
+    /**
+     * Parse the JSON result of the script returned by {@link #toScript(Map)}.
+     */
+    public T parseJson(ObjectMapper mapper, String json) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(json);
+        try {
+            return mapper.readValue(json, resultType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toLiteral(Object value) {
+        if (value instanceof Collection) {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (Object element : (Collection<?>) value) {
+                joiner.add(toLiteral(element));
+            }
+            return joiner.toString();
+        }
+        return toStringLiteral(value.toString());
+    }
+
+    private static String toStringLiteral(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('\'');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\'':
+                    builder.append("\\'");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    builder.append(c);
+                    break;
+            }
+        }
+        return builder.append('\'').toString();
+    }
+
+    /**
+     * Get a standalone script of the query, with its parameters declared as string or list literals.
+     */
+    public String toScript(Map<String, ?> parameters) {
+        checkParameters(parameters);
+        StringBuilder builder = new StringBuilder();
+        for (String parameterName : parameterNames) {
+            builder.append("def ").append(parameterName).append(" = ").append(toLiteral(parameters.get(parameterName)))
+                    .append(System.lineSeparator());
+        }
+        return builder.append(source).toString();
+    }
+}
@@ -1,4 +1,4 @@
-def l = network.getLine('${lineId}')
+def l = network.getLine(lineId)
 [
    r: l.r,
    x: l.x,
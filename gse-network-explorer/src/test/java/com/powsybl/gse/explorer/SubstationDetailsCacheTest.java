@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.explorer.query.VoltageLevelQueryResult;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SubstationDetailsCacheTest {
+
+    private static final List<VoltageLevelQueryResult> VOLTAGE_LEVELS = Collections.singletonList(new VoltageLevelQueryResult());
+
+    private static Map<String, List<VoltageLevelQueryResult>> details(String substationId) {
+        return Collections.singletonMap(substationId, VOLTAGE_LEVELS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new SubstationDetailsCache(0);
+    }
+
+    @Test
+    public void testPutAll() {
+        SubstationDetailsCache cache = new SubstationDetailsCache(10);
+        assertFalse(cache.contains("s1"));
+        assertNull(cache.get("s1"));
+        cache.putAll(cache.getGeneration(), details("s1"));
+        assertTrue(cache.contains("s1"));
+        assertSame(VOLTAGE_LEVELS, cache.get("s1"));
+    }
+
+    @Test
+    public void testStaleGeneration() {
+        SubstationDetailsCache cache = new SubstationDetailsCache(10);
+        cache.putAll(cache.getGeneration(), details("s1"));
+
+        // a query started before the invalidation
+        int queryGeneration = cache.getGeneration();
+        cache.invalidate();
+        assertEquals(queryGeneration + 1, cache.getGeneration());
+        assertFalse(cache.contains("s1"));
+
+        cache.putAll(queryGeneration, details("s2"));
+        assertFalse(cache.contains("s2"));
+        assertNull(cache.get("s2"));
+
+        cache.putAll(cache.getGeneration(), details("s2"));
+        assertTrue(cache.contains("s2"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        SubstationDetailsCache cache = new SubstationDetailsCache(2);
+        cache.putAll(cache.getGeneration(), details("s1"));
+        cache.putAll(cache.getGeneration(), details("s2"));
+
+        // s1 becomes the most recently used, so s2 is evicted
+        assertNotNull(cache.get("s1"));
+        cache.putAll(cache.getGeneration(), details("s3"));
+        assertTrue(cache.contains("s1"));
+        assertFalse(cache.contains("s2"));
+        assertTrue(cache.contains("s3"));
+    }
+
+    @Test
+    public void testContainsKeepsRecency() {
+        SubstationDetailsCache cache = new SubstationDetailsCache(2);
+        cache.putAll(cache.getGeneration(), details("s1"));
+        cache.putAll(cache.getGeneration(), details("s2"));
+
+        // checking s1, like a prefetch does, does not make it the most recently used
+        assertTrue(cache.contains("s1"));
+        cache.putAll(cache.getGeneration(), details("s3"));
+        assertFalse(cache.contains("s1"));
+        assertTrue(cache.contains("s2"));
+        assertTrue(cache.contains("s3"));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.util.IdAndName;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SubstationListChangesTest {
+
+    private IdAndName s1;
+
+    private IdAndName s2;
+
+    private IdAndName s3;
+
+    private IdAndName s4;
+
+    private ObservableList<IdAndName> list;
+
+    private final List<IdAndName> removed = new ArrayList<>();
+
+    private final List<IdAndName> added = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        s1 = new IdAndName("S1", "A");
+        s2 = new IdAndName("S2", "B");
+        s3 = new IdAndName("S3", "C");
+        s4 = new IdAndName("S4", "D");
+        list = FXCollections.observableArrayList(Arrays.asList(s1, s2, s3));
+        list.addListener((ListChangeListener<IdAndName>) c -> {
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    removed.addAll(c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    added.addAll(c.getAddedSubList());
+                }
+            }
+        });
+    }
+
+    private static void assertSameElements(List<IdAndName> expected, List<IdAndName> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testNoChange() {
+        SubstationListChanges.applyChanges(list, Arrays.asList(s1, s2, s3));
+        assertSameElements(Arrays.asList(s1, s2, s3), list);
+        assertTrue(removed.isEmpty());
+        assertTrue(added.isEmpty());
+    }
+
+    @Test
+    public void testRemoval() {
+        SubstationListChanges.applyChanges(list, Collections.singletonList(s2));
+        assertSameElements(Collections.singletonList(s2), list);
+        assertSameElements(Arrays.asList(s1, s3), removed);
+        assertTrue(added.isEmpty());
+    }
+
+    @Test
+    public void testInsertion() {
+        IdAndName s0 = new IdAndName("S0", "0");
+        SubstationListChanges.applyChanges(list, Arrays.asList(s0, s1, s2, s4, s3, s4));
+        assertSameElements(Arrays.asList(s0, s1, s2, s4, s3, s4), list);
+        // added at their target position, kept elements are not removed
+        assertTrue(removed.isEmpty());
+        assertSameElements(Arrays.asList(s0, s4, s4), added);
+    }
+
+    @Test
+    public void testRemovalAndInsertion() {
+        SubstationListChanges.applyChanges(list, Arrays.asList(s1, s4, s3));
+        assertSameElements(Arrays.asList(s1, s4, s3), list);
+        assertSameElements(Collections.singletonList(s2), removed);
+        assertSameElements(Collections.singletonList(s4), added);
+    }
+
+    @Test
+    public void testComparedByIdentity() {
+        // an equal element is still a new element
+        IdAndName newS2 = new IdAndName("S2", "B");
+        SubstationListChanges.applyChanges(list, Arrays.asList(s1, newS2, s3));
+        assertSameElements(Arrays.asList(s1, newS2, s3), list);
+        assertSameElements(Collections.singletonList(s2), removed);
+        assertSameElements(Collections.singletonList(newS2), added);
+    }
+
+    @Test
+    public void testOrderChange() {
+        // kept elements in another order, for instance after a sort criteria change, the list is reset
+        SubstationListChanges.applyChanges(list, Arrays.asList(s3, s4, s2, s1));
+        assertSameElements(Arrays.asList(s3, s4, s2, s1), list);
+        assertTrue(removed.containsAll(Arrays.asList(s1, s2, s3)));
+        assertTrue(added.containsAll(Arrays.asList(s1, s2, s3, s4)));
+    }
+
+    @Test
+    public void testReuseUnchanged() {
+        IdAndName newS1 = new IdAndName("S1", "A");
+        IdAndName renamedS2 = new IdAndName("S2", "B2");
+        List<IdAndName> substations = SubstationListChanges.reuseUnchanged(Arrays.asList(s1, s2, s3),
+                                                                           Arrays.asList(renamedS2, newS1, s4));
+        // order of the new substations, previous instance if id and name are unchanged
+        assertSameElements(Arrays.asList(renamedS2, s1, s4), substations);
+
+        assertTrue(SubstationListChanges.reuseUnchanged(Collections.emptyList(), Collections.emptyList()).isEmpty());
+        assertSameElements(Collections.singletonList(newS1),
+                           SubstationListChanges.reuseUnchanged(Collections.emptyList(), Collections.singletonList(newS1)));
+    }
+
+    @Test
+    public void testReselectRenamed() {
+        IdAndName renamedS2 = new IdAndName("S2", "B2");
+        List<IdAndName> substations = SubstationListChanges.reuseUnchanged(list, Arrays.asList(new IdAndName("S1", "A"),
+                                                                                                 renamedS2,
+                                                                                                 new IdAndName("S3", "C")));
+        SubstationListChanges.applyChanges(list, substations);
+        assertSameElements(Arrays.asList(s1, renamedS2, s3), list);
+        // only the renamed substation is replaced
+        assertSameElements(Collections.singletonList(s2), removed);
+        assertSameElements(Collections.singletonList(renamedS2), added);
+
+        // the previously selected substation is found again by its id
+        assertSame(renamedS2, SubstationListChanges.findById(list, s2.getId()).orElse(null));
+        assertSame(s1, SubstationListChanges.findById(list, "S1").orElse(null));
+        assertFalse(SubstationListChanges.findById(list, "S4").isPresent());
+    }
+}
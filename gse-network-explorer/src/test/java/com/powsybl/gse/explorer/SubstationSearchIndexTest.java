@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer;
+
+import com.powsybl.gse.util.IdAndName;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SubstationSearchIndexTest {
+
+    private IdAndName paris;
+
+    private IdAndName lyon;
+
+    private IdAndName marseille;
+
+    private IdAndName lille;
+
+    private IdAndName noName;
+
+    private SubstationSearchIndex index;
+
+    @Before
+    public void setUp() {
+        paris = new IdAndName("P.ARIS1", "Paris nord");
+        lyon = new IdAndName("LYON2", "Lyon sud");
+        marseille = new IdAndName("MARS3", "Marseille");
+        lille = new IdAndName("LILLE4", "Lille nord");
+        noName = new IdAndName();
+        noName.setId("NONAME5");
+        index = SubstationSearchIndex.build(Arrays.asList(paris, lyon, marseille, lille, noName));
+    }
+
+    private static List<IdAndName> linearSearch(List<IdAndName> substations, String filter) {
+        String normalizedFilter = filter.toLowerCase(Locale.ROOT);
+        return substations.stream()
+                .filter(s -> s.getId().toLowerCase(Locale.ROOT).contains(normalizedFilter)
+                        || (s.getName() != null && s.getName().toLowerCase(Locale.ROOT).contains(normalizedFilter)))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, SubstationSearchIndex.EMPTY.size());
+        assertTrue(SubstationSearchIndex.EMPTY.getSubstations().isEmpty());
+        assertTrue(SubstationSearchIndex.EMPTY.search("abc").isEmpty());
+        assertTrue(SubstationSearchIndex.EMPTY.search("a").isEmpty());
+    }
+
+    @Test
+    public void testNoFilter() {
+        assertEquals(5, index.size());
+        assertEquals(Arrays.asList(paris, lyon, marseille, lille, noName), index.getSubstations());
+        assertSame(index.getSubstations(), index.search(null));
+        assertSame(index.getSubstations(), index.search(""));
+    }
+
+    @Test
+    public void testShortFilter() {
+        // checked against all the substations, as there is no trigram
+        assertEquals(Arrays.asList(lyon, marseille, lille), index.search("l"));
+        assertEquals(Arrays.asList(lyon, noName), index.search("ON"));
+        assertEquals(Collections.singletonList(noName), index.search("5"));
+        assertEquals(Collections.singletonList(paris), index.search("."));
+        assertTrue(index.search("zz").isEmpty());
+    }
+
+    @Test
+    public void testIdAndNameMatching() {
+        // id only
+        assertEquals(Collections.singletonList(marseille), index.search("mars3"));
+        // name only
+        assertEquals(Collections.singletonList(marseille), index.search("seille"));
+        // id and name
+        assertEquals(Collections.singletonList(lyon), index.search("lyon"));
+        // ignoring case
+        assertEquals(Collections.singletonList(lyon), index.search("LyOn SuD"));
+        // null name
+        assertEquals(Collections.singletonList(noName), index.search("noname"));
+        assertTrue(index.search("unknown").isEmpty());
+    }
+
+    @Test
+    public void testOrder() {
+        // results are in the order of the indexed list, whatever the order of the trigram positions
+        assertEquals(Arrays.asList(paris, lille), index.search("nord"));
+        SubstationSearchIndex reversed = SubstationSearchIndex.build(Arrays.asList(noName, lille, marseille, lyon, paris));
+        assertEquals(Arrays.asList(lille, paris), reversed.search("nord"));
+        assertEquals(Arrays.asList(lille, marseille, lyon), reversed.search("l"));
+    }
+
+    @Test
+    public void testCandidates() {
+        // the rarest trigram of the filter gives the candidates
+        assertArrayEquals(new int[] {0, 3}, index.getCandidates("nor"));
+        assertArrayEquals(new int[] {3}, index.getCandidates("e nor"));
+        assertArrayEquals(new int[] {0}, index.getCandidates("paris nord"));
+        // a trigram not indexed, no candidate
+        assertArrayEquals(new int[0], index.getCandidates("nordx"));
+        // a substation is a candidate once, even if a trigram is in both its id and name
+        assertArrayEquals(new int[] {1}, index.getCandidates("lyo"));
+    }
+
+    @Test
+    public void testCandidatesAreChecked() {
+        // each trigram of the filter is indexed, but not in a single substation
+        SubstationSearchIndex index2 = SubstationSearchIndex.build(Arrays.asList(new IdAndName("S1", "abcx"),
+                                                                                 new IdAndName("S2", "xbcd")));
+        assertArrayEquals(new int[] {0}, index2.getCandidates("abcd"));
+        assertTrue(index2.search("abcd").isEmpty());
+        assertEquals(1, index2.search("bcd").size());
+    }
+
+    @Test
+    public void testSameAsLinearSearch() {
+        Random random = new Random(0);
+        String alphabet = "abcde";
+        List<IdAndName> substations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int j = 0; j < 8; j++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            substations.add(new IdAndName("S" + i, name.toString()));
+        }
+        SubstationSearchIndex randomIndex = SubstationSearchIndex.build(substations);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder filter = new StringBuilder();
+            int length = 1 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                filter.append(alphabet.toUpperCase(Locale.ROOT).charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquals(linearSearch(substations, filter.toString()), randomIndex.search(filter.toString()));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.explorer.query;
+
+import com.google.common.collect.ImmutableMap;
+import com.powsybl.gse.util.EquipmentInfo;
+import com.powsybl.gse.util.IdAndName;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import groovy.lang.GroovyShell;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class NetworkQueryTest {
+
+    private static String getDeclaration(String script) {
+        // escaped values never contain a line separator, so the declaration is the first line
+        return script.substring(0, script.indexOf(System.lineSeparator()));
+    }
+
+    private static Object evaluateParameter(NetworkQuery<?> query, String parameterName, Object value) {
+        String declaration = getDeclaration(query.toScript(Collections.singletonMap(parameterName, value)));
+        return new GroovyShell().evaluate(declaration + "\n" + parameterName);
+    }
+
+    private static Set<String> getIds(Collection<IdAndName> idAndNames) {
+        return idAndNames.stream().map(IdAndName::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testRunSubstations() {
+        Network network = EurostagTutorialExample1Factory.create();
+        assertEquals(new HashSet<>(Arrays.asList("P1", "P2")), getIds(NetworkQuery.SUBSTATIONS.run(network, Collections.emptyMap())));
+    }
+
+    @Test
+    public void testRunVoltageLevels() {
+        Network network = EurostagTutorialExample1Factory.create();
+        Map<String, List<VoltageLevelQueryResult>> voltageLevels
+                = NetworkQuery.VOLTAGE_LEVELS.run(network, Collections.singletonMap("substationIds", Arrays.asList("P1", "unknown")));
+        assertEquals(Arrays.asList("P1", "unknown"), new ArrayList<>(voltageLevels.keySet()));
+
+        Map<String, VoltageLevelQueryResult> p1VoltageLevels = voltageLevels.get("P1").stream()
+                .collect(Collectors.toMap(voltageLevel -> voltageLevel.getIdAndName().getId(), voltageLevel -> voltageLevel));
+        assertEquals(new HashSet<>(Arrays.asList("VLGEN", "VLHV1")), p1VoltageLevels.keySet());
+        Map<String, String> vlgenEquipmentTypes = p1VoltageLevels.get("VLGEN").getEquipments().stream()
+                .collect(Collectors.toMap(equipment -> equipment.getIdAndName().getId(), EquipmentInfo::getType));
+        assertEquals(ImmutableMap.of("GEN", "GENERATOR", "NGEN_NHV1", "TWO_WINDINGS_TRANSFORMER"), vlgenEquipmentTypes);
+        assertEquals(new HashSet<>(Arrays.asList("NGEN_NHV1", "NHV1_NHV2_1", "NHV1_NHV2_2")),
+                     getIds(p1VoltageLevels.get("VLHV1").getEquipments().stream().map(EquipmentInfo::getIdAndName).collect(Collectors.toList())));
+
+        // unknown substations have no voltage level
+        assertTrue(voltageLevels.get("unknown").isEmpty());
+    }
+
+    @Test
+    public void testRunLine() {
+        Network network = EurostagTutorialExample1Factory.create();
+        LineQueryResult line = NetworkQuery.LINE.run(network, Collections.singletonMap("lineId", "NHV1_NHV2_1"));
+        assertEquals(3.0, line.getR(), 0.0);
+        assertEquals(33.0, line.getX(), 0.0);
+        assertEquals(0.0, line.getG1(), 0.0);
+        assertEquals(386E-6 / 2, line.getB1(), 0.0);
+        assertEquals("VLHV1", line.getIdVoltageLevel1());
+        assertEquals("VLHV2", line.getIdVoltageLevel2());
+    }
+
+    @Test
+    public void testScriptClassReuse() {
+        Network network = EurostagTutorialExample1Factory.create();
+        NetworkQuery.SUBSTATIONS.run(network, Collections.emptyMap());
+        Class<?> scriptClass = NetworkQuery.SUBSTATIONS.getScriptClass();
+        assertEquals(2, NetworkQuery.SUBSTATIONS.run(network, Collections.emptyMap()).size());
+        assertSame(scriptClass, NetworkQuery.SUBSTATIONS.getScriptClass());
+    }
+
+    @Test
+    public void testToScript() {
+        String script = NetworkQuery.LINE.toScript(Collections.singletonMap("lineId", "l1"));
+        assertEquals("def lineId = 'l1'", getDeclaration(script));
+        assertTrue(script.length() > getDeclaration(script).length() + System.lineSeparator().length());
+
+        script = NetworkQuery.VOLTAGE_LEVELS.toScript(Collections.singletonMap("substationIds", Arrays.asList("s1", "s2")));
+        assertEquals("def substationIds = ['s1', 's2']", getDeclaration(script));
+
+        script = NetworkQuery.SUBSTATIONS.toScript(Collections.emptyMap());
+        assertFalse(script.startsWith("def "));
+    }
+
+    @Test
+    public void testEscaping() {
+        assertEquals("def lineId = 'a\\'b'", getDeclaration(NetworkQuery.LINE.toScript(Collections.singletonMap("lineId", "a'b"))));
+        assertEquals("def lineId = 'a\\\\b'", getDeclaration(NetworkQuery.LINE.toScript(Collections.singletonMap("lineId", "a\\b"))));
+        assertEquals("def lineId = 'a\\nb\\rc'", getDeclaration(NetworkQuery.LINE.toScript(Collections.singletonMap("lineId", "a\nb\rc"))));
+        // no interpolation in single quoted strings
+        assertEquals("def lineId = '${x}'", getDeclaration(NetworkQuery.LINE.toScript(Collections.singletonMap("lineId", "${x}"))));
+    }
+
+    @Test
+    public void testEscapedValuesEvaluation() {
+        for (String value : Arrays.asList("a'b", "a\\b", "a\\'b", "a\nb\r\nc", "${x}", "$x", "\\", "'", "''", "")) {
+            assertEquals(value, evaluateParameter(NetworkQuery.LINE, "lineId", value));
+        }
+        List<String> ids = Arrays.asList("s'1", "s\\2", "s\n3", "$s4");
+        assertEquals(ids, evaluateParameter(NetworkQuery.VOLTAGE_LEVELS, "substationIds", ids));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingParameter() {
+        NetworkQuery.LINE.toScript(Collections.emptyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownParameter() {
+        NetworkQuery.LINE.toScript(Collections.singletonMap("substationId", "s1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtraParameter() {
+        Map<String, String> parameters = ImmutableMap.of("lineId", "l1", "substationId", "s1");
+        NetworkQuery.LINE.toScript(parameters);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullParameters() {
+        NetworkQuery.LINE.toScript(null);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * R-tree indexing of all the line branches.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BranchIndexBenchmark {
+
+    @Param({"BULK", "INCREMENTAL"})
+    private IndexBuildMode mode;
+
+    private List<BranchGraphic> branches;
+
+    @Setup
+    public void setUp() {
+        branches = LineGeometryStore.build(SyntheticGrid.generate(0).getLines()).toGraphics().values().stream()
+                .flatMap(line -> line.getBranches().stream())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public BranchGraphicIndex build() {
+        return BranchGraphicIndex.build(branches, mode);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the RTE open data CSV files, compared to the reading of their binary cache.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeoDataParsingBenchmark {
+
+    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+
+    private Path dir;
+
+    // CSV files are parsed at each invocation
+    private final GeoDataSource uncachedSource = new RteCsvGeoDataSource() {
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+    };
+
+    private final GeoDataSource cachedSource = new RteCsvGeoDataSource();
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("geo-data-parsing-benchmark");
+        SyntheticGrid.generate(0).writeRteCsv(dir);
+        // write the caches
+        GeoDataSources.loadSubstationData(cachedSource, dir, EXECUTOR);
+        GeoDataSources.loadLineSegmentData(cachedSource, dir, EXECUTOR);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SyntheticGrid.delete(dir);
+    }
+
+    @Benchmark
+    public SubstationData parseSubstations() {
+        return GeoDataSources.loadSubstationData(uncachedSource, dir, EXECUTOR);
+    }
+
+    @Benchmark
+    public LineSegmentData parseLineSegments() {
+        return GeoDataSources.loadLineSegmentData(uncachedSource, dir, EXECUTOR);
+    }
+
+    @Benchmark
+    public SubstationData readCachedSubstations() {
+        return GeoDataSources.loadSubstationData(cachedSource, dir, EXECUTOR);
+    }
+
+    @Benchmark
+    public LineSegmentData readCachedLineSegments() {
+        return GeoDataSources.loadLineSegmentData(cachedSource, dir, EXECUTOR);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computation of the line branches from the line segments, line by line as done by
+ * {@link LineGraphic#updateBranches()} and for all the lines at once as done at load time.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineBranchesBenchmark {
+
+    private LineSegmentData data;
+
+    private Collection<LineGraphic> lines;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticGrid.generate(0).getLines();
+        lines = data.toGraphics().values();
+    }
+
+    @Benchmark
+    public int updateBranches() {
+        int branchCount = 0;
+        for (LineGraphic line : lines) {
+            line.updateBranches();
+            branchCount += line.getBranches().size();
+        }
+        return branchCount;
+    }
+
+    @Benchmark
+    public LineGeometryStore buildGeometryStore() {
+        return LineGeometryStore.build(data);
+    }
+}
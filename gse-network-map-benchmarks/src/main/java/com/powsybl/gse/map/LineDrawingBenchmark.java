@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Frame time of the line layer direct drawing, with batched paths and with one canvas command per segment and per
+ * pylon, on the same viewports. Lines are drawn by {@link LineOrderDrawing}, as done by the line layer when tile
+ * rendering is off, and the canvas is then snapshotted so that drawing commands are actually rasterized.
+ * <p>
+ * The JavaFX toolkit is started, so a display is needed.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineDrawingBenchmark {
+
+    private static final int VIEWPORT_COUNT = 8;
+
+    private static final int CANVAS_WIDTH = 1920;
+
+    private static final int CANVAS_HEIGHT = 1080;
+
+    private static final double[] NO_DASHES = {};
+
+    @Param({"true", "false"})
+    private boolean batched;
+
+    @Param({"7", "9", "11"})
+    private int zoom;
+
+    @Param({"false", "true"})
+    private boolean showPylons;
+
+    private SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
+
+    private LineLevelsOfDetail levelsOfDetail;
+
+    private List<Rectangle> viewports;
+
+    private final Function<BranchGraphic, LineOrderDrawing.LineStyle> styles
+        = branch -> new LineOrderDrawing.LineStyle(branch.getLine().getColor(), NO_DASHES);
+
+    private Canvas canvas;
+
+    private WritableImage image;
+
+    private static void runOnFxThread(Runnable runnable) {
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                runnable.run();
+            } finally {
+                latch.countDown();
+            }
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // start the JavaFX toolkit
+        new JFXPanel();
+
+        LineGeometryStore store = LineGeometryStore.build(SyntheticGrid.generate(0).getLines());
+        branchesIndexes = SyntheticGrid.buildBranchesIndexes(store);
+        levelsOfDetail = LineLevelsOfDetail.build(store);
+        viewports = SyntheticGrid.generateViewports(VIEWPORT_COUNT, zoom, CANVAS_WIDTH, CANVAS_HEIGHT, 0);
+        runOnFxThread(() -> {
+            canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
+            image = new WritableImage(CANVAS_WIDTH, CANVAS_HEIGHT);
+        });
+    }
+
+    private void drawFrame(Rectangle viewport) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        LineLevelsOfDetail.Level level = levelsOfDetail.getLevel(zoom);
+        // world origin position so that the viewport top left corner is the canvas one
+        double translateX = -TileGrid.projectX(viewport.x1(), zoom);
+        double translateY = -TileGrid.projectY(viewport.y2(), zoom);
+        gc.clearRect(0, 0, CANVAS_WIDTH, CANVAS_HEIGHT);
+        for (Map.Entry<Integer, BranchGraphicIndex> e : branchesIndexes.entrySet()) {
+            new LineOrderDrawing(gc, e.getKey(), e.getValue(), viewport, zoom, translateX, translateY, level, showPylons,
+                                 batched, false, styles)
+                    .run(Long.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIEWPORT_COUNT)
+    public void draw(Blackhole blackhole) {
+        runOnFxThread(() -> {
+            for (Rectangle viewport : viewports) {
+                drawFrame(viewport);
+                // rasterize the drawing commands of the frame
+                blackhole.consume(canvas.snapshot(null, image));
+            }
+        });
+    }
+}
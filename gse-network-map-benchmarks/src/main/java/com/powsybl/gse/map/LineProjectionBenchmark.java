@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.Entry;
+import com.github.davidmoten.rtree.geometry.Geometry;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless equivalent of the line layer drawing loop: branches of a viewport are searched, their pylons kept by the
+ * level of detail of the zoom are projected to screen coordinates and accumulated into the path buffers, only the
+ * canvas calls being left out.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineProjectionBenchmark {
+
+    @Param({"5", "7", "9", "11"})
+    private int zoom;
+
+    private SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
+
+    private LineLevelsOfDetail levelsOfDetail;
+
+    private List<Rectangle> viewports;
+
+    private double[] xs = new double[16];
+
+    private double[] ys = new double[16];
+
+    @Setup
+    public void setUp() {
+        LineGeometryStore store = LineGeometryStore.build(SyntheticGrid.generate(0).getLines());
+        branchesIndexes = SyntheticGrid.buildBranchesIndexes(store);
+        levelsOfDetail = LineLevelsOfDetail.build(store);
+        viewports = SyntheticGrid.generateViewports(ViewportSearchBenchmark.VIEWPORT_COUNT, zoom,
+                ViewportSearchBenchmark.VIEWPORT_WIDTH, ViewportSearchBenchmark.VIEWPORT_HEIGHT, 0);
+    }
+
+    private int project(BranchGraphic branch, LineLevelsOfDetail.Level level, double originX, double originY, int pointCount) {
+        int pylonCount = level != null ? level.getPylonCount(branch.getIndex()) : branch.getPylonCount();
+        if (pointCount + pylonCount > xs.length) {
+            int length = Math.max(xs.length * 2, pointCount + pylonCount);
+            xs = Arrays.copyOf(xs, length);
+            ys = Arrays.copyOf(ys, length);
+        }
+        for (int k = 0; k < pylonCount; k++) {
+            int i = level != null ? level.getPylonIndex(branch.getIndex(), k) : k;
+            xs[pointCount + k] = TileGrid.projectX(branch.getLon(i), zoom) - originX;
+            ys[pointCount + k] = TileGrid.projectY(branch.getLat(i), zoom) - originY;
+        }
+        return pointCount + pylonCount;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ViewportSearchBenchmark.VIEWPORT_COUNT)
+    public void draw(Blackhole blackhole) {
+        LineLevelsOfDetail.Level level = levelsOfDetail.getLevel(zoom);
+        List<Entry<BranchGraphic, Geometry>> entries = new ArrayList<>();
+        for (Rectangle viewport : viewports) {
+            double originX = TileGrid.projectX(viewport.x1(), zoom);
+            double originY = TileGrid.projectY(viewport.y2(), zoom);
+            for (BranchGraphicIndex index : branchesIndexes.values()) {
+                entries.clear();
+                index.getTree().search(viewport).toBlocking().forEach(entries::add);
+                int pointCount = 0;
+                for (Entry<BranchGraphic, Geometry> e : entries) {
+                    pointCount = project(e.value(), level, originX, originY, pointCount);
+                }
+                blackhole.consume(pointCount);
+                blackhole.consume(xs);
+                blackhole.consume(ys);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking of the substation or line under the cursor, as done on each mouse move by the selection layer, at zoom
+ * levels from the whole country, where substations are clustered, to a region. Cursor positions are either anywhere
+ * on the grid, mostly far from any object, or a few pixels away from a line pylon, where candidates have to be
+ * refined. A pick is expected to take less than 1 ms.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapPickerBenchmark {
+
+    static final int PICK_COUNT = 1024;
+
+    // distance in pixels of the cursor to the pylon of a line
+    static final double PYLON_OFFSET = 2;
+
+    @Param({"5", "7", "9", "11"})
+    private int zoom;
+
+    private MapPicker picker;
+
+    private List<Coordinate> anywhere;
+
+    private List<Coordinate> nearLines;
+
+    @Setup
+    public void setUp() {
+        SyntheticGrid grid = SyntheticGrid.generate(0);
+        Collection<SubstationGraphic> substations = grid.getSubstations().toGraphics().values();
+        LineGeometryStore store = LineGeometryStore.build(grid.getLines());
+        picker = new MapPicker(SyntheticGrid.buildBranchesIndexes(store), SubstationGraphicIndex.build(substations),
+                               SubstationClusters.build(substations));
+
+        Random random = new Random(0);
+        anywhere = new ArrayList<>(PICK_COUNT);
+        for (int i = 0; i < PICK_COUNT; i++) {
+            anywhere.add(new Coordinate(SyntheticGrid.MIN_LON + random.nextDouble() * (SyntheticGrid.MAX_LON - SyntheticGrid.MIN_LON),
+                                        SyntheticGrid.MIN_LAT + random.nextDouble() * (SyntheticGrid.MAX_LAT - SyntheticGrid.MIN_LAT)));
+        }
+        List<LineGraphic> lines = new ArrayList<>(store.toGraphics().values());
+        nearLines = new ArrayList<>(PICK_COUNT);
+        for (int i = 0; i < PICK_COUNT; i++) {
+            LineGraphic line = lines.get(random.nextInt(lines.size()));
+            BranchGraphic branch = line.getBranches().get(random.nextInt(line.getBranches().size()));
+            int pylon = random.nextInt(branch.getPylonCount());
+            double x = TileGrid.projectX(branch.getLon(pylon), zoom) + PYLON_OFFSET;
+            double y = TileGrid.projectY(branch.getLat(pylon), zoom) + PYLON_OFFSET;
+            nearLines.add(new Coordinate(TileGrid.unprojectLon(x, zoom), TileGrid.unprojectLat(y, zoom)));
+        }
+    }
+
+    private int pick(List<Coordinate> coordinates) {
+        int count = 0;
+        for (Coordinate c : coordinates) {
+            if (picker.pick(c, zoom, true).isPresent()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICK_COUNT)
+    public int pickAnywhere() {
+        return pick(anywhere);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PICK_COUNT)
+    public int pickNearLines() {
+        return pick(nearLines);
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Geometries;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Reproducible synthetic grid sized like the French transmission grid open data: substations spread over the French
+ * bounding box, and lines drawn as jittered pylon paths between substations of the same base voltage.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class SyntheticGrid {
+
+    static final int SUBSTATION_COUNT = 6500;
+
+    static final int LINE_COUNT = 9000;
+
+    static final int MEAN_SEGMENT_COUNT = 14;
+
+    static final double MIN_LON = -4.8;
+
+    static final double MAX_LON = 8.2;
+
+    static final double MIN_LAT = 42.3;
+
+    static final double MAX_LAT = 51.1;
+
+    // share of substations and lines of each base voltage, in draw order
+    private static final RteOpenData.BaseVoltage[] BASE_VOLTAGES = {
+        RteOpenData.BaseVoltage.VL_400_KV,
+        RteOpenData.BaseVoltage.VL_225_KV,
+        RteOpenData.BaseVoltage.VL_150_KV,
+        RteOpenData.BaseVoltage.VL_90_KV,
+        RteOpenData.BaseVoltage.VL_63_KV,
+        RteOpenData.BaseVoltage.VL_45_KV,
+        RteOpenData.BaseVoltage.VL_INF_45_KV
+    };
+
+    private static final double[] BASE_VOLTAGE_SHARES = {0.06, 0.22, 0.03, 0.18, 0.45, 0.02, 0.04};
+
+    private static final String[] BASE_VOLTAGE_LABELS = {"400 kV", "225 kV", "150 kV", "90 kV", "63 kV", "45 kV", "INF 45 kV"};
+
+    // share of lines written to the underground lines file
+    private static final double UNDERGROUND_SHARE = 0.1;
+
+    private final SubstationData substations;
+
+    private final LineSegmentData lines;
+
+    private SyntheticGrid(SubstationData substations, LineSegmentData lines) {
+        this.substations = Objects.requireNonNull(substations);
+        this.lines = Objects.requireNonNull(lines);
+    }
+
+    private static int randomBaseVoltage(Random random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < BASE_VOLTAGE_SHARES.length - 1; i++) {
+            r -= BASE_VOLTAGE_SHARES[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return BASE_VOLTAGE_SHARES.length - 1;
+    }
+
+    static SyntheticGrid generate(long seed) {
+        Random random = new Random(seed);
+
+        SubstationData.Builder substationsBuilder = new SubstationData.Builder();
+        List<List<Integer>> substationsByBaseVoltage = new ArrayList<>();
+        for (int v = 0; v < BASE_VOLTAGES.length; v++) {
+            substationsByBaseVoltage.add(new ArrayList<>());
+        }
+        double[] lons = new double[SUBSTATION_COUNT];
+        double[] lats = new double[SUBSTATION_COUNT];
+        for (int i = 0; i < SUBSTATION_COUNT; i++) {
+            int v = randomBaseVoltage(random);
+            lons[i] = MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON);
+            lats[i] = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+            substationsBuilder.add("S" + i, BASE_VOLTAGES[v], lons[i], lats[i]);
+            substationsByBaseVoltage.get(v).add(i);
+        }
+
+        LineSegmentData.Builder linesBuilder = new LineSegmentData.Builder();
+        for (int l = 0; l < LINE_COUNT; l++) {
+            int v = randomBaseVoltage(random);
+            List<Integer> candidates = substationsByBaseVoltage.get(v);
+            int s1 = candidates.get(random.nextInt(candidates.size()));
+            // connect to one of the close substations, as lines are mostly regional
+            int s2 = s1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int k = 0; k < 8; k++) {
+                int s = candidates.get(random.nextInt(candidates.size()));
+                double distance = Math.hypot(lons[s] - lons[s1], lats[s] - lats[s1]);
+                if (s != s1 && distance < bestDistance) {
+                    s2 = s;
+                    bestDistance = distance;
+                }
+            }
+            int segmentCount = 1 + random.nextInt(2 * MEAN_SEGMENT_COUNT - 1);
+            double jitter = bestDistance / segmentCount / 4;
+            double lon = lons[s1];
+            double lat = lats[s1];
+            for (int s = 1; s <= segmentCount; s++) {
+                double nextLon = lons[s1] + (lons[s2] - lons[s1]) * s / segmentCount;
+                double nextLat = lats[s1] + (lats[s2] - lats[s1]) * s / segmentCount;
+                if (s < segmentCount) {
+                    nextLon += (random.nextDouble() - 0.5) * jitter;
+                    nextLat += (random.nextDouble() - 0.5) * jitter;
+                }
+                linesBuilder.add("L" + l, BASE_VOLTAGES[v], lon, lat, nextLon, nextLat);
+                lon = nextLon;
+                lat = nextLat;
+            }
+        }
+
+        return new SyntheticGrid(substationsBuilder.build(), linesBuilder.build());
+    }
+
+    SubstationData getSubstations() {
+        return substations;
+    }
+
+    LineSegmentData getLines() {
+        return lines;
+    }
+
+    /**
+     * Index branches of a geometry store per draw order, as done at load time.
+     */
+    static SortedMap<Integer, BranchGraphicIndex> buildBranchesIndexes(LineGeometryStore store) {
+        Map<Integer, List<BranchGraphic>> orderedBranches = new TreeMap<>();
+        for (LineGraphic line : store.toGraphics().values()) {
+            orderedBranches.computeIfAbsent(line.getDrawOrder(), k -> new ArrayList<>()).addAll(line.getBranches());
+        }
+        SortedMap<Integer, BranchGraphicIndex> branchesIndexes = new TreeMap<>();
+        orderedBranches.forEach((drawOrder, branches) -> branchesIndexes.put(drawOrder, BranchGraphicIndex.build(branches)));
+        return branchesIndexes;
+    }
+
+    /**
+     * Get viewports of {@code width} x {@code height} pixels at a given zoom, centered on random points of the grid.
+     */
+    static List<Rectangle> generateViewports(int count, double zoom, double width, double height, long seed) {
+        Random random = new Random(seed);
+        List<Rectangle> viewports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = TileGrid.projectX(MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON), zoom);
+            double y = TileGrid.projectY(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT), zoom);
+            viewports.add(Geometries.rectangleGeographic(TileGrid.unprojectLon(x - width / 2, zoom),
+                                                         TileGrid.unprojectLat(y + height / 2, zoom),
+                                                         TileGrid.unprojectLon(x + width / 2, zoom),
+                                                         TileGrid.unprojectLat(y - height / 2, zoom)));
+        }
+        return viewports;
+    }
+
+    private static String getLabel(byte baseVoltage) {
+        return BASE_VOLTAGE_LABELS[Arrays.asList(BASE_VOLTAGES).indexOf(RteOpenData.BaseVoltage.fromOrdinal(baseVoltage))];
+    }
+
+    /**
+     * Write the grid with the column layout of the RTE open data CSV files, see {@link RteCsvGeoDataSource}.
+     */
+    void writeRteCsv(Path dir) {
+        Objects.requireNonNull(dir);
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(RteCsvGeoDataSource.SUBSTATIONS_FILE_NAME), StandardCharsets.UTF_8)) {
+                writer.write("Code poste;Nom poste;Fonction;Etat;Tension;Longitude;Latitude");
+                writer.newLine();
+                for (int i = 0; i < substations.size(); i++) {
+                    writer.write(substations.getIds()[i] + ";" + substations.getIds()[i] + ";POSTE DE TRANSFORMATION;EN EXPLOITATION;"
+                            + getLabel(substations.getBaseVoltages()[i]) + ";" + substations.getLons()[i] + ";" + substations.getLats()[i]);
+                    writer.newLine();
+                }
+            }
+            try (BufferedWriter aerialWriter = Files.newBufferedWriter(dir.resolve(RteCsvGeoDataSource.AERIAL_LINES_FILE_NAME), StandardCharsets.UTF_8);
+                 BufferedWriter undergroundWriter = Files.newBufferedWriter(dir.resolve(RteCsvGeoDataSource.UNDERGROUND_LINES_FILE_NAME), StandardCharsets.UTF_8)) {
+                aerialWriter.write("Code ligne;Identifiant;Proprietaire;Etat;Type;Tension;Nombre circuit;Geo;Lon1;Lat1;Lon2;Lat2");
+                aerialWriter.newLine();
+                undergroundWriter.write("Code ligne;Identifiant;Proprietaire;Etat;Type;Tension;Nombre circuit;Geo;Longueur;Lon1;Lat1;Lon2;Lat2");
+                undergroundWriter.newLine();
+                int undergroundLineCount = (int) (lines.getLineCount() * UNDERGROUND_SHARE);
+                for (int l = 0; l < lines.getLineCount(); l++) {
+                    boolean underground = l < undergroundLineCount;
+                    BufferedWriter writer = underground ? undergroundWriter : aerialWriter;
+                    String prefix = "C" + l + ";" + lines.getIds()[l] + ";RTE;EN EXPLOITATION;" + (underground ? "SOUTERRAIN" : "AERIEN") + ";"
+                            + getLabel(lines.getBaseVoltages()[l]) + ";1;;" + (underground ? "1;" : "");
+                    for (int s = lines.getSegmentOffsets()[l]; s < lines.getSegmentOffsets()[l + 1]; s++) {
+                        writer.write(prefix + lines.getLon1s()[s] + ";" + lines.getLat1s()[s] + ";" + lines.getLon2s()[s] + ";" + lines.getLat2s()[s]);
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
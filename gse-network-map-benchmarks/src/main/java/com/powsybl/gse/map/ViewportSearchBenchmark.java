@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search of the branches of a full HD viewport in the branch indexes of each draw order, as done by the line
+ * layer, at zoom levels from the whole country to a region.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ViewportSearchBenchmark {
+
+    static final int VIEWPORT_COUNT = 64;
+
+    static final double VIEWPORT_WIDTH = 1920;
+
+    static final double VIEWPORT_HEIGHT = 1080;
+
+    @Param({"5", "7", "9", "11"})
+    private int zoom;
+
+    private SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
+
+    private List<Rectangle> viewports;
+
+    @Setup
+    public void setUp() {
+        branchesIndexes = SyntheticGrid.buildBranchesIndexes(LineGeometryStore.build(SyntheticGrid.generate(0).getLines()));
+        viewports = SyntheticGrid.generateViewports(VIEWPORT_COUNT, zoom, VIEWPORT_WIDTH, VIEWPORT_HEIGHT, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIEWPORT_COUNT)
+    public int search() {
+        int count = 0;
+        for (Rectangle viewport : viewports) {
+            for (BranchGraphicIndex index : branchesIndexes.values()) {
+                count += index.getTree().search(viewport).count().toBlocking().single();
+            }
+        }
+        return count;
+    }
+}
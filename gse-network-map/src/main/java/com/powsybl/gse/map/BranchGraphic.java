@@ -10,28 +10,61 @@ import com.github.davidmoten.rtree.geometry.Geometries;
 import com.github.davidmoten.rtree.geometry.Rectangle;
 import com.powsybl.commons.PowsyblException;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Objects;
 
 /**
+ * View of a branch of a {@link LineGeometryStore}. Pylon coordinates should be read with {@link #getLon(int)} and
+ * {@link #getLat(int)} on hot paths, {@link #getPylons()} creating a view object per pylon.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class BranchGraphic implements IndexableGraphic {
 
-    private final List<PylonGraphic> pylons;
+    private final LineGeometryStore store;
+
+    private final int index;
 
     private final LineGraphic line;
 
-    public BranchGraphic(List<PylonGraphic> pylons, LineGraphic line) {
-        this.pylons = Objects.requireNonNull(pylons);
-        if (pylons.isEmpty()) {
+    public BranchGraphic(LineGeometryStore store, int index, LineGraphic line) {
+        this.store = Objects.requireNonNull(store);
+        this.index = index;
+        if (store.getBranchPylonCount(index) == 0) {
             throw new PowsyblException("Empty poly segment");
         }
         this.line = Objects.requireNonNull(line);
     }
 
+    public int getIndex() {
+        return index;
+    }
+
+    public int getPylonCount() {
+        return store.getBranchPylonCount(index);
+    }
+
+    public double getLon(int i) {
+        return store.getLon(store.getBranchPylon(index, i));
+    }
+
+    public double getLat(int i) {
+        return store.getLat(store.getBranchPylon(index, i));
+    }
+
     public List<PylonGraphic> getPylons() {
-        return pylons;
+        return new AbstractList<PylonGraphic>() {
+            @Override
+            public PylonGraphic get(int i) {
+                return new PylonGraphic(store, store.getBranchPylon(index, i));
+            }
+
+            @Override
+            public int size() {
+                return getPylonCount();
+            }
+        };
     }
 
     public LineGraphic getLine() {
@@ -42,14 +75,15 @@ public class BranchGraphic implements IndexableGraphic {
     public Rectangle getBoundingBox() {
         double minLon = Double.MAX_VALUE;
         double minLat = Double.MAX_VALUE;
-        double maxLon = Double.MIN_VALUE;
-        double maxLat = Double.MIN_VALUE;
-        for (PylonGraphic pylon : pylons) {
-            Coordinate c = pylon.getCoordinate();
-            minLon = Math.min(minLon, c.getLon());
-            minLat = Math.min(minLat, c.getLat());
-            maxLon = Math.max(maxLon, c.getLon());
-            maxLat = Math.max(maxLat, c.getLat());
+        double maxLon = -Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        for (int i = 0; i < getPylonCount(); i++) {
+            double lon = getLon(i);
+            double lat = getLat(i);
+            minLon = Math.min(minLon, lon);
+            minLat = Math.min(minLat, lat);
+            maxLon = Math.max(maxLon, lon);
+            maxLat = Math.max(maxLat, lat);
         }
         return Geometries.rectangleGeographic(minLon, minLat, maxLon, maxLat);
     }
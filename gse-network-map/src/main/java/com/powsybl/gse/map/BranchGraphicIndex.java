@@ -8,7 +8,6 @@ package com.powsybl.gse.map;
 
 import com.github.davidmoten.rtree.RTree;
 import com.github.davidmoten.rtree.geometry.Geometry;
-import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,19 +27,25 @@ public final class BranchGraphicIndex {
         this.tree = Objects.requireNonNull(tree);
     }
 
-    public static BranchGraphicIndex build(Collection<BranchGraphic> segmentGroups) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        RTree<BranchGraphic, Geometry> tree = RTree.star().maxChildren(6).create();
+    private static RTree.Builder newTreeBuilder() {
+        return RTree.star().maxChildren(6);
+    }
 
-        for (BranchGraphic segmentGroup : segmentGroups) {
-            tree = tree.add(segmentGroup, segmentGroup.getBoundingBox());
-        }
+    public static BranchGraphicIndex build(Collection<BranchGraphic> branches) {
+        return build(branches, IndexBuildMode.BULK);
+    }
 
-        LOGGER.info("Line branches R-tree built in {} ms", stopWatch.getTime());
+    public static BranchGraphicIndex build(Collection<BranchGraphic> branches, IndexBuildMode mode) {
+        return new BranchGraphicIndex(GraphicIndexes.build(branches, BranchGraphic::getBoundingBox,
+                BranchGraphicIndex::newTreeBuilder, mode, "Line branches", LOGGER));
+    }
 
-        return new BranchGraphicIndex(tree);
+    /**
+     * Create a new index including an additional branch, this index being left unchanged.
+     */
+    public BranchGraphicIndex add(BranchGraphic branch) {
+        Objects.requireNonNull(branch);
+        return new BranchGraphicIndex(tree.add(branch, branch.getBoundingBox()));
     }
 
     public RTree<BranchGraphic, Geometry> getTree() {
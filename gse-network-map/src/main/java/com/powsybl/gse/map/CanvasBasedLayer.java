@@ -12,20 +12,52 @@ import com.gluonhq.maps.MapLayer;
 import com.gluonhq.maps.MapView;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
+ * Map layer drawn on a canvas covering the map view.
+ * <p>
+ * By default, the canvas is cleared and fully redrawn at each layout pass. When a subclass enables the incremental
+ * redraw and the map has only been panned since the previous pass, the canvas content is shifted by the pan delta
+ * and only the newly exposed strips are redrawn, clipped to the strips.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class CanvasBasedLayer extends MapLayer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CanvasBasedLayer.class);
+
     protected final Canvas canvas;
 
+    private boolean canvasValid = false;
+
+    private double lastZoom;
+
+    private double lastTranslateX;
+
+    private double lastTranslateY;
+
+    private double lastWidth;
+
+    private double lastHeight;
+
+    private WritableImage shiftImage;
+
+    private final String frameTimerName;
+
     protected CanvasBasedLayer(MapView mapView) {
         Objects.requireNonNull(mapView);
+        frameTimerName = "frame." + getClass().getSimpleName();
         canvas = new Canvas();
         canvas.widthProperty().bind(mapView.widthProperty());
         canvas.heightProperty().bind(mapView.heightProperty());
@@ -44,28 +76,149 @@ public class CanvasBasedLayer extends MapLayer {
     protected Coordinate getMapCoordinate(double zoom, Point2D point) {
         double mex = point.getX() - baseMap.getTranslateX();
         double mey = point.getY() - baseMap.getTranslateY();
-        double id = mex / 256;
-        double jd = mey / 256;
-        double n = Math.pow(2, zoom);
-        double lon = id / n * 360.0 - 180.0;
-        double latRad = Math.atan(Math.sinh(Math.PI * (1 - 2 * jd / n)));
-        double lat = latRad * 180.0 / Math.PI;
-        return new Coordinate(lon, lat);
+        return new Coordinate(TileGrid.unprojectLon(mex, zoom), TileGrid.unprojectLat(mey, zoom));
+    }
+
+    /**
+     * Get geographic bounds of a viewport area.
+     */
+    protected Rectangle getMapBounds(double minX, double minY, double maxX, double maxY) {
+        Coordinate c1 = getMapCoordinate(new Point2D(minX, maxY));
+        Coordinate c2 = getMapCoordinate(new Point2D(maxX, minY));
+        return Geometries.rectangleGeographic(c1.getLon(), c1.getLat(), c2.getLon(), c2.getLat());
     }
 
     protected Rectangle getMapBounds() {
         Bounds bounds = baseMap.getParent().getLayoutBounds();
-        Coordinate c1 = getMapCoordinate(new Point2D(bounds.getMinX(), bounds.getMaxY()));
-        Coordinate c2 = getMapCoordinate(new Point2D(bounds.getMaxX(), bounds.getMinY()));
-        return Geometries.rectangleGeographic(c1.getLon(), c1.getLat(), c2.getLon(), c2.getLat());
+        return getMapBounds(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+    }
+
+    /**
+     * Check if current canvas content can be shifted and completed instead of being fully redrawn.
+     */
+    protected boolean isIncrementalRedrawEnabled() {
+        return false;
+    }
+
+    /**
+     * Extent, in pixels, of the drawing of an object around its geographic bounds, so that objects that are outside
+     * of a redrawn area but whose drawing overlaps it are drawn.
+     */
+    protected double getDrawMargin() {
+        return 0;
+    }
+
+    /**
+     * Force a full redraw at next layout pass, for instance because drawing parameters have changed.
+     */
+    protected void invalidateCanvas() {
+        canvasValid = false;
+    }
+
+    /**
+     * Draw objects in {@code bounds}.
+     *
+     * @param fullRedraw true if the whole canvas has been cleared, false if only a clipped area of it is redrawn
+     */
+    protected void draw(GraphicsContext gc, Rectangle bounds, boolean fullRedraw) {
+        // to implement
+    }
+
+    private void shiftCanvas(GraphicsContext gc, double dx, double dy) {
+        int width = (int) canvas.getWidth();
+        int height = (int) canvas.getHeight();
+        if (shiftImage == null || shiftImage.getWidth() != width || shiftImage.getHeight() != height) {
+            shiftImage = new WritableImage(width, height);
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        canvas.snapshot(parameters, shiftImage);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        gc.drawImage(shiftImage, dx, dy);
+    }
+
+    /**
+     * Get areas of a canvas of {@code width} x {@code height} pixels exposed by shifting its content by
+     * ({@code dx}, {@code dy}) pixels: the vertical strip exposed by the horizontal shift, then the remaining
+     * horizontal strip. Areas are given as {x, y, width, height}, empty ones are omitted.
+     */
+    static List<double[]> getExposedAreas(double dx, double dy, double width, double height) {
+        List<double[]> areas = new ArrayList<>(2);
+        if (dx != 0) {
+            areas.add(new double[] {dx > 0 ? 0 : width + dx, 0, Math.abs(dx), height});
+        }
+        if (dy != 0 && width > Math.abs(dx)) {
+            areas.add(new double[] {dx > 0 ? dx : 0, dy > 0 ? 0 : height + dy, width - Math.abs(dx), Math.abs(dy)});
+        }
+        return areas;
+    }
+
+    private void redrawArea(GraphicsContext gc, double x, double y, double width, double height) {
+        double margin = getDrawMargin();
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+        draw(gc, getMapBounds(x - margin, y - margin, x + width + margin, y + height + margin), false);
+        gc.restore();
+    }
+
+    /**
+     * Clear and redraw an area of the canvas, for instance where some objects changed. Objects crossing the area are
+     * drawn again, clipped to it. The canvas has to be valid, so this is meant to be called after a layout pass.
+     */
+    protected void redrawArea(double x, double y, double width, double height) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(x, y, width, height);
+        redrawArea(gc, x, y, width, height);
     }
 
     @Override
     protected void layoutLayer() {
         super.layoutLayer();
 
-        // clear
+        long start = System.nanoTime();
+        redraw();
+        MapMetrics.getInstance().timer(frameTimerName).recordSince(start);
+    }
+
+    private void redraw() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        double zoom = baseMap.zoom().get();
+        double translateX = baseMap.getTranslateX();
+        double translateY = baseMap.getTranslateY();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        double dx = translateX - lastTranslateX;
+        double dy = translateY - lastTranslateY;
+
+        // only whole pixels shifts, to not blur the shifted content
+        boolean incremental = canvasValid && isIncrementalRedrawEnabled() && zoom == lastZoom
+                && width == lastWidth && height == lastHeight
+                && dx == Math.rint(dx) && dy == Math.rint(dy)
+                && Math.abs(dx) < width && Math.abs(dy) < height;
+
+        canvasValid = true;
+        lastZoom = zoom;
+        lastTranslateX = translateX;
+        lastTranslateY = translateY;
+        lastWidth = width;
+        lastHeight = height;
+
+        if (incremental) {
+            if (dx == 0 && dy == 0) {
+                return;
+            }
+            shiftCanvas(gc, dx, dy);
+            for (double[] area : getExposedAreas(dx, dy, width, height)) {
+                redrawArea(gc, area[0], area[1], area[2], area[3]);
+            }
+            LOGGER.trace("Canvas shifted by ({}, {}), {}% redrawn", dx, dy,
+                    (int) (100 * (Math.abs(dx) * height + (width - Math.abs(dx)) * Math.abs(dy)) / (width * height)));
+        } else {
+            // clear
+            gc.clearRect(0, 0, width, height);
+            draw(gc, getMapBounds(), true);
+        }
     }
 }
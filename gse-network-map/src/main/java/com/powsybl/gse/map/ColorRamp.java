@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Mapping of values to a discrete set of colors: values are split into buckets by increasing thresholds, a value
+ * equal to a threshold belonging to the upper bucket.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class ColorRamp {
+
+    /**
+     * Ramp of branch loadings, in percent of the permanent limit.
+     */
+    public static final ColorRamp LOADING = new ColorRamp(new double[] {50, 80, 100},
+                                                          Color.rgb(0, 160, 0), Color.GOLD, Color.ORANGE, Color.RED);
+
+    public static final int NO_BUCKET = -1;
+
+    private final double[] thresholds;
+
+    private final Color[] colors;
+
+    public ColorRamp(double[] thresholds, Color... colors) {
+        Objects.requireNonNull(thresholds);
+        Objects.requireNonNull(colors);
+        if (colors.length != thresholds.length + 1) {
+            throw new IllegalArgumentException("A ramp of " + thresholds.length + " thresholds needs "
+                    + (thresholds.length + 1) + " colors");
+        }
+        for (int i = 1; i < thresholds.length; i++) {
+            if (thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Thresholds are not strictly increasing");
+            }
+        }
+        this.thresholds = thresholds.clone();
+        this.colors = colors.clone();
+    }
+
+    /**
+     * Get bucket of a value, or {@link #NO_BUCKET} if the value is NaN.
+     */
+    public int getBucket(double value) {
+        if (Double.isNaN(value)) {
+            return NO_BUCKET;
+        }
+        int i = Arrays.binarySearch(thresholds, value);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    public int getBucketCount() {
+        return colors.length;
+    }
+
+    public Color getColor(int bucket) {
+        return colors[bucket];
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Parallel parsing of a CSV file with a header line: the file is split into byte ranges aligned on line starts,
+ * each range being parsed into its own result object. Results are delivered in file order so that they can be
+ * merged into the same result as a sequential parsing, each one as soon as it and the previous ones are parsed.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class CsvFileChunks {
+
+    static final long DEFAULT_MIN_CHUNK_SIZE = 1024 * 1024L;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private CsvFileChunks() {
+    }
+
+    /**
+     * Get position of the first byte following the end of line found from {@code position}, or the size of the file
+     * if there is no more end of line.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long p = position;
+        while (p < size) {
+            buffer.clear();
+            int read = channel.read(buffer, p);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return p + i + 1;
+                }
+            }
+            p += read;
+        }
+        return size;
+    }
+
+    /**
+     * Split lines following the header into at most {@code maxChunkCount} ranges of at least {@code minChunkSize}
+     * bytes. Each range is a {start, end} array, end being exclusive.
+     */
+    static List<long[]> split(FileChannel channel, int maxChunkCount, long minChunkSize) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            throw new PowsyblException("Header is missing");
+        }
+        long dataStart = nextLineStart(channel, 0, size);
+        long dataSize = size - dataStart;
+        int chunkCount = (int) Math.max(1, Math.min(maxChunkCount, dataSize / Math.max(1, minChunkSize)));
+        List<long[]> chunks = new ArrayList<>(chunkCount);
+        long start = dataStart;
+        for (int i = 1; i <= chunkCount && start < size; i++) {
+            long end = i == chunkCount ? size : nextLineStart(channel, Math.max(start, dataStart + dataSize * i / chunkCount - 1), size);
+            if (end > start) {
+                chunks.add(new long[] {start, end});
+            }
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static <T> T parseChunk(Path file, long[] chunk, Supplier<T> resultFactory, BiConsumer<T, String> lineParser) {
+        T result = resultFactory.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (chunk[1] - chunk[0]));
+            while (buffer.hasRemaining() && channel.read(buffer, chunk[0] + buffer.position()) > 0) {
+                // read until chunk is full
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(buffer.array(), 0, buffer.position()), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineParser.accept(result, line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Start parsing the chunks of a file in parallel with {@code executor}, returning the parsing of each chunk in
+     * file order.
+     */
+    static <T> List<CompletableFuture<T>> parseAsync(Path file, int maxChunkCount, long minChunkSize, Supplier<T> resultFactory,
+                                                     BiConsumer<T, String> lineParser, Executor executor) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(resultFactory);
+        Objects.requireNonNull(lineParser);
+        Objects.requireNonNull(executor);
+        List<long[]> chunks;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            chunks = split(channel, maxChunkCount, minChunkSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> parseChunk(file, chunk, resultFactory, lineParser), executor))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    static <T> List<CompletableFuture<T>> parseAsync(Path file, Supplier<T> resultFactory, BiConsumer<T, String> lineParser,
+                                                     Executor executor) {
+        return parseAsync(file, Runtime.getRuntime().availableProcessors(), DEFAULT_MIN_CHUNK_SIZE, resultFactory, lineParser, executor);
+    }
+
+    /**
+     * Pass each chunk result to {@code consumer} in file order, as soon as it is parsed, while the next chunks are
+     * still being parsed. Results are released once consumed.
+     */
+    static <T> void forEachInOrder(List<CompletableFuture<T>> results, Consumer<T> consumer) {
+        Objects.requireNonNull(results);
+        Objects.requireNonNull(consumer);
+        for (int i = 0; i < results.size(); i++) {
+            T result;
+            try {
+                result = results.set(i, null).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            consumer.accept(result);
+        }
+    }
+
+    static <T> List<T> parse(Path file, int maxChunkCount, long minChunkSize, Supplier<T> resultFactory,
+                             BiConsumer<T, String> lineParser, Executor executor) {
+        List<T> results = new ArrayList<>();
+        forEachInOrder(parseAsync(file, maxChunkCount, minChunkSize, resultFactory, lineParser, executor), results::add);
+        return results;
+    }
+}
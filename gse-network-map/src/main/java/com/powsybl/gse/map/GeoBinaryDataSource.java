@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.PowsyblException;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Compact binary format, a sequence of chunks of at most {@link #CHUNK_SIZE} substations or line segments, each chunk
+ * starting with its kind, its record count and its size in bytes so that chunks of the other kind can be skipped.
+ * <p>
+ * As reading it is as fast as reading the cache, data of this source are not cached. Data of any other source can
+ * be converted to this format with {@link #write(Path, SubstationData, LineSegmentData)}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@AutoService(GeoDataSource.class)
+public class GeoBinaryDataSource implements GeoDataSource {
+
+    static final String NAME = "binary";
+
+    static final String FILE_NAME = "geo-data.bin";
+
+    static final int CHUNK_SIZE = 4096;
+
+    private static final int MAGIC = 0x47454F44; // "GEOD"
+
+    private static final int VERSION = 1;
+
+    private static final byte END_CHUNK = 0;
+
+    private static final byte SUBSTATIONS_CHUNK = 1;
+
+    private static final byte LINE_SEGMENTS_CHUNK = 2;
+
+    @FunctionalInterface
+    private interface ChunkReader {
+
+        void read(DataInputStream is, int recordCount) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream os, int i) throws IOException;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Path> getSubstationFiles(Path dir) {
+        return Collections.singletonList(dir.resolve(FILE_NAME));
+    }
+
+    @Override
+    public List<Path> getLineFiles(Path dir) {
+        return Collections.singletonList(dir.resolve(FILE_NAME));
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    private static void readChunks(Path file, byte kind, GeoDataHandler handler, ChunkReader chunkReader) {
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (is.readInt() != MAGIC) {
+                throw new PowsyblException("Not a geographical data file: " + file);
+            }
+            int version = is.readInt();
+            if (version != VERSION) {
+                throw new PowsyblException("Unsupported geographical data file version " + version + ": " + file);
+            }
+            byte chunkKind;
+            while ((chunkKind = is.readByte()) != END_CHUNK) {
+                int recordCount = is.readInt();
+                int size = is.readInt();
+                if (chunkKind == kind) {
+                    chunkReader.read(is, recordCount);
+                    handler.onChunkEnd();
+                } else {
+                    is.readFully(new byte[size]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void readSubstations(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        readChunks(dir.resolve(FILE_NAME), SUBSTATIONS_CHUNK, handler, (is, recordCount) -> {
+            for (int i = 0; i < recordCount; i++) {
+                String id = is.readUTF();
+                RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal(is.readByte());
+                double lon = is.readDouble();
+                double lat = is.readDouble();
+                handler.onSubstation(id, baseVoltage, lon, lat);
+            }
+        });
+    }
+
+    @Override
+    public void readLineSegments(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        readChunks(dir.resolve(FILE_NAME), LINE_SEGMENTS_CHUNK, handler, (is, recordCount) -> {
+            for (int i = 0; i < recordCount; i++) {
+                String lineId = is.readUTF();
+                RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal(is.readByte());
+                double lon1 = is.readDouble();
+                double lat1 = is.readDouble();
+                double lon2 = is.readDouble();
+                double lat2 = is.readDouble();
+                handler.onLineSegment(lineId, baseVoltage, lon1, lat1, lon2, lat2);
+            }
+        });
+    }
+
+    private static void writeChunks(DataOutputStream os, byte kind, int recordCount, RecordWriter recordWriter) throws IOException {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        for (int start = 0; start < recordCount; start += CHUNK_SIZE) {
+            int end = Math.min(recordCount, start + CHUNK_SIZE);
+            chunk.reset();
+            DataOutputStream chunkOs = new DataOutputStream(chunk);
+            for (int i = start; i < end; i++) {
+                recordWriter.write(chunkOs, i);
+            }
+            chunkOs.flush();
+            os.writeByte(kind);
+            os.writeInt(end - start);
+            os.writeInt(chunk.size());
+            chunk.writeTo(os);
+        }
+    }
+
+    /**
+     * Write substations and line segments to a file of this format.
+     */
+    static void write(Path file, SubstationData substations, LineSegmentData lines) {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(substations);
+        Objects.requireNonNull(lines);
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            os.writeInt(MAGIC);
+            os.writeInt(VERSION);
+            writeChunks(os, SUBSTATIONS_CHUNK, substations.size(), (chunkOs, i) -> {
+                chunkOs.writeUTF(substations.getIds()[i]);
+                chunkOs.writeByte(substations.getBaseVoltages()[i]);
+                chunkOs.writeDouble(substations.getLons()[i]);
+                chunkOs.writeDouble(substations.getLats()[i]);
+            });
+            // segments of a line are contiguous, so find line of each segment by walking line offsets
+            int[] segmentOffsets = lines.getSegmentOffsets();
+            int[] segmentLineNums = new int[lines.getSegmentCount()];
+            for (int l = 0; l < lines.getLineCount(); l++) {
+                for (int s = segmentOffsets[l]; s < segmentOffsets[l + 1]; s++) {
+                    segmentLineNums[s] = l;
+                }
+            }
+            writeChunks(os, LINE_SEGMENTS_CHUNK, lines.getSegmentCount(), (chunkOs, s) -> {
+                int l = segmentLineNums[s];
+                chunkOs.writeUTF(lines.getIds()[l]);
+                chunkOs.writeByte(lines.getBaseVoltages()[l]);
+                chunkOs.writeDouble(lines.getLon1s()[s]);
+                chunkOs.writeDouble(lines.getLat1s()[s]);
+                chunkOs.writeDouble(lines.getLon2s()[s]);
+                chunkOs.writeDouble(lines.getLat2s()[s]);
+            });
+            os.writeByte(END_CHUNK);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+/**
+ * Receiver of the geographical data streamed by a {@link GeoDataSource}.
+ * <p>
+ * Data are pushed record by record, from a single thread, and grouped into chunks in source order. Records of a
+ * chunk are complete at its end, but the segments of a line may continue in the next chunks.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public interface GeoDataHandler {
+
+    void onSubstation(String id, RteOpenData.BaseVoltage baseVoltage, double lon, double lat);
+
+    /**
+     * A line is made of the segments pushed with its id, in any order.
+     */
+    void onLineSegment(String lineId, RteOpenData.BaseVoltage baseVoltage, double lon1, double lat1, double lon2, double lat2);
+
+    default void onChunkEnd() {
+    }
+}
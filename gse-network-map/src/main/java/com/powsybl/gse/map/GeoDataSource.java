@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Source of substation and line geographical data, discovered with the {@link java.util.ServiceLoader} so that
+ * grids of other TSOs can be plugged in.
+ * <p>
+ * A source reads its files from a directory and pushes their content to a {@link GeoDataHandler} a chunk at a time,
+ * each chunk as soon as it is read, so that a source never holds more than the chunks being read. As the segments
+ * of a line can be spread over several chunks, the model is built once all the chunks are received.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public interface GeoDataSource {
+
+    /**
+     * Unique name of the source, also used to name the cache files of its data.
+     */
+    String getName();
+
+    /**
+     * Files substations are read from, so that caches of substation data can be invalidated.
+     */
+    List<Path> getSubstationFiles(Path dir);
+
+    /**
+     * Files line segments are read from, so that caches of data derived from lines can be invalidated.
+     */
+    List<Path> getLineFiles(Path dir);
+
+    /**
+     * Check that all the files of the source exist in a directory.
+     */
+    default boolean isAvailable(Path dir) {
+        return getSubstationFiles(dir).stream().allMatch(Files::exists) && getLineFiles(dir).stream().allMatch(Files::exists);
+    }
+
+    /**
+     * Whether data parsed from this source have to be cached in a binary form, false for sources which are already
+     * as fast to read as the cache.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+
+    /**
+     * Read substations, a source reading its files in parallel running its tasks with {@code executor}.
+     */
+    void readSubstations(Path dir, GeoDataHandler handler, Executor executor);
+
+    /**
+     * Read line segments, a source reading its files in parallel running its tasks with {@code executor}.
+     */
+    void readLineSegments(Path dir, GeoDataHandler handler, Executor executor);
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.util.ServiceLoaderCache;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Discovery of the {@link GeoDataSource} plugins and loading of their data, through a binary cache written next to
+ * the source files for cacheable sources.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class GeoDataSources {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoDataSources.class);
+
+    private static final ServiceLoaderCache<GeoDataSource> SOURCES_LOADER = new ServiceLoaderCache<>(GeoDataSource.class);
+
+    /**
+     * Accumulate pushed data into columnar builders. Sources of this package push their parsed chunks with
+     * {@link #addSubstations} and {@link #addLineSegments} so that they are merged in bulk.
+     */
+    static final class Collector implements GeoDataHandler {
+
+        private final SubstationData.Builder substations = new SubstationData.Builder();
+
+        private final LineSegmentData.Builder lineSegments = new LineSegmentData.Builder();
+
+        private int chunkCount = 0;
+
+        @Override
+        public void onSubstation(String id, RteOpenData.BaseVoltage baseVoltage, double lon, double lat) {
+            substations.add(id, baseVoltage, lon, lat);
+        }
+
+        @Override
+        public void onLineSegment(String lineId, RteOpenData.BaseVoltage baseVoltage, double lon1, double lat1, double lon2, double lat2) {
+            lineSegments.add(lineId, baseVoltage, lon1, lat1, lon2, lat2);
+        }
+
+        void addSubstations(SubstationData.Builder chunk) {
+            substations.addAll(chunk);
+        }
+
+        void addLineSegments(LineSegmentData.Builder chunk) {
+            lineSegments.addAll(chunk);
+        }
+
+        @Override
+        public void onChunkEnd() {
+            chunkCount++;
+        }
+    }
+
+    private GeoDataSources() {
+    }
+
+    /**
+     * Get all the sources, sorted by name.
+     */
+    static List<GeoDataSource> getAll() {
+        return SOURCES_LOADER.getServices().stream()
+                .sorted(Comparator.comparing(GeoDataSource::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the first source, by name, whose files are available in a directory.
+     */
+    static GeoDataSource find(Path dir) {
+        Objects.requireNonNull(dir);
+        List<GeoDataSource> sources = getAll();
+        return sources.stream()
+                .filter(source -> source.isAvailable(dir))
+                .findFirst()
+                .orElseThrow(() -> new PowsyblException("No geographical data found in " + dir + " (supported sources: "
+                        + sources.stream().map(GeoDataSource::getName).collect(Collectors.joining(", ")) + ")"));
+    }
+
+    static Path getSubstationsCacheFile(GeoDataSource source, Path dir) {
+        return dir.resolve(source.getName() + "-substations.bin");
+    }
+
+    static Path getLinesCacheFile(GeoDataSource source, Path dir) {
+        return dir.resolve(source.getName() + "-lines.bin");
+    }
+
+    static SubstationData loadSubstationData(GeoDataSource source, Path dir, Executor executor) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(dir);
+        Objects.requireNonNull(executor);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        Path cacheFile = getSubstationsCacheFile(source, dir);
+        List<Path> files = source.getSubstationFiles(dir);
+
+        SubstationData data = source.isCacheable() ? RteOpenDataCache.readSubstations(cacheFile, files).orElse(null) : null;
+        if (data != null) {
+            LOGGER.info("{} substations read from cache in {} ms", data.size(), stopWatch.getTime());
+        } else {
+            Collector collector = new Collector();
+            source.readSubstations(dir, collector, executor);
+            data = collector.substations.build();
+            LOGGER.info("{} substations read from {} in {} ms ({} chunks)", data.size(), source.getName(), stopWatch.getTime(),
+                    collector.chunkCount);
+            if (source.isCacheable()) {
+                RteOpenDataCache.writeSubstations(cacheFile, files, data);
+            }
+        }
+        MapMetrics.getInstance().timer("data.substations").record(stopWatch.getNanoTime());
+        return data;
+    }
+
+    static LineSegmentData loadLineSegmentData(GeoDataSource source, Path dir, Executor executor) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(dir);
+        Objects.requireNonNull(executor);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        Path cacheFile = getLinesCacheFile(source, dir);
+        List<Path> files = source.getLineFiles(dir);
+
+        LineSegmentData data = source.isCacheable() ? RteOpenDataCache.readLines(cacheFile, files).orElse(null) : null;
+        if (data != null) {
+            LOGGER.info("{} lines, {} segments read from cache in {} ms", data.getLineCount(), data.getSegmentCount(), stopWatch.getTime());
+        } else {
+            Collector collector = new Collector();
+            source.readLineSegments(dir, collector, executor);
+            data = collector.lineSegments.build();
+            LOGGER.info("{} lines, {} segments read from {} in {} ms ({} chunks)", data.getLineCount(), data.getSegmentCount(),
+                    source.getName(), stopWatch.getTime(), collector.chunkCount);
+            if (source.isCacheable()) {
+                RteOpenDataCache.writeLines(cacheFile, files, data);
+            }
+        }
+        MapMetrics.getInstance().timer("data.lines").record(stopWatch.getNanoTime());
+        return data;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.PowsyblException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * GeoJSON feature collections: {@code substations.geojson} with {@code Point} features and {@code lines.geojson}
+ * with {@code LineString} or {@code MultiLineString} features. Each feature has an {@code id} and a
+ * {@code nominalVoltage} property, in kV.
+ * <p>
+ * Files are read with a streaming parser, only one feature being loaded in memory at a time.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@AutoService(GeoDataSource.class)
+public class GeoJsonDataSource implements GeoDataSource {
+
+    static final String NAME = "geojson";
+
+    static final String SUBSTATIONS_FILE_NAME = "substations.geojson";
+
+    static final String LINES_FILE_NAME = "lines.geojson";
+
+    static final int CHUNK_SIZE = 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @FunctionalInterface
+    private interface FeatureHandler {
+
+        void onFeature(String id, RteOpenData.BaseVoltage baseVoltage, String geometryType, JsonNode coordinates);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Path> getSubstationFiles(Path dir) {
+        return Collections.singletonList(dir.resolve(SUBSTATIONS_FILE_NAME));
+    }
+
+    @Override
+    public List<Path> getLineFiles(Path dir) {
+        return Collections.singletonList(dir.resolve(LINES_FILE_NAME));
+    }
+
+    private static void readFeature(JsonNode feature, FeatureHandler featureHandler) {
+        JsonNode properties = feature.path("properties");
+        String id = properties.path("id").asText(feature.path("id").asText(""));
+        JsonNode geometry = feature.path("geometry");
+        if (id.isEmpty() || !geometry.isObject()) {
+            return;
+        }
+        RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromNominalVoltage(properties.path("nominalVoltage").asDouble(Double.NaN));
+        featureHandler.onFeature(id, baseVoltage, geometry.path("type").asText(), geometry.path("coordinates"));
+    }
+
+    private static void readFeatures(Path file, GeoDataHandler handler, FeatureHandler featureHandler) {
+        try (InputStream is = Files.newInputStream(file);
+             JsonParser parser = MAPPER.getFactory().createParser(is)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new PowsyblException("GeoJSON feature collection expected in " + file);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("features".equals(fieldName) && token == JsonToken.START_ARRAY) {
+                    int count = 0;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readFeature(MAPPER.readTree(parser), featureHandler);
+                        if (++count % CHUNK_SIZE == 0) {
+                            handler.onChunkEnd();
+                        }
+                    }
+                    if (count % CHUNK_SIZE != 0) {
+                        handler.onChunkEnd();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void readSubstations(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        readFeatures(dir.resolve(SUBSTATIONS_FILE_NAME), handler, (id, baseVoltage, geometryType, coordinates) -> {
+            if ("Point".equals(geometryType)) {
+                handler.onSubstation(id, baseVoltage, coordinates.get(0).asDouble(), coordinates.get(1).asDouble());
+            }
+        });
+    }
+
+    private static void readLineString(String id, RteOpenData.BaseVoltage baseVoltage, JsonNode coordinates, GeoDataHandler handler) {
+        for (int i = 1; i < coordinates.size(); i++) {
+            JsonNode c1 = coordinates.get(i - 1);
+            JsonNode c2 = coordinates.get(i);
+            handler.onLineSegment(id, baseVoltage, c1.get(0).asDouble(), c1.get(1).asDouble(), c2.get(0).asDouble(), c2.get(1).asDouble());
+        }
+    }
+
+    @Override
+    public void readLineSegments(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        readFeatures(dir.resolve(LINES_FILE_NAME), handler, (id, baseVoltage, geometryType, coordinates) -> {
+            if ("LineString".equals(geometryType)) {
+                readLineString(id, baseVoltage, coordinates, handler);
+            } else if ("MultiLineString".equals(geometryType)) {
+                for (JsonNode lineString : coordinates) {
+                    readLineString(id, baseVoltage, lineString, handler);
+                }
+            }
+        });
+    }
+}
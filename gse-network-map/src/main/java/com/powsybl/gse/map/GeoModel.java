@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Geographical data of the network map: substations, lines with their branches and the spatial indexes
+ * used to draw them.
+ * <p>
+ * Line geometry, levels of detail and branch index are built and published per draw order, highest voltage first.
+ * The model is returned once the substations and the highest voltage are ready, branches of lower voltage lines
+ * being set and their indexes added while the map is already interactive.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class GeoModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoModel.class);
+
+    /**
+     * Optional alias tables of the configuration directory, see {@link GraphicNameIndex#readAliases(Path)}.
+     */
+    static final String SUBSTATION_ALIASES_FILE_NAME = "substation-aliases.csv";
+
+    static final String LINE_ALIASES_FILE_NAME = "line-aliases.csv";
+
+    private final Map<String, SubstationGraphic> substations;
+
+    private final Map<String, LineGraphic> lines;
+
+    private final SubstationGraphicIndex substationIndex;
+
+    private final SubstationClusters substationClusters;
+
+    private final GraphicNameIndex<SubstationGraphic> substationNameIndex;
+
+    private final GraphicNameIndex<LineGraphic> lineNameIndex;
+
+    // published by draw order as soon as built, the map being usable before lower voltages are built
+    private final SortedMap<Integer, LineGeometryStore> lineGeometryStores;
+
+    private final SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail;
+
+    private final SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
+
+    private final SortedMap<Integer, CompletableFuture<BranchGraphicIndex>> branchesIndexFutures;
+
+    private final CompletableFuture<Void> branchesIndexesFuture;
+
+    GeoModel(Map<String, SubstationGraphic> substations, Map<String, LineGraphic> lines,
+             SubstationGraphicIndex substationIndex, SubstationClusters substationClusters,
+             GraphicNameIndex<SubstationGraphic> substationNameIndex, GraphicNameIndex<LineGraphic> lineNameIndex,
+             SortedMap<Integer, LineGeometryStore> lineGeometryStores, SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail,
+             SortedMap<Integer, BranchGraphicIndex> branchesIndexes,
+             SortedMap<Integer, CompletableFuture<BranchGraphicIndex>> branchesIndexFutures,
+             CompletableFuture<Void> branchesIndexesFuture) {
+        this.substations = Objects.requireNonNull(substations);
+        this.lines = Objects.requireNonNull(lines);
+        this.substationIndex = Objects.requireNonNull(substationIndex);
+        this.substationClusters = Objects.requireNonNull(substationClusters);
+        this.substationNameIndex = Objects.requireNonNull(substationNameIndex);
+        this.lineNameIndex = Objects.requireNonNull(lineNameIndex);
+        this.lineGeometryStores = Objects.requireNonNull(lineGeometryStores);
+        this.levelsOfDetail = Objects.requireNonNull(levelsOfDetail);
+        this.branchesIndexes = Objects.requireNonNull(branchesIndexes);
+        this.branchesIndexFutures = Objects.requireNonNull(branchesIndexFutures);
+        this.branchesIndexesFuture = Objects.requireNonNull(branchesIndexesFuture);
+    }
+
+    /**
+     * Create lines without branches, which are set once the geometry of their draw order is built.
+     */
+    private static void addLines(Map<String, LineGraphic> lines, String[] ids, byte[] baseVoltages) {
+        for (int l = 0; l < ids.length; l++) {
+            RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[l]);
+            lines.put(ids[l], new LineGraphic(ids[l], baseVoltage.getOrder(), baseVoltage.getColor()));
+        }
+    }
+
+    private static LineGeometryStore buildLineGeometryStore(int drawOrder, LineSegmentData data) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        LineGeometryStore store = LineGeometryStore.build(data);
+        LOGGER.info("{} branches of {} lines of draw order {} computed in {} ms", store.getBranchCount(), store.getLineCount(),
+                drawOrder, stopWatch.getTime());
+        return store;
+    }
+
+    /**
+     * Set branches of the lines of a draw order, and build and publish its levels of detail and branch index.
+     */
+    private static BranchGraphicIndex publish(int drawOrder, LineGeometryStore store, Map<String, LineGraphic> lines,
+                                              SortedMap<Integer, LineGeometryStore> lineGeometryStores,
+                                              SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail,
+                                              SortedMap<Integer, BranchGraphicIndex> branchesIndexes) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        List<BranchGraphic> branches = new ArrayList<>(store.getBranchCount());
+        for (int l = 0; l < store.getLineCount(); l++) {
+            LineGraphic line = lines.get(store.getLineId(l));
+            line.setBranches(store, l);
+            branches.addAll(line.getBranches());
+        }
+        LineLevelsOfDetail orderLevelsOfDetail = LineLevelsOfDetail.build(store);
+        BranchGraphicIndex index = BranchGraphicIndex.build(branches);
+        lineGeometryStores.put(drawOrder, store);
+        levelsOfDetail.put(drawOrder, orderLevelsOfDetail);
+        // index is published last, so that the levels of detail of an indexed draw order are always available
+        branchesIndexes.put(drawOrder, index);
+        MapMetrics.getInstance().timer("index.order" + drawOrder).record(stopWatch.getNanoTime());
+        LOGGER.info("{} branches of draw order {} indexed in {} ms", branches.size(), drawOrder, stopWatch.getTime());
+        return index;
+    }
+
+    static CompletableFuture<GeoModel> load(Path dir, Executor executor) {
+        return load(GeoDataSources.find(dir), dir, executor);
+    }
+
+    /**
+     * Lines without branches and the data their geometry is built from: the line geometry by draw order from the
+     * snapshot, or else the line segments by draw order.
+     */
+    private static final class LineData {
+
+        private final Map<String, LineGraphic> lines = new HashMap<>();
+
+        private final SortedMap<Integer, LineGeometryStore> snapshot;
+
+        private final SortedMap<Integer, LineSegmentData> lineSegmentData;
+
+        private LineData(GeoDataSource source, Path dir, List<Path> lineFiles, Executor executor) {
+            snapshot = GeoModelSnapshot.readLines(dir, lineFiles).orElse(null);
+            if (snapshot != null) {
+                lineSegmentData = null;
+                snapshot.values().forEach(store -> addLines(lines, store.getLineIds(), store.getBaseVoltages()));
+            } else {
+                lineSegmentData = GeoDataSources.loadLineSegmentData(source, dir, executor).splitByDrawOrder();
+                lineSegmentData.values().forEach(data -> addLines(lines, data.getIds(), data.getBaseVoltages()));
+            }
+        }
+
+        private Set<Integer> getDrawOrders() {
+            return snapshot != null ? snapshot.keySet() : lineSegmentData.keySet();
+        }
+
+        private LineGeometryStore getLineGeometryStore(int drawOrder) {
+            return snapshot != null ? snapshot.get(drawOrder) : buildLineGeometryStore(drawOrder, lineSegmentData.get(drawOrder));
+        }
+    }
+
+    /**
+     * Load the model, all the loading and building tasks being run by {@code executor}. The returned future completes
+     * once the substations and the first draw order are ready, lower draw orders being added while being drawn.
+     */
+    static CompletableFuture<GeoModel> load(GeoDataSource source, Path dir, Executor executor) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(dir);
+        Objects.requireNonNull(executor);
+
+        LOGGER.info("Loading geographical data of {} source from {}", source.getName(), dir);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        // substations and lines are independent, so load them concurrently, substation indexes and clusters being
+        // built while lines are read
+        CompletableFuture<Map<String, SubstationGraphic>> substationsFuture
+                = CompletableFuture.supplyAsync(() -> GeoDataSources.loadSubstationData(source, dir, executor).toGraphics(), executor);
+        CompletableFuture<SubstationGraphicIndex> substationIndexFuture
+                = substationsFuture.thenApplyAsync(substations -> SubstationGraphicIndex.build(substations.values()), executor);
+        CompletableFuture<SubstationClusters> substationClustersFuture
+                = substationsFuture.thenApplyAsync(substations -> SubstationClusters.build(substations.values()), executor);
+        CompletableFuture<GraphicNameIndex<SubstationGraphic>> substationNameIndexFuture
+                = substationsFuture.thenApplyAsync(substations -> GraphicNameIndex.build(substations,
+                        GraphicNameIndex.readAliases(dir.resolve(SUBSTATION_ALIASES_FILE_NAME))), executor);
+
+        List<Path> lineFiles = source.getLineFiles(dir);
+        return CompletableFuture.supplyAsync(() -> new LineData(source, dir, lineFiles, executor), executor).thenCompose(lineData -> {
+            CompletableFuture<GraphicNameIndex<LineGraphic>> lineNameIndexFuture
+                    = CompletableFuture.supplyAsync(() -> GraphicNameIndex.build(lineData.lines,
+                            GraphicNameIndex.readAliases(dir.resolve(LINE_ALIASES_FILE_NAME))), executor);
+
+            long loadTime = stopWatch.getTime();
+
+            // draw orders are built in parallel, submitted in draw order so that the highest voltages, drawn first,
+            // are built first, and each one is published as soon as built
+            SortedMap<Integer, LineGeometryStore> lineGeometryStores = new ConcurrentSkipListMap<>();
+            SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail = new ConcurrentSkipListMap<>();
+            SortedMap<Integer, BranchGraphicIndex> branchesIndexes = new ConcurrentSkipListMap<>();
+            SortedMap<Integer, CompletableFuture<BranchGraphicIndex>> branchesIndexFutures = new TreeMap<>();
+            for (int drawOrder : lineData.getDrawOrders()) {
+                branchesIndexFutures.put(drawOrder, CompletableFuture.supplyAsync(() -> publish(drawOrder,
+                        lineData.getLineGeometryStore(drawOrder), lineData.lines, lineGeometryStores, levelsOfDetail,
+                        branchesIndexes), executor));
+            }
+            CompletableFuture<Void> allBranchesIndexesFuture
+                    = CompletableFuture.allOf(branchesIndexFutures.values().toArray(new CompletableFuture[0]));
+            CompletableFuture<Void> branchesIndexesFuture = lineData.snapshot == null
+                    ? allBranchesIndexesFuture.thenRunAsync(() -> GeoModelSnapshot.writeLines(dir, lineFiles, lineGeometryStores), executor)
+                    : allBranchesIndexesFuture;
+
+            // the model is usable as soon as the first draw order is built, lower ones are added while being drawn
+            CompletableFuture<BranchGraphicIndex> firstBranchesIndexFuture = branchesIndexFutures.isEmpty()
+                    ? CompletableFuture.completedFuture(null)
+                    : branchesIndexFutures.get(branchesIndexFutures.firstKey());
+
+            // all the futures joined below are completed, so no task waits on another one
+            return CompletableFuture.allOf(substationsFuture, substationIndexFuture, substationClustersFuture,
+                                           substationNameIndexFuture, lineNameIndexFuture)
+                    .thenCombine(firstBranchesIndexFuture, (v, firstBranchesIndex) -> {
+                        stopWatch.stop();
+                        MapMetrics.getInstance().timer("model.load").record(stopWatch.getNanoTime());
+                        LOGGER.info("Geographical model loaded in {} ms (data {} ms, first draw order and indexes {} ms, {}/{} draw orders built)",
+                                stopWatch.getTime(), loadTime, stopWatch.getTime() - loadTime, branchesIndexes.size(),
+                                branchesIndexFutures.size());
+                        return new GeoModel(substationsFuture.join(), Collections.unmodifiableMap(lineData.lines),
+                                            substationIndexFuture.join(), substationClustersFuture.join(),
+                                            substationNameIndexFuture.join(), lineNameIndexFuture.join(), lineGeometryStores,
+                                            levelsOfDetail, branchesIndexes, Collections.unmodifiableSortedMap(branchesIndexFutures),
+                                            branchesIndexesFuture);
+                    });
+        });
+    }
+
+    /**
+     * Load geographical data of the first available {@link GeoDataSource} of the configuration directory.
+     */
+    public static CompletableFuture<GeoModel> load(Executor executor) {
+        return load(RteOpenData.getConfigDir(), executor);
+    }
+
+    public Map<String, SubstationGraphic> getSubstations() {
+        return substations;
+    }
+
+    /**
+     * Get line geometry by draw order, lower voltages being added when built.
+     */
+    public SortedMap<Integer, LineGeometryStore> getLineGeometryStores() {
+        return lineGeometryStores;
+    }
+
+    /**
+     * Get all the lines. Branches of a line are empty until the geometry of its draw order is built.
+     */
+    public Map<String, LineGraphic> getLines() {
+        return lines;
+    }
+
+    public SubstationGraphicIndex getSubstationIndex() {
+        return substationIndex;
+    }
+
+    /**
+     * Get branch indexes by draw order. Indexes of lower voltages may still be being built, in which case they are
+     * added to the map when ready, see {@link #getBranchesIndexFutures()}.
+     */
+    public SortedMap<Integer, BranchGraphicIndex> getBranchesIndexes() {
+        return branchesIndexes;
+    }
+
+    /**
+     * Get completion of the branch index of each draw order.
+     */
+    public SortedMap<Integer, CompletableFuture<BranchGraphicIndex>> getBranchesIndexFutures() {
+        return branchesIndexFutures;
+    }
+
+    /**
+     * Get completion of all the branch indexes.
+     */
+    public CompletableFuture<Void> getBranchesIndexesFuture() {
+        return branchesIndexesFuture;
+    }
+
+    /**
+     * Get line levels of detail by draw order, published before the branch index of the same draw order.
+     */
+    public SortedMap<Integer, LineLevelsOfDetail> getLevelsOfDetail() {
+        return levelsOfDetail;
+    }
+
+    public SubstationClusters getSubstationClusters() {
+        return substationClusters;
+    }
+
+    public GraphicNameIndex<SubstationGraphic> getSubstationNameIndex() {
+        return substationNameIndex;
+    }
+
+    public GraphicNameIndex<LineGraphic> getLineNameIndex() {
+        return lineNameIndex;
+    }
+}
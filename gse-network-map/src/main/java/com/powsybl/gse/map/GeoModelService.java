@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Application scoped access to the {@link GeoModel}, shared by all network map viewers.
+ * <p>
+ * Geographical data are loaded by the first viewer acquiring the model and released when the last viewer
+ * releases it. As the model is shared, viewers must not store any per case state in it.
+ * <p>
+ * A model whose loading failed, even partially, is not shared with next viewers which load it again.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class GeoModelService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoModelService.class);
+
+    private static final GeoModelService INSTANCE = new GeoModelService(GeoModel::load);
+
+    private final Function<Executor, CompletableFuture<GeoModel>> loader;
+
+    private final Lock lock = new ReentrantLock();
+
+    private CompletableFuture<GeoModel> model;
+
+    private int refCount = 0;
+
+    GeoModelService(Function<Executor, CompletableFuture<GeoModel>> loader) {
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    public static GeoModelService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the shared model, loading it with {@code executor} if not already loaded or being loaded. Each call
+     * has to be balanced by a call to {@link #release()}.
+     */
+    public CompletableFuture<GeoModel> acquire(Executor executor) {
+        Objects.requireNonNull(executor);
+        lock.lock();
+        try {
+            CompletableFuture<GeoModel> future = model;
+            if (future == null) {
+                LOGGER.info("Loading shared geographical model");
+                // loading is started by the executor too, so that nothing is read by the calling thread
+                future = CompletableFuture.supplyAsync(() -> loader.apply(executor), executor).thenCompose(Function.identity());
+                // shared before watching failures, as a failure handler runs at once if the loading already failed
+                model = future;
+                clearOnFailure(future);
+            }
+            refCount++;
+            LOGGER.debug("Geographical model acquired ({} users)", refCount);
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearOnFailure(CompletableFuture<GeoModel> future) {
+        future.whenComplete((m, t) -> {
+            if (t != null) {
+                // so that next acquisition retries to load the model
+                clearIfFailed(future);
+            } else {
+                // lower voltages are built after the model is returned, and a failed one would be missing
+                // for all the next users of the shared model
+                m.getBranchesIndexesFuture().whenComplete((v, t2) -> {
+                    if (t2 != null) {
+                        LOGGER.warn("Geographical model partially loaded, it will be reloaded by next user: {}", t2.toString());
+                        clearIfFailed(future);
+                    }
+                });
+            }
+        });
+    }
+
+    private void clearIfFailed(CompletableFuture<GeoModel> future) {
+        lock.lock();
+        try {
+            if (model == future) {
+                model = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            if (refCount == 0) {
+                throw new IllegalStateException("Geographical model is not acquired");
+            }
+            refCount--;
+            LOGGER.debug("Geographical model released ({} users)", refCount);
+            if (refCount == 0) {
+                LOGGER.info("Releasing shared geographical model");
+                model = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getRefCount() {
+        lock.lock();
+        try {
+            return refCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
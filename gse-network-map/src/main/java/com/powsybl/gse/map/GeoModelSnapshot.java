@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Versioned on-disk snapshot of the {@link LineGeometryStore} of each draw order (line pylons, adjacency and branches
+ * computed from segments), stored in the same binary cache format as open data and invalidated when line open data
+ * files change.
+ * <p>
+ * Store columns are written as is, so that reading a snapshot is only a bulk copy of the mapped file and the R-tree
+ * indexes rebuilt from a snapshot are identical to the ones built from the original branches.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class GeoModelSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeoModelSnapshot.class);
+
+    private static final String FILE_NAME = "network-map-snapshot.bin";
+
+    /**
+     * To increment each time the snapshot payload layout or the branches computation changes.
+     */
+    private static final int FORMAT = 3;
+
+    private GeoModelSnapshot() {
+    }
+
+    private static LineGeometryStore readStore(ByteBuffer buffer) {
+        String[] ids = RteOpenDataCache.readStrings(buffer);
+        byte[] baseVoltages = RteOpenDataCache.readBytes(buffer, ids.length);
+        int[] linePylonOffsets = RteOpenDataCache.readInts(buffer, ids.length + 1);
+        int pylonCount = linePylonOffsets[ids.length];
+        double[] lons = RteOpenDataCache.readDoubles(buffer, pylonCount);
+        double[] lats = RteOpenDataCache.readDoubles(buffer, pylonCount);
+        int[] adjacencyOffsets = RteOpenDataCache.readInts(buffer, pylonCount + 1);
+        int[] adjacency = RteOpenDataCache.readInts(buffer, adjacencyOffsets[pylonCount]);
+        int[] lineBranchOffsets = RteOpenDataCache.readInts(buffer, ids.length + 1);
+        int branchCount = lineBranchOffsets[ids.length];
+        int[] branchPylonOffsets = RteOpenDataCache.readInts(buffer, branchCount + 1);
+        int[] branchPylons = RteOpenDataCache.readInts(buffer, branchPylonOffsets[branchCount]);
+        return new LineGeometryStore(ids, baseVoltages, linePylonOffsets, lons, lats, adjacencyOffsets, adjacency,
+                                     lineBranchOffsets, branchPylonOffsets, branchPylons);
+    }
+
+    private static SortedMap<Integer, LineGeometryStore> readStores(ByteBuffer buffer) {
+        SortedMap<Integer, LineGeometryStore> stores = new TreeMap<>();
+        int storeCount = buffer.getInt();
+        for (int i = 0; i < storeCount; i++) {
+            int drawOrder = buffer.getInt();
+            stores.put(drawOrder, readStore(buffer));
+        }
+        return stores;
+    }
+
+    /**
+     * Read line geometry stores by draw order.
+     */
+    static Optional<SortedMap<Integer, LineGeometryStore>> readLines(Path dir, List<Path> lineFiles) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        Optional<SortedMap<Integer, LineGeometryStore>> stores
+                = RteOpenDataCache.read(dir.resolve(FILE_NAME), lineFiles, FORMAT, GeoModelSnapshot::readStores);
+
+        stores.ifPresent(s -> LOGGER.info("{} lines read from snapshot in {} ms",
+                s.values().stream().mapToInt(LineGeometryStore::getLineCount).sum(), stopWatch.getTime()));
+
+        return stores;
+    }
+
+    private static void writeStore(DataOutputStream os, LineGeometryStore store) throws IOException {
+        RteOpenDataCache.writeStrings(os, store.getLineIds());
+        os.write(store.getBaseVoltages());
+        RteOpenDataCache.writeInts(os, store.getLinePylonOffsets());
+        RteOpenDataCache.writeDoubles(os, store.getLons());
+        RteOpenDataCache.writeDoubles(os, store.getLats());
+        RteOpenDataCache.writeInts(os, store.getAdjacencyOffsets());
+        RteOpenDataCache.writeInts(os, store.getAdjacency());
+        RteOpenDataCache.writeInts(os, store.getLineBranchOffsets());
+        RteOpenDataCache.writeInts(os, store.getBranchPylonOffsets());
+        RteOpenDataCache.writeInts(os, store.getBranchPylons());
+    }
+
+    /**
+     * Write line geometry stores by draw order.
+     */
+    static void writeLines(Path dir, List<Path> lineFiles, SortedMap<Integer, LineGeometryStore> stores) {
+        Objects.requireNonNull(stores);
+        RteOpenDataCache.write(dir.resolve(FILE_NAME), lineFiles, FORMAT, os -> {
+            os.writeInt(stores.size());
+            for (Map.Entry<Integer, LineGeometryStore> e : stores.entrySet()) {
+                os.writeInt(e.getKey());
+                writeStore(os, e.getValue());
+            }
+        });
+    }
+}
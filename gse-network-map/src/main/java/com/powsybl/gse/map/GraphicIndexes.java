@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.Entries;
+import com.github.davidmoten.rtree.Entry;
+import com.github.davidmoten.rtree.RTree;
+import com.github.davidmoten.rtree.geometry.Geometries;
+import com.github.davidmoten.rtree.geometry.Geometry;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * R-tree build utilities shared by graphic indexes.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class GraphicIndexes {
+
+    /**
+     * Number of viewport like windows, per axis, used to compare query time of bulk and incremental trees.
+     */
+    private static final int QUERY_GRID_SIZE = 8;
+
+    private GraphicIndexes() {
+    }
+
+    static <T> RTree<T, Geometry> build(Collection<T> values, Function<T, Geometry> geometry, RTree.Builder builder,
+                                        IndexBuildMode mode) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(geometry);
+        Objects.requireNonNull(builder);
+        Objects.requireNonNull(mode);
+        switch (mode) {
+            case BULK:
+                List<Entry<T, Geometry>> entries = new ArrayList<>(values.size());
+                for (T value : values) {
+                    entries.add(Entries.entry(value, geometry.apply(value)));
+                }
+                return builder.create(entries);
+
+            case INCREMENTAL:
+                RTree<T, Geometry> tree = builder.create();
+                for (T value : values) {
+                    tree = tree.add(value, geometry.apply(value));
+                }
+                return tree;
+
+            default:
+                throw new AssertionError("Unknown index build mode " + mode);
+        }
+    }
+
+    static <T> RTree<T, Geometry> build(Collection<T> values, Function<T, Geometry> geometry, Supplier<RTree.Builder> builder,
+                                        IndexBuildMode mode, String name, Logger logger) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        RTree<T, Geometry> tree = build(values, geometry, builder.get(), mode);
+
+        stopWatch.stop();
+        MapMetrics.getInstance().timer("index." + name.toLowerCase(Locale.ROOT).replace(' ', '-'))
+                .record(stopWatch.getNanoTime());
+        logger.info("{} R-tree built ({}, {} entries, depth {}) in {} ms", name, mode, values.size(), tree.calculateDepth(),
+                stopWatch.getTime());
+
+        if (mode == IndexBuildMode.BULK && logger.isDebugEnabled() && !values.isEmpty()) {
+            compare(values, geometry, builder, tree, stopWatch.getTime(), name, logger);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Run a grid of window queries, covering the whole tree extent, and return the elapsed time in nanoseconds.
+     */
+    private static <T> long query(RTree<T, Geometry> tree, Rectangle mbr) {
+        double width = (mbr.x2() - mbr.x1()) / QUERY_GRID_SIZE;
+        double height = (mbr.y2() - mbr.y1()) / QUERY_GRID_SIZE;
+        int[] count = new int[1];
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERY_GRID_SIZE; i++) {
+            for (int j = 0; j < QUERY_GRID_SIZE; j++) {
+                Rectangle window = Geometries.rectangle(mbr.x1() + i * width, mbr.y1() + j * height,
+                                                        mbr.x1() + (i + 1) * width, mbr.y1() + (j + 1) * height);
+                tree.search(window).toBlocking().forEach(e -> count[0]++);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static <T> void compare(Collection<T> values, Function<T, Geometry> geometry, Supplier<RTree.Builder> builder,
+                                    RTree<T, Geometry> bulkTree, long bulkBuildTime, String name, Logger logger) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        RTree<T, Geometry> incrementalTree = build(values, geometry, builder.get(), IndexBuildMode.INCREMENTAL);
+        stopWatch.stop();
+
+        Rectangle mbr = null;
+        for (T value : values) {
+            Rectangle r = geometry.apply(value).mbr();
+            mbr = mbr == null ? r : mbr.add(r);
+        }
+        long bulkQueryTime = query(bulkTree, mbr);
+        long incrementalQueryTime = query(incrementalTree, mbr);
+
+        logger.debug("{} R-tree: build {} ms (bulk) vs {} ms (incremental), {}x{} window queries {} us (bulk) vs {} us (incremental)",
+                name, bulkBuildTime, stopWatch.getTime(), QUERY_GRID_SIZE, QUERY_GRID_SIZE,
+                bulkQueryTime / 1000, incrementalQueryTime / 1000);
+    }
+}
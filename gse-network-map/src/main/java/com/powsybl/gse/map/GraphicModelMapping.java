@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.powsybl.iidm.network.Line;
+import com.powsybl.iidm.network.Substation;
+
+import java.util.*;
+
+/**
+ * Mapping of the shared graphic objects to the network model of one case.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GraphicModelMapping {
+
+    private final Map<SubstationGraphic, Substation> substations = new IdentityHashMap<>();
+
+    private final Map<LineGraphic, Line> lines = new IdentityHashMap<>();
+
+    public void map(SubstationGraphic graphic, Substation substation) {
+        substations.put(Objects.requireNonNull(graphic), Objects.requireNonNull(substation));
+    }
+
+    public void map(LineGraphic graphic, Line line) {
+        lines.put(Objects.requireNonNull(graphic), Objects.requireNonNull(line));
+    }
+
+    public Substation getSubstation(SubstationGraphic graphic) {
+        return substations.get(graphic);
+    }
+
+    public Line getLine(LineGraphic graphic) {
+        return lines.get(graphic);
+    }
+
+    public boolean isMapped(SubstationGraphic graphic) {
+        return substations.containsKey(graphic);
+    }
+
+    public boolean isMapped(LineGraphic graphic) {
+        return lines.containsKey(graphic);
+    }
+
+    public Set<LineGraphic> getMappedLines() {
+        return Collections.unmodifiableSet(lines.keySet());
+    }
+}
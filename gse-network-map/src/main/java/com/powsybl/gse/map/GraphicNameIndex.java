@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Index of graphic objects by id used to match network equipments, whose ids and names often differ from open data
+ * ones, to graphic objects.
+ * <p>
+ * Beyond exact lookup, an equipment can be matched by its normalized name (case, accents, whitespaces and
+ * punctuation being ignored), through an alias table, or with a fuzzy matching based on trigrams shared by the
+ * normalized names. Normalized names and aliases designating several graphic objects are ambiguous and never match.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class GraphicNameIndex<T> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    /**
+     * Minimal Dice similarity of trigram sets for a fuzzy match.
+     */
+    static final double MIN_SIMILARITY = 0.75;
+
+    /**
+     * Trigrams shared by more keys are not selective enough to find fuzzy match candidates.
+     */
+    private static final int MAX_POSTING_SIZE = 256;
+
+    private final Map<String, T> byId;
+
+    // graphic object by normalized id or alias, null value if ambiguous
+    private final Map<String, T> byNormalizedId = new HashMap<>();
+
+    private final Map<String, T> byAlias = new HashMap<>();
+
+    // fuzzy matching, graphic objects and their trigram count are indexed by position
+    private final List<T> values = new ArrayList<>();
+
+    private final List<Integer> trigramCounts = new ArrayList<>();
+
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    private GraphicNameIndex(Map<String, T> byId) {
+        this.byId = Objects.requireNonNull(byId);
+    }
+
+    /**
+     * Fold case, accents, whitespaces and punctuation.
+     */
+    static String normalize(String name) {
+        Objects.requireNonNull(name);
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        return NON_ALPHANUMERIC.matcher(DIACRITICS.matcher(decomposed).replaceAll("")).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> void putUnlessAmbiguous(Map<String, T> map, String key, T value) {
+        if (map.containsKey(key)) {
+            if (map.get(key) != value) {
+                map.put(key, null);
+            }
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    private static List<String> getTrigrams(String key) {
+        String padded = "  " + key + " ";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Build an index of graphic objects.
+     *
+     * @param byId graphic objects by id
+     * @param aliases graphic object id by alias
+     */
+    public static <T> GraphicNameIndex<T> build(Map<String, T> byId, Map<String, String> aliases) {
+        Objects.requireNonNull(aliases);
+        GraphicNameIndex<T> index = new GraphicNameIndex<>(byId);
+        Map<String, List<Integer>> postingLists = new HashMap<>();
+        for (Map.Entry<String, T> e : byId.entrySet()) {
+            String key = normalize(e.getKey());
+            if (key.isEmpty()) {
+                continue;
+            }
+            putUnlessAmbiguous(index.byNormalizedId, key, e.getValue());
+            int position = index.values.size();
+            index.values.add(e.getValue());
+            Set<String> trigrams = new HashSet<>(getTrigrams(key));
+            index.trigramCounts.add(trigrams.size());
+            for (String trigram : trigrams) {
+                postingLists.computeIfAbsent(trigram, k -> new ArrayList<>()).add(position);
+            }
+        }
+        postingLists.forEach((trigram, positions) -> {
+            if (positions.size() <= MAX_POSTING_SIZE) {
+                index.postings.put(trigram, positions.stream().mapToInt(Integer::intValue).toArray());
+            }
+        });
+        for (Map.Entry<String, String> e : aliases.entrySet()) {
+            T value = byId.get(e.getValue());
+            if (value != null) {
+                putUnlessAmbiguous(index.byAlias, normalize(e.getKey()), value);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Read an alias table, a text file with one {@code alias;id} pair per line. Empty lines and lines starting with
+     * {@code #} are ignored. An empty table is returned if the file does not exist.
+     */
+    public static Map<String, String> readAliases(Path file) {
+        Objects.requireNonNull(file);
+        Map<String, String> aliases = new HashMap<>();
+        if (!Files.exists(file)) {
+            return aliases;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = trimmed.split(";");
+                if (tokens.length == 2) {
+                    aliases.put(tokens[0].trim(), tokens[1].trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return aliases;
+    }
+
+    public T findExact(String id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    public T findNormalized(String name) {
+        return name != null ? byNormalizedId.get(normalize(name)) : null;
+    }
+
+    public T findAlias(String name) {
+        return name != null ? byAlias.get(normalize(name)) : null;
+    }
+
+    /**
+     * Find the graphic object whose normalized id is the most similar to the normalized name, among the available
+     * ones. Only graphic objects sharing a selective trigram with the name are compared, so a query cost does not
+     * depend on the index size.
+     */
+    public T findFuzzy(String name, Predicate<T> available) {
+        Objects.requireNonNull(available);
+        if (name == null) {
+            return null;
+        }
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return null;
+        }
+        Set<String> trigrams = new HashSet<>(getTrigrams(key));
+        Map<Integer, Integer> sharedCounts = new HashMap<>();
+        for (String trigram : trigrams) {
+            int[] positions = postings.get(trigram);
+            if (positions != null) {
+                for (int position : positions) {
+                    sharedCounts.merge(position, 1, Integer::sum);
+                }
+            }
+        }
+        T best = null;
+        double bestSimilarity = MIN_SIMILARITY;
+        boolean ambiguous = false;
+        for (Map.Entry<Integer, Integer> e : sharedCounts.entrySet()) {
+            double similarity = 2.0 * e.getValue() / (trigrams.size() + trigramCounts.get(e.getKey()));
+            T value = values.get(e.getKey());
+            if (similarity < bestSimilarity || !available.test(value)) {
+                continue;
+            }
+            if (similarity > bestSimilarity || best == null) {
+                best = value;
+                bestSimilarity = similarity;
+                ambiguous = false;
+            } else if (value != best) {
+                ambiguous = true;
+            }
+        }
+        return ambiguous ? null : best;
+    }
+}
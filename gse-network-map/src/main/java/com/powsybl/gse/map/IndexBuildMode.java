@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+/**
+ * How an R-tree index is built from a collection of graphics.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public enum IndexBuildMode {
+
+    /**
+     * Sort-Tile-Recursive packing of all entries at once, giving a well balanced and fully packed tree.
+     */
+    BULK,
+
+    /**
+     * One insertion per entry, as done for live updates of an existing index.
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.util.BitSet;
+
+/**
+ * Screen space occupancy grid used to place labels without overlap: labels are placed in priority order, and a label
+ * is culled if one of the grid cells it covers is already occupied by a previously placed one.
+ * <p>
+ * Cells are {@link #CELL_SIZE} pixels wide, so labels are kept at least a fraction of a cell apart.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class LabelPlacement {
+
+    static final int CELL_SIZE = 4;
+
+    private final int columnCount;
+
+    private final int rowCount;
+
+    private final BitSet occupied;
+
+    private int placedCount = 0;
+
+    private int culledCount = 0;
+
+    LabelPlacement(double width, double height) {
+        columnCount = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+        rowCount = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+        occupied = new BitSet(columnCount * rowCount);
+    }
+
+    private static int toCell(double v) {
+        return (int) Math.floor(v / CELL_SIZE);
+    }
+
+    /**
+     * Try to place a label covering a screen rectangle. Parts of the label outside of the screen are ignored.
+     *
+     * @return true if the label has been placed, false if it overlaps an already placed label
+     */
+    boolean place(double x, double y, double width, double height) {
+        int minColumn = Math.max(0, toCell(x));
+        int maxColumn = Math.min(columnCount - 1, toCell(x + width));
+        int minRow = Math.max(0, toCell(y));
+        int maxRow = Math.min(rowCount - 1, toCell(y + height));
+        if (minColumn > maxColumn || minRow > maxRow) {
+            // fully outside of the screen
+            culledCount++;
+            return false;
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            int offset = row * columnCount;
+            int next = occupied.nextSetBit(offset + minColumn);
+            if (next != -1 && next <= offset + maxColumn) {
+                culledCount++;
+                return false;
+            }
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            int offset = row * columnCount;
+            occupied.set(offset + minColumn, offset + maxColumn + 1);
+        }
+        placedCount++;
+        return true;
+    }
+
+    int getPlacedCount() {
+        return placedCount;
+    }
+
+    int getCulledCount() {
+        return culledCount;
+    }
+}
@@ -0,0 +1,621 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Packed storage of line geometries, based on primitive arrays only:
+ * <ul>
+ *     <li>pylons of line {@code l} are stored from index {@code linePylonOffsets[l]} to {@code linePylonOffsets[l + 1]}
+ *     (exclusive) of {@code lons} and {@code lats} arrays, each coordinate being stored once per line,</li>
+ *     <li>pylons adjacency is stored in compressed sparse row format: neighbors of pylon {@code p} are
+ *     {@code adjacency[adjacencyOffsets[p]]} to {@code adjacency[adjacencyOffsets[p + 1] - 1]},</li>
+ *     <li>branches of line {@code l} are {@code lineBranchOffsets[l]} to {@code lineBranchOffsets[l + 1]} (exclusive),
+ *     pylons of branch {@code b} being {@code branchPylons[branchPylonOffsets[b]]} to
+ *     {@code branchPylons[branchPylonOffsets[b + 1] - 1]}.</li>
+ * </ul>
+ * {@link LineGraphic}, {@link BranchGraphic} and {@link PylonGraphic} are views over this store.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class LineGeometryStore {
+
+    private static final int MIN_RANGE_SEGMENT_COUNT = 4096;
+
+    /**
+     * Compute pylons, adjacency and branches of lines, one line after the other, reusing temporary arrays.
+     */
+    static final class Builder {
+
+        private String[] lineIds = new String[256];
+
+        private byte[] baseVoltages = new byte[256];
+
+        private int[] linePylonOffsets = new int[257];
+
+        private int[] lineBranchOffsets = new int[257];
+
+        private int lineCount = 0;
+
+        private double[] lons = new double[1024];
+
+        private double[] lats = new double[1024];
+
+        private int[] adjacencyOffsets = new int[1025];
+
+        private int[] adjacency = new int[2048];
+
+        private int pylonCount = 0;
+
+        private int[] branchPylonOffsets = new int[257];
+
+        private int[] branchPylons = new int[1024];
+
+        private int branchCount = 0;
+
+        private int branchPylonCount = 0;
+
+        // per line temporary data
+
+        private int[] hashTable = new int[64];
+
+        private int hashMask = 63;
+
+        private int[] segmentPylons1 = new int[64];
+
+        private int[] segmentPylons2 = new int[64];
+
+        private int[] fillCursors = new int[64];
+
+        private boolean[] remaining = new boolean[64];
+
+        private int[] stackPylons = new int[64];
+
+        private int[] stackCursors = new int[64];
+
+        private int[] stackBranchStarts = new int[64];
+
+        private int[] pending = new int[64];
+
+        private int pendingSize = 0;
+
+        private int currentPylonBase = 0;
+
+        private int remainingCount = 0;
+
+        private static int hash(double lon, double lat) {
+            long bits = Double.doubleToLongBits(lon) * 31 + Double.doubleToLongBits(lat);
+            int h = (int) (bits ^ (bits >>> 32));
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Get local index of the pylon at given position, creating it if it does not exist yet.
+         */
+        private int intern(double lon, double lat, int pylonBase) {
+            // + 0.0 so that -0.0 and 0.0 are the same position as for Coordinate
+            double normalizedLon = lon + 0.0;
+            double normalizedLat = lat + 0.0;
+            int slot = hash(normalizedLon, normalizedLat) & hashMask;
+            while (hashTable[slot] != 0) {
+                int pylon = pylonBase + hashTable[slot] - 1;
+                if (lons[pylon] == normalizedLon && lats[pylon] == normalizedLat) {
+                    return pylon - pylonBase;
+                }
+                slot = (slot + 1) & hashMask;
+            }
+            if (pylonCount == lons.length) {
+                lons = Arrays.copyOf(lons, pylonCount * 2);
+                lats = Arrays.copyOf(lats, pylonCount * 2);
+            }
+            lons[pylonCount] = normalizedLon;
+            lats[pylonCount] = normalizedLat;
+            int local = pylonCount - pylonBase;
+            pylonCount++;
+            hashTable[slot] = local + 1;
+            return local;
+        }
+
+        private void ensureLineCapacity() {
+            if (lineCount == lineIds.length) {
+                int capacity = lineCount * 2;
+                lineIds = Arrays.copyOf(lineIds, capacity);
+                baseVoltages = Arrays.copyOf(baseVoltages, capacity);
+                linePylonOffsets = Arrays.copyOf(linePylonOffsets, capacity + 1);
+                lineBranchOffsets = Arrays.copyOf(lineBranchOffsets, capacity + 1);
+            }
+        }
+
+        private void ensureLocalCapacity(int segmentCount) {
+            int tableSize = Integer.highestOneBit(Math.max(4 * segmentCount, 16) - 1) << 1;
+            if (hashTable.length < tableSize) {
+                hashTable = new int[tableSize];
+            } else {
+                Arrays.fill(hashTable, 0, tableSize, 0);
+            }
+            hashMask = tableSize - 1;
+            if (segmentPylons1.length < segmentCount) {
+                segmentPylons1 = new int[segmentCount];
+                segmentPylons2 = new int[segmentCount];
+            }
+            int maxPylonCount = 2 * segmentCount;
+            if (fillCursors.length < maxPylonCount) {
+                fillCursors = new int[maxPylonCount];
+                remaining = new boolean[maxPylonCount];
+                stackPylons = new int[maxPylonCount];
+                stackCursors = new int[maxPylonCount];
+                stackBranchStarts = new int[maxPylonCount];
+            }
+            if (adjacencyOffsets.length < pylonCount + maxPylonCount + 1) {
+                adjacencyOffsets = Arrays.copyOf(adjacencyOffsets, Math.max(adjacencyOffsets.length * 2, pylonCount + maxPylonCount + 1));
+            }
+        }
+
+        private void buildAdjacency(int pylonBase, int linePylonCount, int segmentCount) {
+            int adjacencyBase = adjacencyOffsets[pylonBase];
+            if (adjacency.length < adjacencyBase + 2 * segmentCount) {
+                adjacency = Arrays.copyOf(adjacency, Math.max(adjacency.length * 2, adjacencyBase + 2 * segmentCount));
+            }
+
+            // count degrees
+            Arrays.fill(fillCursors, 0, linePylonCount, 0);
+            for (int s = 0; s < segmentCount; s++) {
+                fillCursors[segmentPylons1[s]]++;
+                fillCursors[segmentPylons2[s]]++;
+            }
+            int offset = adjacencyBase;
+            for (int p = 0; p < linePylonCount; p++) {
+                adjacencyOffsets[pylonBase + p] = offset;
+                offset += fillCursors[p];
+                fillCursors[p] = adjacencyOffsets[pylonBase + p];
+            }
+            adjacencyOffsets[pylonBase + linePylonCount] = offset;
+
+            // fill neighbors in segment order
+            for (int s = 0; s < segmentCount; s++) {
+                int p1 = segmentPylons1[s];
+                int p2 = segmentPylons2[s];
+                adjacency[fillCursors[p1]++] = pylonBase + p2;
+                adjacency[fillCursors[p2]++] = pylonBase + p1;
+            }
+        }
+
+        private int countRemainingNeighbors(int pylon) {
+            int count = 0;
+            for (int i = adjacencyOffsets[pylon]; i < adjacencyOffsets[pylon + 1]; i++) {
+                if (isRemaining(adjacency[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean isRemaining(int pylon) {
+            return remaining[pylon - currentPylonBase];
+        }
+
+        private void pushPending(int pylon) {
+            if (pendingSize == pending.length) {
+                pending = Arrays.copyOf(pending, pendingSize * 2);
+            }
+            pending[pendingSize++] = pylon;
+        }
+
+        /**
+         * Emit pending pylons from {@code start} as a new branch.
+         */
+        private void emitBranch(int start) {
+            int length = pendingSize - start;
+            if (branchCount + 1 == branchPylonOffsets.length) {
+                branchPylonOffsets = Arrays.copyOf(branchPylonOffsets, branchPylonOffsets.length * 2);
+            }
+            if (branchPylonCount + length > branchPylons.length) {
+                branchPylons = Arrays.copyOf(branchPylons, Math.max(branchPylons.length * 2, branchPylonCount + length));
+            }
+            System.arraycopy(pending, start, branchPylons, branchPylonCount, length);
+            branchPylonCount += length;
+            branchCount++;
+            branchPylonOffsets[branchCount] = branchPylonCount;
+            pendingSize = start;
+        }
+
+        /**
+         * Traverse pylons from {@code start}: the branch goes on through the first remaining neighbor of each pylon,
+         * and a new branch is started, once the current one is finished, for each other remaining neighbor. Nested
+         * branches are emitted before the branch they start from. An explicit stack is used so that very long
+         * branches do not overflow the thread stack.
+         */
+        private void traverse(int start) {
+            int branchStart = pendingSize;
+            int depth = 0;
+            stackPylons[0] = start;
+            stackCursors[0] = -1; // not yet visited
+            stackBranchStarts[0] = -1; // no nested branch in progress
+            while (depth >= 0) {
+                int pylon = stackPylons[depth];
+                if (stackCursors[depth] == -1) {
+                    // visit pylon
+                    pushPending(pylon);
+                    remaining[pylon - currentPylonBase] = false;
+                    remainingCount--;
+                    stackCursors[depth] = adjacencyOffsets[pylon];
+                    for (int i = adjacencyOffsets[pylon]; i < adjacencyOffsets[pylon + 1]; i++) {
+                        int next = adjacency[i];
+                        if (isRemaining(next)) {
+                            // branch goes on
+                            depth++;
+                            stackPylons[depth] = next;
+                            stackCursors[depth] = -1;
+                            stackBranchStarts[depth] = -1;
+                            break;
+                        }
+                    }
+                    continue;
+                }
+                if (stackBranchStarts[depth] != -1) {
+                    emitBranch(stackBranchStarts[depth]);
+                    stackBranchStarts[depth] = -1;
+                }
+                int next = -1;
+                while (stackCursors[depth] < adjacencyOffsets[pylon + 1]) {
+                    int neighbor = adjacency[stackCursors[depth]++];
+                    if (isRemaining(neighbor)) {
+                        next = neighbor;
+                        break;
+                    }
+                }
+                if (next != -1) {
+                    // start a nested branch from this pylon
+                    stackBranchStarts[depth] = pendingSize;
+                    pushPending(pylon);
+                    depth++;
+                    stackPylons[depth] = next;
+                    stackCursors[depth] = -1;
+                    stackBranchStarts[depth] = -1;
+                } else {
+                    depth--;
+                }
+            }
+            emitBranch(branchStart);
+        }
+
+        private static boolean isBefore(double lon1, double lat1, double lon2, double lat2) {
+            return lon1 < lon2 || (lon1 == lon2 && lat1 < lat2);
+        }
+
+        private void buildBranches(int pylonBase, int linePylonCount) {
+            currentPylonBase = pylonBase;
+            Arrays.fill(remaining, 0, linePylonCount, true);
+            remainingCount = linePylonCount;
+            while (remainingCount > 0) {
+                // start branch at a leaf or a cross, the most western one for a deterministic behaviour, or at the most
+                // western pylon if only cycles remain
+                int start = -1;
+                int fallback = -1;
+                for (int p = pylonBase; p < pylonBase + linePylonCount; p++) {
+                    if (!isRemaining(p)) {
+                        continue;
+                    }
+                    if (countRemainingNeighbors(p) != 2) {
+                        if (start == -1 || isBefore(lons[p], lats[p], lons[start], lats[start])) {
+                            start = p;
+                        }
+                    } else if (fallback == -1 || isBefore(lons[p], lats[p], lons[fallback], lats[fallback])) {
+                        fallback = p;
+                    }
+                }
+                traverse(start != -1 ? start : fallback);
+            }
+        }
+
+        /**
+         * Add a line made of segments {@code from} (inclusive) to {@code to} (exclusive) of segment columns.
+         */
+        Builder addLine(String id, byte baseVoltage, double[] lon1s, double[] lat1s,
+                        double[] lon2s, double[] lat2s, int from, int to) {
+            Objects.requireNonNull(id);
+            ensureLineCapacity();
+            int segmentCount = to - from;
+            ensureLocalCapacity(segmentCount);
+
+            int pylonBase = pylonCount;
+            for (int s = 0; s < segmentCount; s++) {
+                segmentPylons1[s] = intern(lon1s[from + s], lat1s[from + s], pylonBase);
+                segmentPylons2[s] = intern(lon2s[from + s], lat2s[from + s], pylonBase);
+            }
+            int linePylonCount = pylonCount - pylonBase;
+
+            buildAdjacency(pylonBase, linePylonCount, segmentCount);
+            buildBranches(pylonBase, linePylonCount);
+
+            lineIds[lineCount] = id;
+            baseVoltages[lineCount] = baseVoltage;
+            lineCount++;
+            linePylonOffsets[lineCount] = pylonCount;
+            lineBranchOffsets[lineCount] = branchCount;
+            return this;
+        }
+
+        LineGeometryStore build() {
+            return new LineGeometryStore(Arrays.copyOf(lineIds, lineCount), Arrays.copyOf(baseVoltages, lineCount),
+                                         Arrays.copyOf(linePylonOffsets, lineCount + 1), Arrays.copyOf(lons, pylonCount),
+                                         Arrays.copyOf(lats, pylonCount), Arrays.copyOf(adjacencyOffsets, pylonCount + 1),
+                                         Arrays.copyOf(adjacency, adjacencyOffsets[pylonCount]),
+                                         Arrays.copyOf(lineBranchOffsets, lineCount + 1),
+                                         Arrays.copyOf(branchPylonOffsets, branchCount + 1),
+                                         Arrays.copyOf(branchPylons, branchPylonCount));
+        }
+    }
+
+    private final String[] lineIds;
+
+    private final byte[] baseVoltages;
+
+    private final int[] linePylonOffsets;
+
+    private final double[] lons;
+
+    private final double[] lats;
+
+    private final int[] adjacencyOffsets;
+
+    private final int[] adjacency;
+
+    private final int[] lineBranchOffsets;
+
+    private final int[] branchPylonOffsets;
+
+    private final int[] branchPylons;
+
+    LineGeometryStore(String[] lineIds, byte[] baseVoltages, int[] linePylonOffsets, double[] lons, double[] lats,
+                      int[] adjacencyOffsets, int[] adjacency, int[] lineBranchOffsets, int[] branchPylonOffsets,
+                      int[] branchPylons) {
+        this.lineIds = Objects.requireNonNull(lineIds);
+        this.baseVoltages = Objects.requireNonNull(baseVoltages);
+        this.linePylonOffsets = Objects.requireNonNull(linePylonOffsets);
+        this.lons = Objects.requireNonNull(lons);
+        this.lats = Objects.requireNonNull(lats);
+        this.adjacencyOffsets = Objects.requireNonNull(adjacencyOffsets);
+        this.adjacency = Objects.requireNonNull(adjacency);
+        this.lineBranchOffsets = Objects.requireNonNull(lineBranchOffsets);
+        this.branchPylonOffsets = Objects.requireNonNull(branchPylonOffsets);
+        this.branchPylons = Objects.requireNonNull(branchPylons);
+        if (baseVoltages.length != lineIds.length || linePylonOffsets.length != lineIds.length + 1
+                || lineBranchOffsets.length != lineIds.length + 1) {
+            throw new IllegalArgumentException("Inconsistent line columns size");
+        }
+        int pylonCount = linePylonOffsets[lineIds.length];
+        if (lons.length != pylonCount || lats.length != pylonCount || adjacencyOffsets.length != pylonCount + 1
+                || adjacency.length != adjacencyOffsets[pylonCount]) {
+            throw new IllegalArgumentException("Inconsistent pylon columns size");
+        }
+        int branchCount = lineBranchOffsets[lineIds.length];
+        if (branchPylonOffsets.length != branchCount + 1 || branchPylons.length != branchPylonOffsets[branchCount]) {
+            throw new IllegalArgumentException("Inconsistent branch columns size");
+        }
+    }
+
+    private static LineGeometryStore build(LineSegmentData data, int fromLine, int toLine) {
+        Builder builder = new Builder();
+        int[] segmentOffsets = data.getSegmentOffsets();
+        for (int l = fromLine; l < toLine; l++) {
+            builder.addLine(data.getIds()[l], data.getBaseVoltages()[l],
+                            data.getLon1s(), data.getLat1s(), data.getLon2s(), data.getLat2s(),
+                            segmentOffsets[l], segmentOffsets[l + 1]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute pylons and branches of all lines of {@code data}, lines being split into ranges of about
+     * {@code rangeSegmentCount} segments that are computed in parallel.
+     */
+    static LineGeometryStore build(LineSegmentData data, int rangeSegmentCount) {
+        Objects.requireNonNull(data);
+        if (rangeSegmentCount <= 0) {
+            throw new IllegalArgumentException("Invalid range segment count: " + rangeSegmentCount);
+        }
+        int[] segmentOffsets = data.getSegmentOffsets();
+        List<int[]> ranges = new ArrayList<>();
+        int fromLine = 0;
+        for (int l = 0; l < data.getLineCount(); l++) {
+            if (segmentOffsets[l + 1] - segmentOffsets[fromLine] >= rangeSegmentCount) {
+                ranges.add(new int[] {fromLine, l + 1});
+                fromLine = l + 1;
+            }
+        }
+        if (fromLine < data.getLineCount() || ranges.isEmpty()) {
+            ranges.add(new int[] {fromLine, data.getLineCount()});
+        }
+        return concat(ranges.parallelStream()
+                .map(range -> build(data, range[0], range[1]))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Compute pylons and branches of all lines of {@code data}, using all available processors.
+     */
+    static LineGeometryStore build(LineSegmentData data) {
+        int rangeCount = Runtime.getRuntime().availableProcessors() * 4;
+        return build(data, Math.max(MIN_RANGE_SEGMENT_COUNT, data.getSegmentCount() / rangeCount + 1));
+    }
+
+    /**
+     * Concatenate stores, line, pylon and branch indexes of each store being shifted by the sizes of the previous ones.
+     */
+    static LineGeometryStore concat(List<LineGeometryStore> stores) {
+        Objects.requireNonNull(stores);
+        if (stores.size() == 1) {
+            return stores.get(0);
+        }
+        int lineCount = 0;
+        int pylonCount = 0;
+        int adjacencySize = 0;
+        int branchCount = 0;
+        int branchPylonCount = 0;
+        for (LineGeometryStore store : stores) {
+            lineCount += store.getLineCount();
+            pylonCount += store.getPylonCount();
+            adjacencySize += store.adjacency.length;
+            branchCount += store.getBranchCount();
+            branchPylonCount += store.branchPylons.length;
+        }
+        String[] lineIds = new String[lineCount];
+        byte[] baseVoltages = new byte[lineCount];
+        int[] linePylonOffsets = new int[lineCount + 1];
+        double[] lons = new double[pylonCount];
+        double[] lats = new double[pylonCount];
+        int[] adjacencyOffsets = new int[pylonCount + 1];
+        int[] adjacency = new int[adjacencySize];
+        int[] lineBranchOffsets = new int[lineCount + 1];
+        int[] branchPylonOffsets = new int[branchCount + 1];
+        int[] branchPylons = new int[branchPylonCount];
+        int lineBase = 0;
+        int pylonBase = 0;
+        int adjacencyBase = 0;
+        int branchBase = 0;
+        int branchPylonBase = 0;
+        for (LineGeometryStore store : stores) {
+            int storeLineCount = store.getLineCount();
+            System.arraycopy(store.lineIds, 0, lineIds, lineBase, storeLineCount);
+            System.arraycopy(store.baseVoltages, 0, baseVoltages, lineBase, storeLineCount);
+            for (int l = 1; l <= storeLineCount; l++) {
+                linePylonOffsets[lineBase + l] = pylonBase + store.linePylonOffsets[l];
+                lineBranchOffsets[lineBase + l] = branchBase + store.lineBranchOffsets[l];
+            }
+            System.arraycopy(store.lons, 0, lons, pylonBase, store.lons.length);
+            System.arraycopy(store.lats, 0, lats, pylonBase, store.lats.length);
+            for (int p = 1; p <= store.getPylonCount(); p++) {
+                adjacencyOffsets[pylonBase + p] = adjacencyBase + store.adjacencyOffsets[p];
+            }
+            for (int i = 0; i < store.adjacency.length; i++) {
+                adjacency[adjacencyBase + i] = pylonBase + store.adjacency[i];
+            }
+            for (int b = 1; b <= store.getBranchCount(); b++) {
+                branchPylonOffsets[branchBase + b] = branchPylonBase + store.branchPylonOffsets[b];
+            }
+            for (int i = 0; i < store.branchPylons.length; i++) {
+                branchPylons[branchPylonBase + i] = pylonBase + store.branchPylons[i];
+            }
+            lineBase += storeLineCount;
+            pylonBase += store.getPylonCount();
+            adjacencyBase += store.adjacency.length;
+            branchBase += store.getBranchCount();
+            branchPylonBase += store.branchPylons.length;
+        }
+        return new LineGeometryStore(lineIds, baseVoltages, linePylonOffsets, lons, lats, adjacencyOffsets, adjacency,
+                                     lineBranchOffsets, branchPylonOffsets, branchPylons);
+    }
+
+    public int getLineCount() {
+        return lineIds.length;
+    }
+
+    public String getLineId(int line) {
+        return lineIds[line];
+    }
+
+    RteOpenData.BaseVoltage getBaseVoltage(int line) {
+        return RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[line]);
+    }
+
+    public int getPylonCount() {
+        return lons.length;
+    }
+
+    public double getLon(int pylon) {
+        return lons[pylon];
+    }
+
+    public double getLat(int pylon) {
+        return lats[pylon];
+    }
+
+    public int getNeighborCount(int pylon) {
+        return adjacencyOffsets[pylon + 1] - adjacencyOffsets[pylon];
+    }
+
+    public int getNeighbor(int pylon, int i) {
+        return adjacency[adjacencyOffsets[pylon] + i];
+    }
+
+    public int getBranchCount() {
+        return branchPylonOffsets.length - 1;
+    }
+
+    public int getFirstBranch(int line) {
+        return lineBranchOffsets[line];
+    }
+
+    public int getBranchCount(int line) {
+        return lineBranchOffsets[line + 1] - lineBranchOffsets[line];
+    }
+
+    public int getBranchPylonCount(int branch) {
+        return branchPylonOffsets[branch + 1] - branchPylonOffsets[branch];
+    }
+
+    public int getBranchPylon(int branch, int i) {
+        return branchPylons[branchPylonOffsets[branch] + i];
+    }
+
+    String[] getLineIds() {
+        return lineIds;
+    }
+
+    byte[] getBaseVoltages() {
+        return baseVoltages;
+    }
+
+    int[] getLinePylonOffsets() {
+        return linePylonOffsets;
+    }
+
+    double[] getLons() {
+        return lons;
+    }
+
+    double[] getLats() {
+        return lats;
+    }
+
+    int[] getAdjacencyOffsets() {
+        return adjacencyOffsets;
+    }
+
+    int[] getAdjacency() {
+        return adjacency;
+    }
+
+    int[] getLineBranchOffsets() {
+        return lineBranchOffsets;
+    }
+
+    int[] getBranchPylonOffsets() {
+        return branchPylonOffsets;
+    }
+
+    int[] getBranchPylons() {
+        return branchPylons;
+    }
+
+    /**
+     * Create line graphics, with their branches, as views over this store.
+     */
+    Map<String, LineGraphic> toGraphics() {
+        Map<String, LineGraphic> lines = new HashMap<>(lineIds.length * 4 / 3 + 1);
+        for (int l = 0; l < lineIds.length; l++) {
+            RteOpenData.BaseVoltage baseVoltage = getBaseVoltage(l);
+            LineGraphic line = new LineGraphic(lineIds[l], baseVoltage.getOrder(), baseVoltage.getColor());
+            line.setBranches(this, l);
+            lines.put(lineIds[l], line);
+        }
+        return lines;
+    }
+}
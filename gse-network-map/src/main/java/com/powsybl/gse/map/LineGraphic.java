@@ -6,15 +6,11 @@
  */
 package com.powsybl.gse.map;
 
-import com.powsybl.iidm.network.Line;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -31,9 +27,8 @@ public class LineGraphic {
 
     private final List<SegmentGraphic> segments = new ArrayList<>();
 
-    private final List<BranchGraphic> branches = new ArrayList<>();
-
-    private Line model;
+    // replaced at once, as branches can be set from a loading thread while being drawn
+    private volatile List<BranchGraphic> branches = Collections.emptyList();
 
     public LineGraphic(String id, int drawOrder, Color color) {
         this.id = Objects.requireNonNull(id);
@@ -57,80 +52,39 @@ public class LineGraphic {
         return segments;
     }
 
-    public Line getModel() {
-        return model;
-    }
-
-    public void setModel(Line model) {
-        this.model = model;
-    }
-
-    private static Stream<PylonGraphic> getNeighborsStream(PylonGraphic pylon, Set<PylonGraphic> remaining) {
-        return pylon.getNeighbors()
-                .stream()
-                .map(PylonGraphic.Neighbor::getPylon)
-                .filter(remaining::contains);
-    }
-
-    private void startBranch(Set<PylonGraphic> remaining) {
-        if (remaining.isEmpty()) {
-            return;
-        }
-        PylonGraphic pylon = remaining.stream()
-                .filter(p -> getNeighborsStream(p, remaining).count() != 2) // to start branch at a leaf or cross
-                .min(Comparator.comparingDouble((PylonGraphic p) -> p.getCoordinate().getLon()) // for deterministics behaviour
-                        .thenComparingDouble(p -> p.getCoordinate().getLat()))
-                .orElseGet(() -> remaining.iterator().next());
-        List<PylonGraphic> pylons = new ArrayList<>();
-        traverse(pylon, pylons, remaining);
-        if (!pylons.isEmpty()) {
-            branches.add(new BranchGraphic(pylons, this));
-        }
-    }
-
-    private void traverse(PylonGraphic pylon, List<PylonGraphic> pylons, Set<PylonGraphic> remaining) {
-        LOGGER.trace("Traverse pylon {}", pylon.getCoordinate());
-        pylons.add(pylon);
-        remaining.remove(pylon);
-        getNeighborsStream(pylon, remaining).findFirst().ifPresent(next -> traverse(next, pylons, remaining));
-        getNeighborsStream(pylon, remaining).forEach(next -> {
-            List<PylonGraphic> nextPylons = new ArrayList<>(1);
-            nextPylons.add(pylon);
-            traverse(next, nextPylons, remaining);
-            if (!nextPylons.isEmpty()) {
-                branches.add(new BranchGraphic(nextPylons, this));
-            }
-        });
-    }
-
     public List<BranchGraphic> getBranches() {
         return branches;
     }
 
-    public void updateBranches() {
-        branches.clear();
-
-        // index segment by position side 1 and 2
-        Set<Coordinate> positions = new HashSet<>(segments.size());
-        for (SegmentGraphic segment : segments) {
-            positions.add(segment.getCoordinate1());
-            positions.add(segment.getCoordinate2());
-        }
-
-        // create pylons
-        Map<Coordinate, PylonGraphic> pylons = positions.stream().collect(Collectors.toMap(Function.identity(), PylonGraphic::new));
-
-        // links pylons
-        for (SegmentGraphic segment : segments) {
-            PylonGraphic pylon1 = pylons.get(segment.getCoordinate1());
-            PylonGraphic pylon2 = pylons.get(segment.getCoordinate2());
-            pylon1.getNeighbors().add(new PylonGraphic.Neighbor(pylon2, segment));
-            pylon2.getNeighbors().add(new PylonGraphic.Neighbor(pylon1, segment));
+    /**
+     * Replace branches by views of the branches of line {@code line} of {@code store}.
+     */
+    void setBranches(LineGeometryStore store, int line) {
+        Objects.requireNonNull(store);
+        List<BranchGraphic> newBranches = new ArrayList<>(store.getBranchCount(line));
+        for (int b = store.getFirstBranch(line); b < store.getFirstBranch(line) + store.getBranchCount(line); b++) {
+            newBranches.add(new BranchGraphic(store, b, this));
         }
+        branches = newBranches;
+    }
 
-        Set<PylonGraphic> remaining = new HashSet<>(pylons.values());
-        while (!remaining.isEmpty()) {
-            startBranch(remaining);
+    public void updateBranches() {
+        double[] lon1s = new double[segments.size()];
+        double[] lat1s = new double[segments.size()];
+        double[] lon2s = new double[segments.size()];
+        double[] lat2s = new double[segments.size()];
+        for (int s = 0; s < segments.size(); s++) {
+            SegmentGraphic segment = segments.get(s);
+            lon1s[s] = segment.getCoordinate1().getLon();
+            lat1s[s] = segment.getCoordinate1().getLat();
+            lon2s[s] = segment.getCoordinate2().getLon();
+            lat2s[s] = segment.getCoordinate2().getLat();
         }
+        // base voltage column of the store is not used, draw order and color being already known
+        LineGeometryStore store = new LineGeometryStore.Builder()
+                .addLine(id, (byte) 0, lon1s, lat1s, lon2s, lat2s, 0, segments.size())
+                .build();
+        LOGGER.trace("{} branches computed for line {}", store.getBranchCount(), id);
+        setBranches(store, 0);
     }
 }
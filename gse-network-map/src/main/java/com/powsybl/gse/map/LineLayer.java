@@ -6,164 +6,197 @@
  */
 package com.powsybl.gse.map;
 
-import com.github.davidmoten.rtree.Entry;
-import com.github.davidmoten.rtree.geometry.Geometries;
-import com.github.davidmoten.rtree.geometry.Geometry;
+import com.github.davidmoten.rtree.geometry.Rectangle;
 import com.gluonhq.maps.MapView;
-import com.goebl.simplify.PointExtractor;
-import com.goebl.simplify.Simplify;
-import javafx.geometry.Point2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.ArcType;
-import org.apache.commons.lang3.time.StopWatch;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import rx.Observable;
 
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Objects;
-import java.util.SortedMap;
+import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class LineLayer extends CanvasBasedLayer {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(LineLayer.class);
-
     private static final int PYLON_SHOW_ZOOM_THRESHOLD = 10;
 
     private static final Color UNMAPPED_LINE_COLOR = Color.GRAY;
 
-    private static final PointExtractor<Point2D> POINT_EXTRACTOR = new PointExtractor<Point2D>() {
-        @Override
-        public double getX(Point2D point2D) {
-            return point2D.getX();
-        }
+    private static final double[] UNMAPPED_LINE_DASHES = {1., 7., 1., 7.};
 
-        @Override
-        public double getY(Point2D point2D) {
-            return point2D.getY();
-        }
-    };
+    private static final double[] NO_DASHES = {};
 
-    private final Simplify<Point2D> simplify = new Simplify<>(new Point2D[0], POINT_EXTRACTOR);
+    private static final double PYLON_SIZE = LineOrderDrawing.PYLON_SIZE;
+
+    private static final LineOrderDrawing.LineStyle UNMAPPED_LINE_STYLE = new LineOrderDrawing.LineStyle(UNMAPPED_LINE_COLOR, UNMAPPED_LINE_DASHES);
 
     private final SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
 
-    private final CancellableGraphicTaskQueue taskQueue;
+    private final SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail;
+
+    private final RenderScheduler renderScheduler;
 
     private final NetworkMapConfig config;
 
+    private final GraphicModelMapping mapping;
+
+    private final TileRenderer tileRenderer;
+
+    // pylons visibility tiles are rasterized with, only written from the application thread
+    private volatile boolean tileShowPylons;
+
+    // drawing mode of the current canvas content
+    private boolean canvasShowPylons;
+
+    private boolean canvasTileRendering;
+
+    // draw orders of the last full redraw not yet drawn by the render scheduler
+    private int remainingOrderCount = 0;
+
     public LineLayer(MapView mapView, SortedMap<Integer, BranchGraphicIndex> branchesIndexes,
-                     CancellableGraphicTaskQueue taskQueue, NetworkMapConfig config) {
+                     SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail, RenderScheduler renderScheduler, Executor executor, NetworkMapConfig config,
+                     GraphicModelMapping mapping) {
         super(mapView);
         this.branchesIndexes = Objects.requireNonNull(branchesIndexes);
-        this.taskQueue = Objects.requireNonNull(taskQueue);
+        this.levelsOfDetail = Objects.requireNonNull(levelsOfDetail);
+        this.renderScheduler = Objects.requireNonNull(renderScheduler);
         this.config = Objects.requireNonNull(config);
+        this.mapping = Objects.requireNonNull(mapping);
+        // tiles drawn in a strip may be placeholders, so ready tiles are drawn with a full redraw
+        tileRenderer = new TileRenderer(executor, renderScheduler, this::paintTile, () -> {
+            invalidateCanvas();
+            markDirty();
+        });
+        tileShowPylons = config.isShowPylons().get();
     }
 
-    @Override
-    protected void onMapClick(Coordinate c) {
-        for (Map.Entry<Integer, BranchGraphicIndex> e : branchesIndexes.entrySet()) {
-            BranchGraphicIndex index = e.getValue();
-            Observable<Entry<BranchGraphic, Geometry>> search = index.getTree().search(Geometries.pointGeographic(c.getLon(), c.getLat()));
-            search.toBlocking().forEach(entry -> LOGGER.trace(entry.value().getLine().getId()));
-        }
+    /**
+     * Draw branches of an index added to the branch indexes after the creation of the layer, while lower voltages
+     * are still being indexed.
+     */
+    public void branchesIndexAdded() {
+        tileRenderer.invalidate();
+        invalidateCanvas();
+        markDirty();
     }
 
-    private void reinitGraphicsContext(GraphicsContext gc, BranchGraphic branch) {
-        if (Objects.isNull(branch.getLine().getModel())) {
-            gc.setStroke(UNMAPPED_LINE_COLOR);
-            gc.setFill(UNMAPPED_LINE_COLOR);
-            gc.setLineDashes(1., 7., 1., 7.);
-        } else {
-            gc.setStroke(branch.getLine().getColor());
-            gc.setFill(branch.getLine().getColor());
-            gc.setLineDashes(0.);
-        }
+    private LineOrderDrawing.LineStyle getStyle(BranchGraphic branch) {
+        return mapping.isMapped(branch.getLine()) ? new LineOrderDrawing.LineStyle(branch.getLine().getColor(), NO_DASHES) : UNMAPPED_LINE_STYLE;
     }
 
-    private void draw(GraphicsContext gc, int drawOrder, BranchGraphicIndex segmentIndex,
-                      double zoom, boolean showPylons) {
-        LOGGER.trace("Drawing lines at order {}", drawOrder);
-
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        int[] segmentCount = new int[1];
-        int[] drawnSegmentCount = new int[1];
-
-        double pylonSize = 5;
-
-        segmentIndex.getTree().search(getMapBounds()).toBlocking().forEach(e -> {
-            BranchGraphic branch = e.value();
-
-            reinitGraphicsContext(gc, branch);
-
-            Point2D[] points = new Point2D[branch.getPylons().size()];
-            int i = 0;
-            for (PylonGraphic pylon : branch.getPylons()) {
-                Coordinate c = pylon.getCoordinate();
-                Point2D point = baseMap.getMapPoint(c.getLat(), c.getLon());
-                points[i++] = point;
-            }
-
-            Point2D[] pointsToDraw;
-            if (zoom > PYLON_SHOW_ZOOM_THRESHOLD) {
-                pointsToDraw = points;
-            } else {
-                pointsToDraw = simplify.simplify(points, 1, true);
-            }
+    /**
+     * Get level of detail of a draw order at a zoom, or null if branches have to be drawn with full detail.
+     */
+    private LineLevelsOfDetail.Level getLevel(int drawOrder, double zoom) {
+        LineLevelsOfDetail orderLevelsOfDetail = levelsOfDetail.get(drawOrder);
+        return orderLevelsOfDetail != null ? orderLevelsOfDetail.getLevel(zoom) : null;
+    }
 
-            segmentCount[0] += points.length - 1;
-            drawnSegmentCount[0] += pointsToDraw.length - 1;
+    private LineOrderDrawing createDrawing(GraphicsContext gc, Map.Entry<Integer, BranchGraphicIndex> e, Rectangle bounds,
+                                           double zoom, boolean showPylons, boolean centerFirst) {
+        return new LineOrderDrawing(gc, e.getKey(), e.getValue(), bounds, zoom, baseMap.getTranslateX(), baseMap.getTranslateY(),
+                                    getLevel(e.getKey(), zoom), showPylons && zoom > PYLON_SHOW_ZOOM_THRESHOLD, config.isBatchedLineDrawing().get(),
+                                    centerFirst, this::getStyle);
+    }
 
-            Point2D prev = null;
-            for (Point2D point : pointsToDraw) {
-                if (prev != null) {
-                    gc.strokeLine(prev.getX(), prev.getY(), point.getX(), point.getY());
-                }
-                // draw pylon
-                if (showPylons && zoom > PYLON_SHOW_ZOOM_THRESHOLD) {
-                    gc.fillArc(point.getX() - pylonSize / 2, point.getY() - pylonSize / 2, pylonSize, pylonSize, 0, 360, ArcType.ROUND);
+    /**
+     * Rasterize branches of a tile, called from a tile renderer worker thread.
+     */
+    private void paintTile(TileRaster raster, int zoom, int x, int y, double originX, double originY) {
+        int width = zoom >= 9 ? 2 : 1;
+        boolean showPylons = tileShowPylons && zoom > PYLON_SHOW_ZOOM_THRESHOLD;
+        Rectangle bounds = TileGrid.getTileBounds(zoom, x, y, showPylons ? PYLON_SIZE : width);
+        int unmappedArgb = TileRaster.toArgb(UNMAPPED_LINE_COLOR);
+        for (Map.Entry<Integer, BranchGraphicIndex> entry : branchesIndexes.entrySet()) {
+            LineLevelsOfDetail.Level level = getLevel(entry.getKey(), zoom);
+            entry.getValue().getTree().search(bounds).toBlocking().forEach(e -> {
+                BranchGraphic branch = e.value();
+                boolean mapped = mapping.isMapped(branch.getLine());
+                int argb = mapped ? TileRaster.toArgb(branch.getLine().getColor()) : unmappedArgb;
+                double[] dashes = mapped ? NO_DASHES : UNMAPPED_LINE_DASHES;
+                int pylonCount = level != null ? level.getPylonCount(branch.getIndex()) : branch.getPylonCount();
+                double prevX = 0;
+                double prevY = 0;
+                for (int k = 0; k < pylonCount; k++) {
+                    int i = level != null ? level.getPylonIndex(branch.getIndex(), k) : k;
+                    double px = TileGrid.projectX(branch.getLon(i), zoom) - originX;
+                    double py = TileGrid.projectY(branch.getLat(i), zoom) - originY;
+                    if (k > 0) {
+                        raster.drawLine(prevX, prevY, px, py, argb, width, dashes);
+                    }
+                    if (showPylons) {
+                        raster.fillCircle(px, py, PYLON_SIZE / 2, argb);
+                    }
+                    prevX = px;
+                    prevY = py;
                 }
-                prev = point;
-            }
-        });
-
-        stopWatch.stop();
-
-        double simplificationRate = 1;
-        if (drawnSegmentCount[0] != 0) {
-            simplificationRate = (double) drawnSegmentCount[0] / segmentCount[0];
+            });
         }
+    }
 
-        LOGGER.info("{} line segments (order={}, simplification={}) drawn in {} ms at zoom {}",
-                segmentCount[0], drawOrder, simplificationRate, stopWatch.getTime(), baseMap.zoom().getValue());
+    @Override
+    protected boolean isIncrementalRedrawEnabled() {
+        // a full redraw is needed if the drawing mode changed, and to complete draw orders cancelled by a view change
+        return config.isIncrementalRedraw().get()
+                && config.isTileRendering().get() == canvasTileRendering
+                && config.isShowPylons().get() == canvasShowPylons
+                && remainingOrderCount == 0;
     }
 
     @Override
-    protected void layoutLayer() {
-        super.layoutLayer();
+    protected double getDrawMargin() {
+        return PYLON_SIZE;
+    }
 
+    @Override
+    protected void draw(GraphicsContext gc, Rectangle bounds, boolean fullRedraw) {
         double zoom = baseMap.zoom().getValue();
         boolean showPylons = config.isShowPylons().get();
+        canvasShowPylons = showPylons;
+        canvasTileRendering = config.isTileRendering().get();
 
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        gc.setLineWidth(zoom >= 9 ? 2 : 1);
-
-        Iterator<Map.Entry<Integer, BranchGraphicIndex>> it = branchesIndexes.entrySet().iterator();
-        if (it.hasNext()) {
-            Map.Entry<Integer, BranchGraphicIndex> e = it.next();
-            draw(gc, e.getKey(), e.getValue(), zoom, showPylons);
+        if (canvasTileRendering) {
+            if (showPylons != tileShowPylons) {
+                tileShowPylons = showPylons;
+                tileRenderer.invalidate();
+            }
+            if (fullRedraw) {
+                remainingOrderCount = 0;
+            }
+            tileRenderer.draw(gc, zoom, baseMap.getTranslateX(), baseMap.getTranslateY(),
+                              canvas.getWidth(), canvas.getHeight(), bounds);
+            return;
+        }
+        if (!fullRedraw) {
+            // strips are small, all orders are drawn at once
+            for (Map.Entry<Integer, BranchGraphicIndex> e : branchesIndexes.entrySet()) {
+                createDrawing(gc, e, bounds, zoom, showPylons, false).run(Long.MAX_VALUE);
+            }
+            return;
         }
 
-        while (it.hasNext()) {
-            Map.Entry<Integer, BranchGraphicIndex> e = it.next();
-            taskQueue.addTask(() -> draw(gc, e.getKey(), e.getValue(), zoom, showPylons));
+        // orders are time sliced in draw order, highest voltage first. So that the canvas is not left empty until next
+        // pulse, a first slice of the first order is drawn at once, within a pulse budget
+        remainingOrderCount = 0;
+        long firstSliceDeadline = System.nanoTime() + renderScheduler.getPulseBudget();
+        boolean first = true;
+        for (Map.Entry<Integer, BranchGraphicIndex> e : branchesIndexes.entrySet()) {
+            LineOrderDrawing drawing = createDrawing(gc, e, bounds, zoom, showPylons, true);
+            if (first) {
+                first = false;
+                if (drawing.run(firstSliceDeadline)) {
+                    continue;
+                }
+            }
+            remainingOrderCount++;
+            renderScheduler.submit(e.getKey(), deadline -> {
+                boolean done = drawing.run(deadline);
+                if (done) {
+                    remainingOrderCount--;
+                }
+                return done;
+            });
         }
     }
 }
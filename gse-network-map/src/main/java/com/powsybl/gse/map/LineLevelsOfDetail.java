@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.goebl.simplify.PointExtractor;
+import com.goebl.simplify.Simplify;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Pyramid of simplified line branches geometries, one level per zoom band, computed once at load time so that
+ * drawing lines at low zoom does not need any simplification.
+ * <p>
+ * A level is computed by simplifying each branch in Web Mercator pixel coordinates at the highest zoom of its band,
+ * so that the simplification error is less than {@link #TOLERANCE} pixel for all zooms of the band. Only indexes of
+ * kept pylons are stored, coordinates being read from the {@link LineGeometryStore}.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class LineLevelsOfDetail {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineLevelsOfDetail.class);
+
+    /**
+     * Highest zoom of each band, above the last one branches are drawn with full detail.
+     */
+    private static final double[] MAX_ZOOMS = {6, 8, 10};
+
+    private static final double TOLERANCE = 1;
+
+    /**
+     * Simplified branches at a zoom band.
+     */
+    public static final class Level {
+
+        private final double maxZoom;
+
+        private final int[] branchOffsets;
+
+        private final int[] pylonIndexes;
+
+        private Level(double maxZoom, int[] branchOffsets, int[] pylonIndexes) {
+            this.maxZoom = maxZoom;
+            this.branchOffsets = Objects.requireNonNull(branchOffsets);
+            this.pylonIndexes = Objects.requireNonNull(pylonIndexes);
+        }
+
+        public double getMaxZoom() {
+            return maxZoom;
+        }
+
+        /**
+         * Get number of kept pylons of branch {@code branch}.
+         */
+        public int getPylonCount(int branch) {
+            return branchOffsets[branch + 1] - branchOffsets[branch];
+        }
+
+        /**
+         * Get index, in the branch, of the {@code i}th kept pylon of branch {@code branch}.
+         */
+        public int getPylonIndex(int branch, int i) {
+            return pylonIndexes[branchOffsets[branch] + i];
+        }
+
+        public int getSegmentCount() {
+            return pylonIndexes.length - (branchOffsets.length - 1);
+        }
+    }
+
+    /**
+     * Pylon projected in pixel coordinates, with its index in the branch.
+     */
+    private static final class ProjectedPylon {
+
+        private final int index;
+
+        private final double x;
+
+        private final double y;
+
+        private ProjectedPylon(int index, double x, double y) {
+            this.index = index;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final PointExtractor<ProjectedPylon> POINT_EXTRACTOR = new PointExtractor<ProjectedPylon>() {
+        @Override
+        public double getX(ProjectedPylon pylon) {
+            return pylon.x;
+        }
+
+        @Override
+        public double getY(ProjectedPylon pylon) {
+            return pylon.y;
+        }
+    };
+
+    private final List<Level> levels;
+
+    private LineLevelsOfDetail(List<Level> levels) {
+        this.levels = Objects.requireNonNull(levels);
+    }
+
+    private static Level buildLevel(LineGeometryStore store, double maxZoom) {
+        Simplify<ProjectedPylon> simplify = new Simplify<>(new ProjectedPylon[0], POINT_EXTRACTOR);
+        int branchCount = store.getBranchCount();
+        int[] branchOffsets = new int[branchCount + 1];
+        int[] pylonIndexes = new int[store.getBranchPylons().length];
+        int size = 0;
+        for (int b = 0; b < branchCount; b++) {
+            int pylonCount = store.getBranchPylonCount(b);
+            if (pylonCount <= 2) {
+                for (int i = 0; i < pylonCount; i++) {
+                    pylonIndexes[size++] = i;
+                }
+            } else {
+                ProjectedPylon[] pylons = new ProjectedPylon[pylonCount];
+                for (int i = 0; i < pylonCount; i++) {
+                    int pylon = store.getBranchPylon(b, i);
+                    pylons[i] = new ProjectedPylon(i, TileGrid.projectX(store.getLon(pylon), maxZoom), TileGrid.projectY(store.getLat(pylon), maxZoom));
+                }
+                for (ProjectedPylon pylon : simplify.simplify(pylons, TOLERANCE, true)) {
+                    pylonIndexes[size++] = pylon.index;
+                }
+            }
+            branchOffsets[b + 1] = size;
+        }
+        return new Level(maxZoom, branchOffsets, Arrays.copyOf(pylonIndexes, size));
+    }
+
+    static LineLevelsOfDetail build(LineGeometryStore store) {
+        Objects.requireNonNull(store);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        List<Level> levels = IntStream.range(0, MAX_ZOOMS.length)
+                .parallel()
+                .mapToObj(i -> buildLevel(store, MAX_ZOOMS[i]))
+                .collect(Collectors.toList());
+
+        stopWatch.stop();
+        LOGGER.info("Line levels of detail computed in {} ms ({} segments, {})", stopWatch.getTime(),
+                store.getBranchPylons().length - store.getBranchCount(),
+                levels.stream().map(l -> l.getSegmentCount() + " at zoom " + l.getMaxZoom()).collect(Collectors.joining(", ")));
+
+        return new LineLevelsOfDetail(levels);
+    }
+
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Get level to use at a given zoom or null if branches have to be drawn with full detail.
+     */
+    public Level getLevel(double zoom) {
+        for (Level level : levels) {
+            if (zoom <= level.getMaxZoom()) {
+                return level;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.Entry;
+import com.github.davidmoten.rtree.geometry.Geometry;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drawing on a canvas of the branches of a draw order intersecting some bounds, resumable so that it can be time
+ * sliced by the render scheduler. Branches are searched, sorted and grouped at the first run, so that this work is
+ * also part of the time slices.
+ * <p>
+ * When batched, branches are grouped by style and each group is drawn with one path for segments and one path
+ * for pylons, per batch of {@link #BATCH_SIZE} branches, instead of one canvas command per segment and pylon.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class LineOrderDrawing implements RenderScheduler.RenderTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineOrderDrawing.class);
+
+    static final double PYLON_SIZE = 5;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    static final int BATCH_SIZE = 256;
+
+    /**
+     * Stroke and fill style of a branch, branches with the same style are drawn with a single path.
+     */
+    static final class LineStyle {
+
+        private final Color color;
+
+        private final double[] dashes;
+
+        LineStyle(Color color, double[] dashes) {
+            this.color = Objects.requireNonNull(color);
+            this.dashes = Objects.requireNonNull(dashes);
+        }
+
+        private void apply(GraphicsContext gc) {
+            gc.setStroke(color);
+            gc.setFill(color);
+            gc.setLineDashes(dashes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof LineStyle) {
+                LineStyle other = (LineStyle) obj;
+                return color.equals(other.color) && Arrays.equals(dashes, other.dashes);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(color, Arrays.hashCode(dashes));
+        }
+    }
+
+    private final GraphicsContext gc;
+
+    private final int drawOrder;
+
+    private final BranchGraphicIndex segmentIndex;
+
+    private final Rectangle bounds;
+
+    private final double zoom;
+
+    // position of the world origin in the canvas
+    private final double translateX;
+
+    private final double translateY;
+
+    private final LineLevelsOfDetail.Level level;
+
+    private final boolean showPylons;
+
+    private final boolean batched;
+
+    private final boolean centerFirst;
+
+    private final Function<BranchGraphic, LineStyle> styles;
+
+    // branches grouped by style if batched, else a single group, null until first run
+    private List<List<BranchGraphic>> groups;
+
+    private int group = 0;
+
+    private int next = 0;
+
+    private int segmentCount = 0;
+
+    private int drawnSegmentCount = 0;
+
+    private int pathCount = 0;
+
+    private long time = 0;
+
+    // projected pylons of current batch, reused from one batch to the next
+    private double[] xs = new double[16];
+
+    private double[] ys = new double[16];
+
+    /**
+     * @param level level of detail of the zoom, null to draw all the pylons
+     * @param showPylons true if pylons are drawn
+     * @param centerFirst true to draw branches at the center of the bounds first
+     */
+    LineOrderDrawing(GraphicsContext gc, int drawOrder, BranchGraphicIndex segmentIndex, Rectangle bounds, double zoom,
+                     double translateX, double translateY, LineLevelsOfDetail.Level level, boolean showPylons,
+                     boolean batched, boolean centerFirst, Function<BranchGraphic, LineStyle> styles) {
+        this.gc = Objects.requireNonNull(gc);
+        this.drawOrder = drawOrder;
+        this.segmentIndex = Objects.requireNonNull(segmentIndex);
+        this.bounds = Objects.requireNonNull(bounds);
+        this.zoom = zoom;
+        this.translateX = translateX;
+        this.translateY = translateY;
+        this.level = level;
+        this.showPylons = showPylons;
+        this.batched = batched;
+        this.centerFirst = centerFirst;
+        this.styles = Objects.requireNonNull(styles);
+    }
+
+    private void prepare() {
+        List<Entry<BranchGraphic, Geometry>> entries = new ArrayList<>();
+        segmentIndex.getTree().search(bounds).toBlocking().forEach(entries::add);
+        if (centerFirst) {
+            // branches at the center of the view, where the user looks, are drawn first
+            double centerX = (bounds.x1() + bounds.x2()) / 2;
+            double centerY = (bounds.y1() + bounds.y2()) / 2;
+            entries.sort(Comparator.comparingDouble(e -> {
+                Rectangle mbr = e.geometry().mbr();
+                double dx = (mbr.x1() + mbr.x2()) / 2 - centerX;
+                double dy = (mbr.y1() + mbr.y2()) / 2 - centerY;
+                return dx * dx + dy * dy;
+            }));
+        }
+        if (batched) {
+            Map<LineStyle, List<BranchGraphic>> branchesByStyle = new LinkedHashMap<>();
+            for (Entry<BranchGraphic, Geometry> e : entries) {
+                branchesByStyle.computeIfAbsent(styles.apply(e.value()), k -> new ArrayList<>()).add(e.value());
+            }
+            groups = new ArrayList<>(branchesByStyle.values());
+        } else {
+            groups = Collections.singletonList(entries.stream().map(Entry::value).collect(Collectors.toList()));
+        }
+    }
+
+    private int getDrawnPylonCount(BranchGraphic branch) {
+        // at low zoom, only draw pylons kept by the precomputed simplification
+        return level != null ? level.getPylonCount(branch.getIndex()) : branch.getPylonCount();
+    }
+
+    private int getDrawnPylonIndex(BranchGraphic branch, int k) {
+        return level != null ? level.getPylonIndex(branch.getIndex(), k) : k;
+    }
+
+    private double getX(BranchGraphic branch, int i) {
+        return TileGrid.projectX(branch.getLon(i), zoom) + translateX;
+    }
+
+    private double getY(BranchGraphic branch, int i) {
+        return TileGrid.projectY(branch.getLat(i), zoom) + translateY;
+    }
+
+    private void drawBranch(BranchGraphic branch) {
+        styles.apply(branch).apply(gc);
+
+        int pylonCount = getDrawnPylonCount(branch);
+
+        segmentCount += branch.getPylonCount() - 1;
+        drawnSegmentCount += pylonCount - 1;
+
+        double prevX = 0;
+        double prevY = 0;
+        for (int k = 0; k < pylonCount; k++) {
+            int i = getDrawnPylonIndex(branch, k);
+            double x = getX(branch, i);
+            double y = getY(branch, i);
+            if (k > 0) {
+                gc.strokeLine(prevX, prevY, x, y);
+                pathCount++;
+            }
+            // draw pylon
+            if (showPylons) {
+                gc.fillArc(x - PYLON_SIZE / 2, y - PYLON_SIZE / 2, PYLON_SIZE, PYLON_SIZE, 0, 360, ArcType.ROUND);
+                pathCount++;
+            }
+            prevX = x;
+            prevY = y;
+        }
+    }
+
+    private void drawBatch(List<BranchGraphic> batch) {
+        styles.apply(batch.get(0)).apply(gc);
+
+        int pointCount = 0;
+        gc.beginPath();
+        for (BranchGraphic branch : batch) {
+            int pylonCount = getDrawnPylonCount(branch);
+
+            segmentCount += branch.getPylonCount() - 1;
+            drawnSegmentCount += pylonCount - 1;
+
+            if (pointCount + pylonCount > xs.length) {
+                int length = Math.max(xs.length * 2, pointCount + pylonCount);
+                xs = Arrays.copyOf(xs, length);
+                ys = Arrays.copyOf(ys, length);
+            }
+            for (int k = 0; k < pylonCount; k++) {
+                int i = getDrawnPylonIndex(branch, k);
+                xs[pointCount] = getX(branch, i);
+                ys[pointCount] = getY(branch, i);
+                if (k == 0) {
+                    gc.moveTo(xs[pointCount], ys[pointCount]);
+                } else {
+                    gc.lineTo(xs[pointCount], ys[pointCount]);
+                }
+                pointCount++;
+            }
+        }
+        gc.stroke();
+        pathCount++;
+
+        if (showPylons) {
+            double radius = PYLON_SIZE / 2;
+            gc.beginPath();
+            for (int p = 0; p < pointCount; p++) {
+                gc.moveTo(xs[p] + radius, ys[p]);
+                gc.arc(xs[p], ys[p], radius, radius, 0, 360);
+            }
+            gc.fill();
+            pathCount++;
+        }
+    }
+
+    @Override
+    public boolean run(long deadline) {
+        LOGGER.trace("Drawing lines at order {}", drawOrder);
+
+        long start = System.nanoTime();
+        if (groups == null) {
+            prepare();
+            if (System.nanoTime() >= deadline && !groups.isEmpty()) {
+                time += System.nanoTime() - start;
+                return false;
+            }
+        }
+        gc.setLineWidth(zoom >= 9 ? 2 : 1);
+        int step = 0;
+        while (group < groups.size()) {
+            List<BranchGraphic> branches = groups.get(group);
+            if (batched) {
+                int end = Math.min(next + BATCH_SIZE, branches.size());
+                drawBatch(branches.subList(next, end));
+                next = end;
+            } else {
+                drawBranch(branches.get(next++));
+            }
+            if (next == branches.size()) {
+                group++;
+                next = 0;
+            }
+            step++;
+            if ((batched || step % DEADLINE_CHECK_INTERVAL == 0) && System.nanoTime() >= deadline
+                    && group < groups.size()) {
+                time += System.nanoTime() - start;
+                return false;
+            }
+        }
+        time += System.nanoTime() - start;
+
+        double simplificationRate = 1;
+        if (segmentCount != 0) {
+            simplificationRate = (double) drawnSegmentCount / segmentCount;
+        }
+
+        MapMetrics metrics = MapMetrics.getInstance();
+        metrics.timer("lines.order" + drawOrder).record(time);
+        metrics.counter("lines.segments").increment(segmentCount);
+        metrics.counter("lines.drawnSegments").increment(drawnSegmentCount);
+        metrics.gauge("lines.simplificationRate").set(simplificationRate);
+
+        LOGGER.info("{}/{} line segments (order={}, level={}, simplification={}) drawn in {} ms at zoom {} ({} {})",
+                drawnSegmentCount, segmentCount, drawOrder, level != null ? level.getMaxZoom() : "full",
+                simplificationRate, TimeUnit.NANOSECONDS.toMillis(time), zoom, pathCount,
+                batched ? "batched paths" : "shapes");
+        return true;
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.util.*;
+
+/**
+ * Columnar storage of line segments, as read from open data CSV or from binary cache.
+ * Segments of line {@code i} are stored from index {@code segmentOffsets[i]} (inclusive) to
+ * {@code segmentOffsets[i + 1]} (exclusive).
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class LineSegmentData {
+
+    static final class Builder {
+
+        private final Map<String, Integer> lineNums = new HashMap<>();
+
+        private final List<String> ids = new ArrayList<>();
+
+        private byte[] baseVoltages = new byte[1024];
+
+        private int[] segmentLineNums = new int[8192];
+
+        private double[] lon1s = new double[8192];
+
+        private double[] lat1s = new double[8192];
+
+        private double[] lon2s = new double[8192];
+
+        private double[] lat2s = new double[8192];
+
+        private int segmentCount = 0;
+
+        private int getLineNum(String lineId, byte baseVoltage) {
+            Integer lineNum = lineNums.get(lineId);
+            if (lineNum == null) {
+                lineNum = ids.size();
+                lineNums.put(lineId, lineNum);
+                ids.add(lineId);
+                if (lineNum == baseVoltages.length) {
+                    baseVoltages = Arrays.copyOf(baseVoltages, lineNum * 2);
+                }
+                baseVoltages[lineNum] = baseVoltage;
+            }
+            return lineNum;
+        }
+
+        private void ensureSegmentCapacity(int capacity) {
+            if (capacity > segmentLineNums.length) {
+                int newCapacity = Math.max(capacity, segmentLineNums.length * 2);
+                segmentLineNums = Arrays.copyOf(segmentLineNums, newCapacity);
+                lon1s = Arrays.copyOf(lon1s, newCapacity);
+                lat1s = Arrays.copyOf(lat1s, newCapacity);
+                lon2s = Arrays.copyOf(lon2s, newCapacity);
+                lat2s = Arrays.copyOf(lat2s, newCapacity);
+            }
+        }
+
+        Builder add(String lineId, RteOpenData.BaseVoltage baseVoltage, double lon1, double lat1, double lon2, double lat2) {
+            Objects.requireNonNull(lineId);
+            Objects.requireNonNull(baseVoltage);
+            int lineNum = getLineNum(lineId, (byte) baseVoltage.ordinal());
+            ensureSegmentCapacity(segmentCount + 1);
+            segmentLineNums[segmentCount] = lineNum;
+            lon1s[segmentCount] = lon1;
+            lat1s[segmentCount] = lat1;
+            lon2s[segmentCount] = lon2;
+            lat2s[segmentCount] = lat2;
+            segmentCount++;
+            return this;
+        }
+
+        /**
+         * Append segments of another builder, for instance one filled from another chunk of the same file. Line
+         * order of the other builder is kept for lines not yet known by this builder.
+         * <p>
+         * Lines are looked up once per line of the other builder and coordinate columns are copied in bulk.
+         */
+        Builder addAll(Builder other) {
+            Objects.requireNonNull(other);
+            int[] otherLineNums = new int[other.ids.size()];
+            for (int l = 0; l < otherLineNums.length; l++) {
+                otherLineNums[l] = getLineNum(other.ids.get(l), other.baseVoltages[l]);
+            }
+            ensureSegmentCapacity(segmentCount + other.segmentCount);
+            for (int s = 0; s < other.segmentCount; s++) {
+                segmentLineNums[segmentCount + s] = otherLineNums[other.segmentLineNums[s]];
+            }
+            System.arraycopy(other.lon1s, 0, lon1s, segmentCount, other.segmentCount);
+            System.arraycopy(other.lat1s, 0, lat1s, segmentCount, other.segmentCount);
+            System.arraycopy(other.lon2s, 0, lon2s, segmentCount, other.segmentCount);
+            System.arraycopy(other.lat2s, 0, lat2s, segmentCount, other.segmentCount);
+            segmentCount += other.segmentCount;
+            return this;
+        }
+
+        /**
+         * Push segments of this builder to a handler, in insertion order.
+         */
+        void push(GeoDataHandler handler) {
+            Objects.requireNonNull(handler);
+            for (int s = 0; s < segmentCount; s++) {
+                int lineNum = segmentLineNums[s];
+                handler.onLineSegment(ids.get(lineNum), RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[lineNum]),
+                                      lon1s[s], lat1s[s], lon2s[s], lat2s[s]);
+            }
+        }
+
+        LineSegmentData build() {
+            int lineCount = ids.size();
+
+            // stable counting sort of segments by line so that each line segments are contiguous
+            int[] segmentOffsets = new int[lineCount + 1];
+            for (int s = 0; s < segmentCount; s++) {
+                segmentOffsets[segmentLineNums[s] + 1]++;
+            }
+            for (int l = 0; l < lineCount; l++) {
+                segmentOffsets[l + 1] += segmentOffsets[l];
+            }
+            int[] next = Arrays.copyOf(segmentOffsets, lineCount);
+            double[] sortedLon1s = new double[segmentCount];
+            double[] sortedLat1s = new double[segmentCount];
+            double[] sortedLon2s = new double[segmentCount];
+            double[] sortedLat2s = new double[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                int i = next[segmentLineNums[s]]++;
+                sortedLon1s[i] = lon1s[s];
+                sortedLat1s[i] = lat1s[s];
+                sortedLon2s[i] = lon2s[s];
+                sortedLat2s[i] = lat2s[s];
+            }
+
+            return new LineSegmentData(ids.toArray(new String[lineCount]), Arrays.copyOf(baseVoltages, lineCount),
+                                       segmentOffsets, sortedLon1s, sortedLat1s, sortedLon2s, sortedLat2s);
+        }
+    }
+
+    private final String[] ids;
+
+    private final byte[] baseVoltages;
+
+    private final int[] segmentOffsets;
+
+    private final double[] lon1s;
+
+    private final double[] lat1s;
+
+    private final double[] lon2s;
+
+    private final double[] lat2s;
+
+    LineSegmentData(String[] ids, byte[] baseVoltages, int[] segmentOffsets,
+                    double[] lon1s, double[] lat1s, double[] lon2s, double[] lat2s) {
+        this.ids = Objects.requireNonNull(ids);
+        this.baseVoltages = Objects.requireNonNull(baseVoltages);
+        this.segmentOffsets = Objects.requireNonNull(segmentOffsets);
+        this.lon1s = Objects.requireNonNull(lon1s);
+        this.lat1s = Objects.requireNonNull(lat1s);
+        this.lon2s = Objects.requireNonNull(lon2s);
+        this.lat2s = Objects.requireNonNull(lat2s);
+        if (baseVoltages.length != ids.length || segmentOffsets.length != ids.length + 1) {
+            throw new IllegalArgumentException("Inconsistent line columns size");
+        }
+        int segmentCount = segmentOffsets[ids.length];
+        if (lon1s.length != segmentCount || lat1s.length != segmentCount
+                || lon2s.length != segmentCount || lat2s.length != segmentCount) {
+            throw new IllegalArgumentException("Inconsistent segment columns size");
+        }
+    }
+
+    int getLineCount() {
+        return ids.length;
+    }
+
+    int getSegmentCount() {
+        return segmentOffsets[ids.length];
+    }
+
+    String[] getIds() {
+        return ids;
+    }
+
+    byte[] getBaseVoltages() {
+        return baseVoltages;
+    }
+
+    int[] getSegmentOffsets() {
+        return segmentOffsets;
+    }
+
+    double[] getLon1s() {
+        return lon1s;
+    }
+
+    double[] getLat1s() {
+        return lat1s;
+    }
+
+    double[] getLon2s() {
+        return lon2s;
+    }
+
+    double[] getLat2s() {
+        return lat2s;
+    }
+
+    /**
+     * Split lines by draw order of their base voltage, keeping the line order.
+     */
+    SortedMap<Integer, LineSegmentData> splitByDrawOrder() {
+        SortedMap<Integer, List<Integer>> linesByDrawOrder = new TreeMap<>();
+        for (int l = 0; l < ids.length; l++) {
+            linesByDrawOrder.computeIfAbsent(RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[l]).getOrder(), k -> new ArrayList<>())
+                    .add(l);
+        }
+        SortedMap<Integer, LineSegmentData> split = new TreeMap<>();
+        for (Map.Entry<Integer, List<Integer>> e : linesByDrawOrder.entrySet()) {
+            List<Integer> lines = e.getValue();
+            String[] splitIds = new String[lines.size()];
+            byte[] splitBaseVoltages = new byte[lines.size()];
+            int[] splitSegmentOffsets = new int[lines.size() + 1];
+            for (int i = 0; i < lines.size(); i++) {
+                int l = lines.get(i);
+                splitIds[i] = ids[l];
+                splitBaseVoltages[i] = baseVoltages[l];
+                splitSegmentOffsets[i + 1] = splitSegmentOffsets[i] + segmentOffsets[l + 1] - segmentOffsets[l];
+            }
+            int segmentCount = splitSegmentOffsets[lines.size()];
+            double[] splitLon1s = new double[segmentCount];
+            double[] splitLat1s = new double[segmentCount];
+            double[] splitLon2s = new double[segmentCount];
+            double[] splitLat2s = new double[segmentCount];
+            for (int i = 0; i < lines.size(); i++) {
+                int l = lines.get(i);
+                int length = segmentOffsets[l + 1] - segmentOffsets[l];
+                System.arraycopy(lon1s, segmentOffsets[l], splitLon1s, splitSegmentOffsets[i], length);
+                System.arraycopy(lat1s, segmentOffsets[l], splitLat1s, splitSegmentOffsets[i], length);
+                System.arraycopy(lon2s, segmentOffsets[l], splitLon2s, splitSegmentOffsets[i], length);
+                System.arraycopy(lat2s, segmentOffsets[l], splitLat2s, splitSegmentOffsets[i], length);
+            }
+            split.put(e.getKey(), new LineSegmentData(splitIds, splitBaseVoltages, splitSegmentOffsets,
+                                                      splitLon1s, splitLat1s, splitLon2s, splitLat2s));
+        }
+        return split;
+    }
+
+    Map<String, LineGraphic> toGraphics() {
+        Map<String, LineGraphic> lines = new HashMap<>(ids.length * 4 / 3 + 1);
+        for (int l = 0; l < ids.length; l++) {
+            RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[l]);
+            LineGraphic line = new LineGraphic(ids[l], baseVoltage.getOrder(), baseVoltage.getColor());
+            for (int s = segmentOffsets[l]; s < segmentOffsets[l + 1]; s++) {
+                line.getSegments().add(new SegmentGraphic(new Coordinate(lon1s[s], lat1s[s]), new Coordinate(lon2s[s], lat2s[s]), line));
+            }
+            lines.put(ids[l], line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the rendering and loading metrics of the map: timers, with a histogram of their durations, counters
+ * and gauges, identified by a dot separated name.
+ * <p>
+ * Metrics are shared by all the map viewers, like the geographical model, and can be updated from any thread. They
+ * can be displayed on the map and exported as JSON.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class MapMetrics {
+
+    private static final MapMetrics INSTANCE = new MapMetrics();
+
+    /**
+     * Upper bounds, in ms, of the timer histogram buckets, a last bucket counting longer durations.
+     */
+    static final long[] HISTOGRAM_BOUNDS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    public static MapMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static final class Timer {
+
+        private long count = 0;
+
+        private long totalTime = 0;
+
+        private long maxTime = 0;
+
+        private long lastTime = 0;
+
+        private final long[] histogram = new long[HISTOGRAM_BOUNDS.length + 1];
+
+        private Timer() {
+        }
+
+        public synchronized void record(long nanos) {
+            count++;
+            totalTime += nanos;
+            maxTime = Math.max(maxTime, nanos);
+            lastTime = nanos;
+            int bucket = 0;
+            while (bucket < HISTOGRAM_BOUNDS.length && nanos > TimeUnit.MILLISECONDS.toNanos(HISTOGRAM_BOUNDS[bucket])) {
+                bucket++;
+            }
+            histogram[bucket]++;
+        }
+
+        /**
+         * Record time elapsed since {@code start}, a {@link System#nanoTime()} value.
+         */
+        public void recordSince(long start) {
+            record(System.nanoTime() - start);
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized double getTotalTime() {
+            return toMillis(totalTime);
+        }
+
+        public synchronized double getMeanTime() {
+            return count > 0 ? toMillis(totalTime) / count : 0;
+        }
+
+        public synchronized double getMaxTime() {
+            return toMillis(maxTime);
+        }
+
+        public synchronized double getLastTime() {
+            return toMillis(lastTime);
+        }
+
+        /**
+         * Get number of durations of each bucket, see {@link #HISTOGRAM_BOUNDS}.
+         */
+        public synchronized long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d, mean %.1f ms, max %.1f ms, last %.1f ms", count, getMeanTime(), getMaxTime(), getLastTime());
+        }
+    }
+
+    public static final class Counter {
+
+        private final LongAdder value = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment(long n) {
+            value.add(n);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        public String toString() {
+            return Long.toString(get());
+        }
+    }
+
+    public static final class Gauge {
+
+        private volatile double value = 0;
+
+        private Gauge() {
+        }
+
+        public void set(double value) {
+            this.value = value;
+        }
+
+        public double get() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f", value);
+        }
+    }
+
+    // sorted by name, so that metrics of a same component are displayed and exported together
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    MapMetrics() {
+    }
+
+    public Timer timer(String name) {
+        Objects.requireNonNull(name);
+        return timers.computeIfAbsent(name, k -> new Timer());
+    }
+
+    public Counter counter(String name) {
+        Objects.requireNonNull(name);
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public Gauge gauge(String name) {
+        Objects.requireNonNull(name);
+        return gauges.computeIfAbsent(name, k -> new Gauge());
+    }
+
+    public void reset() {
+        timers.clear();
+        counters.clear();
+        gauges.clear();
+    }
+
+    /**
+     * Get a one line per metric text, as displayed on the map.
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        timers.forEach((name, timer) -> builder.append(name).append(": ").append(timer).append(System.lineSeparator()));
+        counters.forEach((name, counter) -> builder.append(name).append(": ").append(counter).append(System.lineSeparator()));
+        gauges.forEach((name, gauge) -> builder.append(name).append(": ").append(gauge).append(System.lineSeparator()));
+        return builder.toString();
+    }
+
+    private static void writeTimer(JsonGenerator generator, Timer timer) throws IOException {
+        long count;
+        double totalTime;
+        double meanTime;
+        double maxTime;
+        double lastTime;
+        long[] histogram;
+        synchronized (timer) {
+            count = timer.getCount();
+            totalTime = timer.getTotalTime();
+            meanTime = timer.getMeanTime();
+            maxTime = timer.getMaxTime();
+            lastTime = timer.getLastTime();
+            histogram = timer.getHistogram();
+        }
+        generator.writeStartObject();
+        generator.writeNumberField("count", count);
+        generator.writeNumberField("totalMs", totalTime);
+        generator.writeNumberField("meanMs", meanTime);
+        generator.writeNumberField("maxMs", maxTime);
+        generator.writeNumberField("lastMs", lastTime);
+        generator.writeObjectFieldStart("histogram");
+        for (int i = 0; i < HISTOGRAM_BOUNDS.length; i++) {
+            generator.writeNumberField("le" + HISTOGRAM_BOUNDS[i] + "ms", histogram[i]);
+        }
+        generator.writeNumberField("gt" + HISTOGRAM_BOUNDS[HISTOGRAM_BOUNDS.length - 1] + "ms", histogram[HISTOGRAM_BOUNDS.length]);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    public void writeJson(Writer writer) {
+        Objects.requireNonNull(writer);
+        try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("timers");
+            for (Map.Entry<String, Timer> e : timers.entrySet()) {
+                generator.writeFieldName(e.getKey());
+                writeTimer(generator, e.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("counters");
+            for (Map.Entry<String, Counter> e : counters.entrySet()) {
+                generator.writeNumberField(e.getKey(), e.getValue().get());
+            }
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("gauges");
+            for (Map.Entry<String, Gauge> e : gauges.entrySet()) {
+                generator.writeNumberField(e.getKey(), e.getValue().get());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void exportJson(Path file) {
+        Objects.requireNonNull(file);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeJson(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.Entry;
+import com.github.davidmoten.rtree.geometry.Geometries;
+import com.github.davidmoten.rtree.geometry.Geometry;
+import com.github.davidmoten.rtree.geometry.Point;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * Find the substation or the line branch drawn at a map position, within a tolerance in pixels.
+ * <p>
+ * At zooms substations are clustered at, individual substations are hidden and cluster markers are picked instead.
+ * <p>
+ * Candidates are found with a nearest neighbour search of the R-trees, by distance to their bounding box, and are
+ * refined by their exact distance in pixels at the map zoom. As a bounding box is never farther than the object it
+ * contains, refinement stops at the first candidate whose bounding box is farther than the best object found.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class MapPicker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapPicker.class);
+
+    public static final double DEFAULT_TOLERANCE = 5;
+
+    private static final int MAX_CANDIDATE_COUNT = 256;
+
+    private final SortedMap<Integer, BranchGraphicIndex> branchesIndexes;
+
+    private final SubstationGraphicIndex substationIndex;
+
+    private final SubstationClusters substationClusters;
+
+    public MapPicker(SortedMap<Integer, BranchGraphicIndex> branchesIndexes, SubstationGraphicIndex substationIndex,
+                     SubstationClusters substationClusters) {
+        this.branchesIndexes = Objects.requireNonNull(branchesIndexes);
+        this.substationIndex = Objects.requireNonNull(substationIndex);
+        this.substationClusters = Objects.requireNonNull(substationClusters);
+    }
+
+    /**
+     * Get the number of degrees of a pixel at a given zoom. Mercator projection stretching latitudes, it is an upper
+     * bound for both axes.
+     */
+    private static double getDegreesPerPixel(double zoom) {
+        return 360 / TileGrid.getWorldSize(zoom);
+    }
+
+    /**
+     * Distance from point (px, py) to segment (x1, y1) (x2, y2).
+     */
+    static double getDistance(double px, double py, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double length2 = dx * dx + dy * dy;
+        double t = length2 > 0 ? Math.max(0, Math.min(1, ((px - x1) * dx + (py - y1) * dy) / length2)) : 0;
+        double ex = x1 + t * dx - px;
+        double ey = y1 + t * dy - py;
+        return Math.sqrt(ex * ex + ey * ey);
+    }
+
+    private static double getDistance(BranchGraphic branch, double px, double py, double zoom) {
+        double distance = Double.MAX_VALUE;
+        double prevX = TileGrid.projectX(branch.getLon(0), zoom);
+        double prevY = TileGrid.projectY(branch.getLat(0), zoom);
+        if (branch.getPylonCount() == 1) {
+            return getDistance(px, py, prevX, prevY, prevX, prevY);
+        }
+        for (int i = 1; i < branch.getPylonCount(); i++) {
+            double x = TileGrid.projectX(branch.getLon(i), zoom);
+            double y = TileGrid.projectY(branch.getLat(i), zoom);
+            distance = Math.min(distance, getDistance(px, py, prevX, prevY, x, y));
+            prevX = x;
+            prevY = y;
+        }
+        return distance;
+    }
+
+    public Optional<SubstationGraphic> pickSubstation(Coordinate c, double zoom, double tolerance) {
+        Objects.requireNonNull(c);
+        double radius = SubstationLayer.getSize(zoom) / 2;
+        double px = TileGrid.projectX(c.getLon(), zoom);
+        double py = TileGrid.projectY(c.getLat(), zoom);
+        Point point = Geometries.pointGeographic(c.getLon(), c.getLat());
+        SubstationGraphic picked = null;
+        double pickedDistance = tolerance;
+        for (Entry<SubstationGraphic, Geometry> e : substationIndex.getTree()
+                .nearest(point, (tolerance + radius) * getDegreesPerPixel(zoom), MAX_CANDIDATE_COUNT)
+                .toBlocking().toIterable()) {
+            SubstationGraphic substation = e.value();
+            double dx = TileGrid.projectX(substation.getPosition().getLon(), zoom) - px;
+            double dy = TileGrid.projectY(substation.getPosition().getLat(), zoom) - py;
+            double distance = Math.max(0, Math.sqrt(dx * dx + dy * dy) - radius);
+            if (distance <= pickedDistance) {
+                picked = substation;
+                pickedDistance = distance;
+            }
+        }
+        return Optional.ofNullable(picked);
+    }
+
+    /**
+     * Pick a cluster marker, or nothing if substations are not clustered at this zoom.
+     */
+    public Optional<SubstationClusters.Cluster> pickCluster(Coordinate c, double zoom, double tolerance) {
+        Objects.requireNonNull(c);
+        SubstationClusters.Level level = substationClusters.getLevel(zoom);
+        if (level == null) {
+            return Optional.empty();
+        }
+        double px = TileGrid.projectX(c.getLon(), zoom);
+        double py = TileGrid.projectY(c.getLat(), zoom);
+        double margin = tolerance + SubstationLayer.getClusterSize(zoom, level.getMaxCount()) / 2;
+        Rectangle bounds = Geometries.rectangleGeographic(TileGrid.unprojectLon(px - margin, zoom),
+                                                          TileGrid.unprojectLat(py + margin, zoom),
+                                                          TileGrid.unprojectLon(px + margin, zoom),
+                                                          TileGrid.unprojectLat(py - margin, zoom));
+        SubstationClusters.Cluster[] picked = new SubstationClusters.Cluster[1];
+        double[] pickedDistance = {tolerance};
+        level.search(bounds, cluster -> {
+            double dx = TileGrid.projectX(cluster.getLon(), zoom) - px;
+            double dy = TileGrid.projectY(cluster.getLat(), zoom) - py;
+            double radius = SubstationLayer.getClusterSize(zoom, cluster.getCount()) / 2;
+            double distance = Math.max(0, Math.sqrt(dx * dx + dy * dy) - radius);
+            if (distance <= pickedDistance[0]) {
+                picked[0] = cluster;
+                pickedDistance[0] = distance;
+            }
+        });
+        return Optional.ofNullable(picked[0]);
+    }
+
+    public Optional<BranchGraphic> pickBranch(Coordinate c, double zoom, double tolerance) {
+        Objects.requireNonNull(c);
+        double degreesPerPixel = getDegreesPerPixel(zoom);
+        double px = TileGrid.projectX(c.getLon(), zoom);
+        double py = TileGrid.projectY(c.getLat(), zoom);
+        Point point = Geometries.pointGeographic(c.getLon(), c.getLat());
+        BranchGraphic picked = null;
+        double pickedDistance = tolerance;
+        for (BranchGraphicIndex index : branchesIndexes.values()) {
+            // candidates are sorted by bounding box distance
+            for (Entry<BranchGraphic, Geometry> e : index.getTree()
+                    .nearest(point, tolerance * degreesPerPixel, MAX_CANDIDATE_COUNT)
+                    .toBlocking().toIterable()) {
+                if (e.geometry().distance(point) / degreesPerPixel > pickedDistance) {
+                    break;
+                }
+                double distance = getDistance(e.value(), px, py, zoom);
+                if (distance <= pickedDistance) {
+                    picked = e.value();
+                    pickedDistance = distance;
+                }
+            }
+        }
+        return Optional.ofNullable(picked);
+    }
+
+    /**
+     * Pick a substation, or if there is none, a line. When {@code clustering} is true and substations are clustered
+     * at this zoom, hidden substations are not picked, only lines.
+     */
+    public Optional<MapSelection> pick(Coordinate c, double zoom, double tolerance, boolean clustering) {
+        long start = System.nanoTime();
+        Optional<MapSelection> selection = Optional.empty();
+        if (!clustering || substationClusters.getLevel(zoom) == null) {
+            selection = pickSubstation(c, zoom, tolerance).map(MapSelection::of);
+        }
+        if (!selection.isPresent()) {
+            selection = pickBranch(c, zoom, tolerance).map(branch -> MapSelection.of(branch.getLine()));
+        }
+        LOGGER.trace("Picked {} in {} us", selection.orElse(null), (System.nanoTime() - start) / 1000);
+        return selection;
+    }
+
+    public Optional<MapSelection> pick(Coordinate c, double zoom, boolean clustering) {
+        return pick(c, zoom, DEFAULT_TOLERANCE, clustering);
+    }
+}
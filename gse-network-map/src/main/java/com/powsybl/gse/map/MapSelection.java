@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.util.Objects;
+
+/**
+ * Substation or line picked on the map. Two selections are equal if they designate the same object.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class MapSelection {
+
+    public enum Type {
+        SUBSTATION,
+        LINE
+    }
+
+    private final Type type;
+
+    private final String id;
+
+    // picked graphic object, a SubstationGraphic or a LineGraphic
+    private final Object graphic;
+
+    private MapSelection(Type type, String id, Object graphic) {
+        this.type = Objects.requireNonNull(type);
+        this.id = Objects.requireNonNull(id);
+        this.graphic = Objects.requireNonNull(graphic);
+    }
+
+    static MapSelection of(SubstationGraphic substation) {
+        return new MapSelection(Type.SUBSTATION, substation.getId(), substation);
+    }
+
+    static MapSelection of(LineGraphic line) {
+        return new MapSelection(Type.LINE, line.getId(), line);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    Object getGraphic() {
+        return graphic;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof MapSelection) {
+            MapSelection other = (MapSelection) obj;
+            return type == other.type && id.equals(other.id);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + id;
+    }
+}
@@ -12,25 +12,41 @@ import com.powsybl.gse.spi.GseContext;
 import com.powsybl.gse.spi.ProjectFileViewer;
 import com.powsybl.gse.util.Glyph;
 import com.powsybl.gse.util.GseUtil;
+import com.powsybl.iidm.network.CurrentLimits;
+import com.powsybl.iidm.network.Identifiable;
 import com.powsybl.iidm.network.Line;
 import com.powsybl.iidm.network.Network;
-import com.powsybl.iidm.network.Substation;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ToolBar;
 import javafx.scene.input.ZoomEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -41,6 +57,8 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
 
     private static final ResourceBundle RESOURCE_BUNDLE = ResourceBundle.getBundle("lang.NetworkMap");
 
+    private static final Duration METRICS_REFRESH_PERIOD = Duration.millis(500);
+
     /**
      * Hack to fix layer refreshing issue
      */
@@ -48,7 +66,7 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
         @Override
         public void markDirty() {
             super.markDirty();
-            taskQueue.reset();
+            renderScheduler.cancel();
         }
     }
 
@@ -64,26 +82,64 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
 
     private final CheckBox showPylons = new CheckBox(RESOURCE_BUNDLE.getString("ShowPylons"));
 
+    private final CheckBox showLoadings = new CheckBox(RESOURCE_BUNDLE.getString("ShowLoadings"));
+
+    private final CheckBox showMetrics = new CheckBox(RESOURCE_BUNDLE.getString("ShowMetrics"));
+
+    private final Button exportMetricsButton;
+
+    private final Label metricsLabel = new Label();
+
+    private final Timeline metricsRefresh;
+
     private final MapView2 view;
 
     private final BorderPane mainPane;
 
     private final ProgressIndicator progressIndicator = new ProgressIndicator();
 
-    private final CancellableGraphicTaskQueue taskQueue;
+    private final RenderScheduler renderScheduler = new RenderScheduler();
+
+    private final ObjectProperty<MapSelection> selection = new SimpleObjectProperty<>();
+
+    private ResultOverlayLayer resultOverlayLayer;
+
+    // line values waiting for the overlay layer to be created
+    private Map<String, Double> lineValues;
+
+    private ColorRamp lineValuesRamp;
 
     private final NetworkMapConfig config = new NetworkMapConfig();
 
+    private final GeoModelService geoModelService;
+
+    private boolean geoModelAcquired = false;
+
     public NetworkMap(ProjectCase projectCase, GseContext context) {
+        this(projectCase, context, GeoModelService.getInstance());
+    }
+
+    NetworkMap(ProjectCase projectCase, GseContext context, GeoModelService geoModelService) {
         this.projectCase = Objects.requireNonNull(projectCase);
         this.context = Objects.requireNonNull(context);
-        taskQueue = new CancellableGraphicTaskQueue(context.getExecutor());
+        this.geoModelService = Objects.requireNonNull(geoModelService);
 
         view = new MapView2();
         mainPane = new BorderPane();
-        getChildren().addAll(mainPane, new Group(progressIndicator));
+        getChildren().addAll(mainPane, new Group(progressIndicator), metricsLabel);
         mainPane.setCenter(view);
 
+        // metrics are displayed over the top left corner of the map, under the toolbar
+        metricsLabel.setMouseTransparent(true);
+        metricsLabel.setStyle("-fx-background-color: rgba(255, 255, 255, 0.8); -fx-font-family: monospace; -fx-font-size: 0.9em");
+        metricsLabel.setPadding(new Insets(5));
+        metricsLabel.setVisible(false);
+        StackPane.setAlignment(metricsLabel, Pos.TOP_LEFT);
+        StackPane.setMargin(metricsLabel, new Insets(50, 0, 0, 10));
+        metricsRefresh = new Timeline(new KeyFrame(METRICS_REFRESH_PERIOD,
+            event -> metricsLabel.setText(MapMetrics.getInstance().format())));
+        metricsRefresh.setCycleCount(Animation.INDEFINITE);
+
         zoomInButton = new Button("", Glyph.createAwesomeFont('\uf00e').size("1.2em"));
         zoomInButton.getStyleClass().add("gse-toolbar-button");
         zoomInButton.setOnAction(event -> fireZoomEvent(2));
@@ -92,11 +148,51 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
         zoomOutButton.getStyleClass().add("gse-toolbar-button");
         zoomOutButton.setOnAction(event -> fireZoomEvent(0));
 
-        toolBar = new ToolBar(zoomInButton, zoomOutButton, showPylons);
+        exportMetricsButton = new Button(RESOURCE_BUNDLE.getString("ExportMetrics"));
+        exportMetricsButton.setOnAction(event -> exportMetrics());
+
+        toolBar = new ToolBar(zoomInButton, zoomOutButton, showPylons, showLoadings, showMetrics, exportMetricsButton);
         mainPane.setTop(toolBar);
 
         showPylons.selectedProperty().bindBidirectional(config.isShowPylons());
         showPylons.selectedProperty().addListener((observable, oldValue, newValue) -> view.markDirty());
+        config.isTileRendering().addListener((observable, oldValue, newValue) -> view.markDirty());
+        config.isBatchedLineDrawing().addListener((observable, oldValue, newValue) -> view.markDirty());
+        config.isSubstationClustering().addListener((observable, oldValue, newValue) -> view.markDirty());
+        showLoadings.selectedProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue) {
+                showLineLoadings();
+            } else {
+                clearLineValues();
+            }
+        });
+        showMetrics.selectedProperty().bindBidirectional(config.isShowMetrics());
+        showMetrics.selectedProperty().addListener((observable, oldValue, newValue) -> showMetrics(newValue));
+    }
+
+    private void showMetrics(boolean show) {
+        metricsLabel.setVisible(show);
+        if (show) {
+            metricsLabel.setText(MapMetrics.getInstance().format());
+            metricsRefresh.play();
+        } else {
+            metricsRefresh.stop();
+        }
+    }
+
+    private void exportMetrics() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(RESOURCE_BUNDLE.getString("ExportMetrics"));
+        fileChooser.setInitialFileName("map-metrics.json");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+        File file = fileChooser.showSaveDialog(getScene().getWindow());
+        if (file != null) {
+            try {
+                MapMetrics.getInstance().exportJson(file.toPath());
+            } catch (UncheckedIOException e) {
+                GseUtil.showDialogError(e);
+            }
+        }
     }
 
     private void fireZoomEvent(double zoom) {
@@ -115,38 +211,159 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
         view.markDirty();
     }
 
+    /**
+     * Substation or line selected on the map, null if there is none.
+     */
+    public ObjectProperty<MapSelection> selectionProperty() {
+        return selection;
+    }
+
+    /**
+     * Color lines according to a value, for instance a loading or a security analysis result, indexed by network
+     * line id. When called again, only lines whose color changed are redrawn.
+     */
+    public void showLineValues(Map<String, Double> values, ColorRamp ramp) {
+        lineValues = Objects.requireNonNull(values);
+        lineValuesRamp = Objects.requireNonNull(ramp);
+        if (resultOverlayLayer != null) {
+            resultOverlayLayer.setValues(values, ramp);
+        }
+    }
+
+    public void clearLineValues() {
+        lineValues = null;
+        lineValuesRamp = null;
+        if (resultOverlayLayer != null) {
+            resultOverlayLayer.clear();
+        }
+    }
+
+    /**
+     * Get loading of the lines of a network, from the current of their terminals and their permanent limits, in
+     * percent.
+     */
+    static Map<String, Double> computeLineLoadings(Network network) {
+        Map<String, Double> loadings = new HashMap<>();
+        for (Line line : network.getLines()) {
+            double loading = Math.max(getLoading(line.getTerminal1().getI(), line.getCurrentLimits1()),
+                                      getLoading(line.getTerminal2().getI(), line.getCurrentLimits2()));
+            if (!Double.isNaN(loading)) {
+                loadings.put(line.getId(), loading);
+            }
+        }
+        return loadings;
+    }
+
+    private static double getLoading(double i, CurrentLimits limits) {
+        if (limits == null || Double.isNaN(i) || Double.isNaN(limits.getPermanentLimit()) || limits.getPermanentLimit() <= 0) {
+            return Double.NaN;
+        }
+        return Math.abs(i) / limits.getPermanentLimit() * 100;
+    }
+
+    private void showLineLoadings() {
+        CompletableFuture.supplyAsync(() -> computeLineLoadings(projectCase.getNetwork()), context.getExecutor())
+                .thenAccept(loadings -> Platform.runLater(() -> {
+                    if (showLoadings.isSelected()) {
+                        showLineValues(loadings, ColorRamp.LOADING);
+                    }
+                }))
+                .exceptionally(t -> {
+                    Platform.runLater(() -> GseUtil.showDialogError(t));
+                    return null;
+                });
+    }
+
     @Override
     public Node getContent() {
         return this;
     }
 
-    private void mapModelToGraphic(Map<String, SubstationGraphic> substations, Map<String, LineGraphic> lines) {
-        int mappedSubstations = 0;
-        Network network = projectCase.getNetwork();
-        for (Substation substation : network.getSubstations()) {
-            SubstationGraphic graphic = substations.get(substation.getId());
-            if (graphic == null && !substation.getId().equals(substation.getName())) {
-                graphic = substations.get(substation.getName());
+    /**
+     * Match network equipments to graphic objects, first by id and name, then by normalized id and name, then
+     * through aliases, and finally, if enabled, with a fuzzy matching restricted to graphic objects not matched yet.
+     *
+     * @return number of equipments matched by exact, normalized, alias and fuzzy matching
+     */
+    private static <E extends Identifiable<E>, T> int[] match(Iterable<E> equipments, GraphicNameIndex<T> index,
+                                                              boolean fuzzyMatching, BiConsumer<T, E> mapper) {
+        int[] counts = new int[4];
+        Set<T> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<E> unmatched = new ArrayList<>();
+        for (E equipment : equipments) {
+            T graphic;
+            int kind;
+            if ((graphic = index.findExact(equipment.getId())) != null || (graphic = index.findExact(equipment.getName())) != null) {
+                kind = 0;
+            } else if ((graphic = index.findNormalized(equipment.getId())) != null || (graphic = index.findNormalized(equipment.getName())) != null) {
+                kind = 1;
+            } else if ((graphic = index.findAlias(equipment.getId())) != null || (graphic = index.findAlias(equipment.getName())) != null) {
+                kind = 2;
+            } else {
+                unmatched.add(equipment);
+                continue;
             }
-            if (graphic != null) {
-                graphic.setModel(substation);
-                mappedSubstations++;
+            mapper.accept(graphic, equipment);
+            matched.add(graphic);
+            counts[kind]++;
+        }
+        if (fuzzyMatching) {
+            for (E equipment : unmatched) {
+                T graphic = index.findFuzzy(equipment.getName(), g -> !matched.contains(g));
+                if (graphic != null) {
+                    mapper.accept(graphic, equipment);
+                    matched.add(graphic);
+                    counts[3]++;
+                }
             }
         }
-        LOGGER.info("{}/{} substations mapped to graphic object", mappedSubstations, network.getSubstationCount());
+        return counts;
+    }
 
-        int mappedLines = 0;
-        for (Line line : network.getLines()) {
-            LineGraphic graphic = lines.get(line.getId());
-            if (graphic == null && !line.getId().equals(line.getName())) {
-                graphic = lines.get(line.getName());
-            }
-            if (graphic != null) {
-                graphic.setModel(line);
-                mappedLines++;
+    private static void logMapping(String type, int[] counts, int count, long time) {
+        int mapped = counts[0] + counts[1] + counts[2] + counts[3];
+        LOGGER.info("{}/{} {} mapped to graphic object in {} ms (rate {}%, {} exact, {} normalized, {} alias, {} fuzzy)",
+                mapped, count, type, time, count > 0 ? Math.round(100.0 * mapped / count) : 100,
+                counts[0], counts[1], counts[2], counts[3]);
+    }
+
+    private GraphicModelMapping mapModelToGraphic(GeoModel geoModel) {
+        GraphicModelMapping mapping = new GraphicModelMapping();
+        Network network = projectCase.getNetwork();
+        boolean fuzzyMatching = config.isFuzzyMatching().get();
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        int[] substationCounts = match(network.getSubstations(), geoModel.getSubstationNameIndex(), fuzzyMatching, mapping::map);
+        logMapping("substations", substationCounts, network.getSubstationCount(), stopWatch.getTime());
+
+        stopWatch.reset();
+        stopWatch.start();
+        int[] lineCounts = match(network.getLines(), geoModel.getLineNameIndex(), fuzzyMatching, mapping::map);
+        logMapping("lines", lineCounts, network.getLineCount(), stopWatch.getTime());
+
+        return mapping;
+    }
+
+    /**
+     * Map is interactive as soon as the highest voltage is indexed, so draw lower voltages once indexed.
+     */
+    private void drawBranchesWhenIndexed(GeoModel geoModel, LineLayer lineLayer) {
+        for (CompletableFuture<BranchGraphicIndex> future : geoModel.getBranchesIndexFutures().values()) {
+            if (!future.isDone()) {
+                future.thenRun(() -> Platform.runLater(() -> {
+                    if (geoModelAcquired) {
+                        lineLayer.branchesIndexAdded();
+                        resultOverlayLayer.branchesAdded();
+                    }
+                }))
+                .exceptionally(t -> {
+                    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    Platform.runLater(() -> GseUtil.showDialogError(cause));
+                    return null;
+                });
             }
         }
-        LOGGER.info("{}/{} lines mapped to graphic object", mappedLines, network.getLineCount());
     }
 
     @Override
@@ -155,52 +372,56 @@ public class NetworkMap extends StackPane implements ProjectFileViewer {
         view.setCenter(47, 3);
         progressIndicator.setVisible(true);
         mainPane.setDisable(true);
-        GseUtil.execute(context.getExecutor(), () -> {
-            // load french data from CSV
-            Map<String, SubstationGraphic> substations = RteOpenData.parseSubstations();
-            Map<String, LineGraphic> lines = RteOpenData.parseLines();
-            for (LineGraphic line : lines.values()) {
-                line.updateBranches();
-            }
-            Collection<BranchGraphic> branches = lines.entrySet().stream()
-                    .map(Map.Entry::getValue)
-                    .flatMap(line -> line.getBranches().stream())
-                    .collect(Collectors.toList());
-
-            // one layer per base voltage, so split line segments per base voltage
-            Map<Integer, List<BranchGraphic>> orderedBranches = new TreeMap<>();
-            for (BranchGraphic branch : branches) {
-                orderedBranches.computeIfAbsent(branch.getLine().getDrawOrder(), k -> new ArrayList<>())
-                            .add(branch);
-            }
-
-            // map model to graphic
-            mapModelToGraphic(substations, lines);
-
-            // build indexes
-            SubstationGraphicIndex substationIndex = SubstationGraphicIndex.build(substations.values());
-            SortedMap<Integer, BranchGraphicIndex> branchesIndexes = orderedBranches.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey,
-                        e -> BranchGraphicIndex.build(e.getValue()),
-                        (v1, v2) -> {
-                            throw new AssertionError();
-                        },
-                        TreeMap::new));
-
-            Platform.runLater(() -> {
-                view.addLayer(new SubstationLayer(view, substationIndex));
-                view.addLayer(new LineLayer(view, branchesIndexes, taskQueue, config));
-                view.markDirty();
-                progressIndicator.setVisible(false);
-                mainPane.setDisable(false);
-            });
-        });
+        geoModelAcquired = true;
+        geoModelService.acquire(context.getExecutor())
+                .thenAcceptAsync(geoModel -> {
+                    // map model to graphic, the geographical model being shared with other viewers
+                    // mapping is kept per viewer
+                    GraphicModelMapping mapping = mapModelToGraphic(geoModel);
+
+                    Platform.runLater(() -> {
+                        if (!geoModelAcquired) {
+                            // disposed while loading
+                            return;
+                        }
+                        view.addLayer(new SubstationLayer(view, geoModel.getSubstationIndex(), geoModel.getSubstationClusters(), mapping,
+                                                         renderScheduler, context.getExecutor(), config));
+                        LineLayer lineLayer = new LineLayer(view, geoModel.getBranchesIndexes(), geoModel.getLevelsOfDetail(),
+                                                            renderScheduler, context.getExecutor(), config, mapping);
+                        view.addLayer(lineLayer);
+                        resultOverlayLayer = new ResultOverlayLayer(view, mapping, geoModel.getLevelsOfDetail(), config);
+                        view.addLayer(resultOverlayLayer);
+                        if (lineValues != null) {
+                            resultOverlayLayer.setValues(lineValues, lineValuesRamp);
+                        }
+                        view.addLayer(new SelectionLayer(view, new MapPicker(geoModel.getBranchesIndexes(), geoModel.getSubstationIndex(),
+                                                                                  geoModel.getSubstationClusters()),
+                                                         selection, config));
+                        view.markDirty();
+                        progressIndicator.setVisible(false);
+                        mainPane.setDisable(false);
+                        drawBranchesWhenIndexed(geoModel, lineLayer);
+                    });
+                }, context.getExecutor())
+                .exceptionally(t -> {
+                    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    Platform.runLater(() -> {
+                        progressIndicator.setVisible(false);
+                        GseUtil.showDialogError(cause);
+                    });
+                    return null;
+                });
     }
 
     @Override
     public void dispose() {
-        // nothing to dispose
+        if (geoModelAcquired) {
+            geoModelAcquired = false;
+            geoModelService.release();
+        }
+        renderScheduler.cancel();
+        metricsRefresh.stop();
+        LOGGER.debug("Rendering metrics: {}", renderScheduler.getMetrics());
     }
 
     @Override
@@ -16,7 +16,64 @@ public class NetworkMapConfig {
 
     private final BooleanProperty showPylons = new SimpleBooleanProperty(false);
 
+    private final BooleanProperty tileRendering = new SimpleBooleanProperty(true);
+
+    private final BooleanProperty incrementalRedraw = new SimpleBooleanProperty(true);
+
+    private final BooleanProperty batchedLineDrawing = new SimpleBooleanProperty(true);
+
+    private final BooleanProperty substationClustering = new SimpleBooleanProperty(true);
+
+    private final BooleanProperty fuzzyMatching = new SimpleBooleanProperty(false);
+
+    private final BooleanProperty showMetrics = new SimpleBooleanProperty(false);
+
     public BooleanProperty isShowPylons() {
         return showPylons;
     }
+
+    /**
+     * If true, layers are rasterized as tiles on worker threads instead of being drawn on the application thread.
+     */
+    public BooleanProperty isTileRendering() {
+        return tileRendering;
+    }
+
+    /**
+     * If true, when the map is only panned, canvas content is shifted and only the newly exposed areas are redrawn.
+     * With tile rendering, only the tiles of the exposed areas are drawn again.
+     */
+    public BooleanProperty isIncrementalRedraw() {
+        return incrementalRedraw;
+    }
+
+    /**
+     * If true, lines of a same style are drawn with a single canvas path instead of one canvas command per segment
+     * and per pylon.
+     */
+    public BooleanProperty isBatchedLineDrawing() {
+        return batchedLineDrawing;
+    }
+
+    /**
+     * If true, at low zoom, substations close to each other are drawn as a single marker.
+     */
+    public BooleanProperty isSubstationClustering() {
+        return substationClustering;
+    }
+
+    /**
+     * If true, network equipments not matched by id, name or alias are matched to the graphic object with the most
+     * similar id.
+     */
+    public BooleanProperty isFuzzyMatching() {
+        return fuzzyMatching;
+    }
+
+    /**
+     * If true, rendering and loading metrics are displayed over the map.
+     */
+    public BooleanProperty isShowMetrics() {
+        return showMetrics;
+    }
 }
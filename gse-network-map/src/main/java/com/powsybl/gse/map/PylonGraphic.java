@@ -6,46 +6,45 @@
  */
 package com.powsybl.gse.map;
 
-import java.util.*;
+import java.util.Objects;
 
 /**
+ * View of a pylon of a {@link LineGeometryStore}.
+ *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public class PylonGraphic {
 
-    public static class Neighbor {
+    private final LineGeometryStore store;
 
-        private final PylonGraphic pylon;
+    private final int index;
 
-        private final SegmentGraphic segment;
-
-        public Neighbor(PylonGraphic pylon, SegmentGraphic segment) {
-            this.pylon = Objects.requireNonNull(pylon);
-            this.segment = Objects.requireNonNull(segment);
-        }
-
-        public PylonGraphic getPylon() {
-            return pylon;
-        }
-
-        public SegmentGraphic getSegment() {
-            return segment;
-        }
+    public PylonGraphic(LineGeometryStore store, int index) {
+        this.store = Objects.requireNonNull(store);
+        this.index = index;
     }
 
-    private final Coordinate coordinate;
+    public int getIndex() {
+        return index;
+    }
 
-    private final List<Neighbor> neighbors = new ArrayList<>();
+    public double getLon() {
+        return store.getLon(index);
+    }
 
-    public PylonGraphic(Coordinate coordinate) {
-        this.coordinate = Objects.requireNonNull(coordinate);
+    public double getLat() {
+        return store.getLat(index);
     }
 
     public Coordinate getCoordinate() {
-        return coordinate;
+        return new Coordinate(getLon(), getLat());
+    }
+
+    public int getNeighborCount() {
+        return store.getNeighborCount(index);
     }
 
-    public List<Neighbor> getNeighbors() {
-        return neighbors;
+    public PylonGraphic getNeighbor(int i) {
+        return new PylonGraphic(store, store.getNeighbor(index, i));
     }
 }
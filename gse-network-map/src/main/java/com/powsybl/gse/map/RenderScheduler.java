@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.animation.AnimationTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time sliced execution of rendering work on the JavaFX application thread.
+ * <p>
+ * Tasks are run by priority, lower values first, and in submission order for a same priority. At each pulse, tasks
+ * are run until the pulse budget is exhausted. A task can be resumable: it is given the pulse deadline and is run
+ * again at next pulse until it reports it is done.
+ * <p>
+ * Work submitted between two {@link #cancel()} calls is a frame. Cancelling drops the pending tasks of the current
+ * frame, so that a stale frame never reaches the canvas.
+ * <p>
+ * All methods have to be called from the JavaFX application thread.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class RenderScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderScheduler.class);
+
+    public static final long DEFAULT_PULSE_BUDGET = TimeUnit.MILLISECONDS.toNanos(8);
+
+    @FunctionalInterface
+    public interface RenderTask {
+
+        /**
+         * Run the task until it is done or {@code deadline} ({@link System#nanoTime()} based) is reached.
+         *
+         * @return true if the task is done, false if it has to be run again at next pulse
+         */
+        boolean run(long deadline);
+    }
+
+    public static final class Metrics {
+
+        private final long frameCount;
+
+        private final long droppedFrameCount;
+
+        private final long taskCount;
+
+        private final long droppedTaskCount;
+
+        private final long pulseCount;
+
+        private final long overBudgetPulseCount;
+
+        private final long lastFrameLatency;
+
+        private final long maxFrameLatency;
+
+        private final long totalFrameLatency;
+
+        private Metrics(long frameCount, long droppedFrameCount, long taskCount, long droppedTaskCount, long pulseCount,
+                        long overBudgetPulseCount, long lastFrameLatency, long maxFrameLatency, long totalFrameLatency) {
+            this.frameCount = frameCount;
+            this.droppedFrameCount = droppedFrameCount;
+            this.taskCount = taskCount;
+            this.droppedTaskCount = droppedTaskCount;
+            this.pulseCount = pulseCount;
+            this.overBudgetPulseCount = overBudgetPulseCount;
+            this.lastFrameLatency = lastFrameLatency;
+            this.maxFrameLatency = maxFrameLatency;
+            this.totalFrameLatency = totalFrameLatency;
+        }
+
+        /**
+         * Get number of frames fully rendered.
+         */
+        public long getFrameCount() {
+            return frameCount;
+        }
+
+        /**
+         * Get number of frames cancelled before being fully rendered.
+         */
+        public long getDroppedFrameCount() {
+            return droppedFrameCount;
+        }
+
+        public long getTaskCount() {
+            return taskCount;
+        }
+
+        public long getDroppedTaskCount() {
+            return droppedTaskCount;
+        }
+
+        public long getPulseCount() {
+            return pulseCount;
+        }
+
+        /**
+         * Get number of pulses that exceeded the budget, because a task did not return in time.
+         */
+        public long getOverBudgetPulseCount() {
+            return overBudgetPulseCount;
+        }
+
+        /**
+         * Get latency, in ms, between the first submission and the end of the last task of the last rendered frame.
+         */
+        public double getLastFrameLatency() {
+            return toMillis(lastFrameLatency);
+        }
+
+        public double getMaxFrameLatency() {
+            return toMillis(maxFrameLatency);
+        }
+
+        public double getMeanFrameLatency() {
+            return frameCount > 0 ? toMillis(totalFrameLatency) / frameCount : 0;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics(frameCount=" + frameCount + ", droppedFrameCount=" + droppedFrameCount
+                    + ", taskCount=" + taskCount + ", droppedTaskCount=" + droppedTaskCount
+                    + ", pulseCount=" + pulseCount + ", overBudgetPulseCount=" + overBudgetPulseCount
+                    + ", lastFrameLatency=" + getLastFrameLatency() + ", maxFrameLatency=" + getMaxFrameLatency()
+                    + ", meanFrameLatency=" + getMeanFrameLatency() + ")";
+        }
+    }
+
+    private static final class ScheduledTask implements Comparable<ScheduledTask> {
+
+        private final int priority;
+
+        private final long sequence;
+
+        private final int generation;
+
+        private final RenderTask task;
+
+        private ScheduledTask(int priority, long sequence, int generation, RenderTask task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.generation = generation;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int c = Integer.compare(priority, other.priority);
+            return c != 0 ? c : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final long pulseBudget;
+
+    private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>();
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            runPulse();
+        }
+    };
+
+    private boolean timerStarted = false;
+
+    private int generation = 0;
+
+    private long sequence = 0;
+
+    // submission time of the first task of the current frame, or -1 if there is no pending frame
+    private long frameStart = -1;
+
+    private int frameTaskCount = 0;
+
+    private int framePulseCount = 0;
+
+    private long frameCount = 0;
+
+    private long droppedFrameCount = 0;
+
+    private long taskCount = 0;
+
+    private long droppedTaskCount = 0;
+
+    private long pulseCount = 0;
+
+    private long overBudgetPulseCount = 0;
+
+    private long lastFrameLatency = 0;
+
+    private long maxFrameLatency = 0;
+
+    private long totalFrameLatency = 0;
+
+    public RenderScheduler() {
+        this(DEFAULT_PULSE_BUDGET);
+    }
+
+    public RenderScheduler(long pulseBudget) {
+        if (pulseBudget < 0) {
+            throw new IllegalArgumentException("Invalid pulse budget: " + pulseBudget);
+        }
+        this.pulseBudget = pulseBudget;
+    }
+
+    /**
+     * Get maximum time, in ns, spent running tasks per pulse.
+     */
+    public long getPulseBudget() {
+        return pulseBudget;
+    }
+
+    public void submit(int priority, RenderTask task) {
+        Objects.requireNonNull(task);
+        if (frameStart == -1) {
+            frameStart = System.nanoTime();
+        }
+        tasks.add(new ScheduledTask(priority, sequence++, generation, task));
+        MapMetrics.getInstance().gauge("scheduler.queueDepth").set(tasks.size());
+        if (!timerStarted) {
+            timerStarted = true;
+            timer.start();
+        }
+    }
+
+    public void submit(int priority, Runnable task) {
+        Objects.requireNonNull(task);
+        submit(priority, deadline -> {
+            task.run();
+            return true;
+        });
+    }
+
+    /**
+     * Drop pending tasks of the current frame.
+     */
+    public void cancel() {
+        if (!tasks.isEmpty()) {
+            droppedTaskCount += tasks.size();
+            droppedFrameCount++;
+            tasks.clear();
+            MapMetrics.getInstance().gauge("scheduler.queueDepth").set(0);
+        }
+        generation++;
+        endFrame();
+    }
+
+    /**
+     * Get generation of the current frame, incremented at each {@link #cancel()}.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    public boolean isIdle() {
+        return tasks.isEmpty();
+    }
+
+    private void endFrame() {
+        frameStart = -1;
+        frameTaskCount = 0;
+        framePulseCount = 0;
+        if (timerStarted) {
+            timerStarted = false;
+            timer.stop();
+        }
+    }
+
+    void runPulse() {
+        long start = System.nanoTime();
+        long deadline = start + pulseBudget;
+        pulseCount++;
+        framePulseCount++;
+        // at least one task step is run per pulse, so that a zero budget still progresses
+        do {
+            ScheduledTask next = tasks.peek();
+            if (next == null) {
+                break;
+            }
+            if (next.generation != generation) {
+                tasks.poll();
+                droppedTaskCount++;
+                continue;
+            }
+            if (next.task.run(deadline)) {
+                tasks.poll();
+                taskCount++;
+                frameTaskCount++;
+            }
+        } while (System.nanoTime() < deadline);
+
+        long end = System.nanoTime();
+        if (end - start > pulseBudget) {
+            overBudgetPulseCount++;
+        }
+        MapMetrics metrics = MapMetrics.getInstance();
+        metrics.timer("scheduler.pulse").record(end - start);
+        metrics.gauge("scheduler.queueDepth").set(tasks.size());
+
+        if (tasks.isEmpty() && frameStart != -1) {
+            long latency = end - frameStart;
+            frameCount++;
+            lastFrameLatency = latency;
+            maxFrameLatency = Math.max(maxFrameLatency, latency);
+            totalFrameLatency += latency;
+            metrics.timer("scheduler.frameLatency").record(latency);
+            LOGGER.debug("Frame {} rendered in {} ms ({} tasks, {} pulses)", generation,
+                         TimeUnit.NANOSECONDS.toMillis(latency), frameTaskCount, framePulseCount);
+            endFrame();
+        }
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(frameCount, droppedFrameCount, taskCount, droppedTaskCount, pulseCount, overBudgetPulseCount,
+                           lastFrameLatency, maxFrameLatency, totalFrameLatency);
+    }
+}
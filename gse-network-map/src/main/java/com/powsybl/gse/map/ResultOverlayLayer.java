@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import com.gluonhq.maps.MapView;
+import com.powsybl.iidm.network.Line;
+import javafx.geometry.Point2D;
+import javafx.scene.canvas.GraphicsContext;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Layer drawing lines over the line layer with a color depending on a per line value, for instance a loading
+ * computed from a load flow or a security analysis result.
+ * <p>
+ * Values are mapped to color buckets with a {@link ColorRamp}. When values are updated, only the areas of the lines
+ * whose bucket changed are cleared and drawn again at next layout pass, after any pending pan shift, so that switching
+ * from one result to another one does not redraw the whole map. A full redraw is only needed when a line does not
+ * have a value anymore, or when too many lines changed.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ResultOverlayLayer extends CanvasBasedLayer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultOverlayLayer.class);
+
+    private static final double LINE_WIDTH = 3;
+
+    // above this number of recolored lines, a full redraw is cheaper than redrawing their areas
+    private static final int MAX_RECOLORED_LINES = 256;
+
+    private final GraphicModelMapping mapping;
+
+    private final SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail;
+
+    private final NetworkMapConfig config;
+
+    private ColorRamp ramp = ColorRamp.LOADING;
+
+    // bucket of the lines having a value
+    private final Map<LineGraphic, Integer> buckets = new IdentityHashMap<>();
+
+    // lines whose bucket changed, redrawn at next layout pass
+    private final Set<LineGraphic> recoloredLines = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public ResultOverlayLayer(MapView mapView, GraphicModelMapping mapping,
+                              SortedMap<Integer, LineLevelsOfDetail> levelsOfDetail, NetworkMapConfig config) {
+        super(mapView);
+        this.mapping = Objects.requireNonNull(mapping);
+        this.levelsOfDetail = Objects.requireNonNull(levelsOfDetail);
+        this.config = Objects.requireNonNull(config);
+        canvas.setMouseTransparent(true);
+    }
+
+    /**
+     * Show values of the lines, indexed by network line id. Lines without a value are not drawn.
+     */
+    public void setValues(Map<String, Double> values, ColorRamp ramp) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(ramp);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        boolean fullRedraw = ramp != this.ramp;
+        this.ramp = ramp;
+
+        List<LineGraphic> changedLines = new ArrayList<>();
+        for (LineGraphic graphic : mapping.getMappedLines()) {
+            Line line = mapping.getLine(graphic);
+            Double value = values.get(line.getId());
+            int bucket = value != null ? ramp.getBucket(value) : ColorRamp.NO_BUCKET;
+            Integer oldBucket = buckets.get(graphic);
+            if (bucket == ColorRamp.NO_BUCKET) {
+                if (oldBucket != null) {
+                    // previous color cannot be erased without redrawing other lines
+                    buckets.remove(graphic);
+                    fullRedraw = true;
+                }
+            } else if (oldBucket == null || oldBucket != bucket) {
+                buckets.put(graphic, bucket);
+                changedLines.add(graphic);
+            }
+        }
+
+        recoloredLines.addAll(changedLines);
+        if (recoloredLines.size() > MAX_RECOLORED_LINES) {
+            fullRedraw = true;
+        }
+        if (fullRedraw) {
+            invalidateCanvas();
+            markDirty();
+        } else if (!changedLines.isEmpty()) {
+            // not drawn right now, as a pending pan shift of the canvas would move them a second time
+            markDirty();
+        }
+
+        stopWatch.stop();
+        LOGGER.info("{} values shown in {} ms ({} lines {})", values.size(), stopWatch.getTime(),
+                fullRedraw ? buckets.size() : changedLines.size(), fullRedraw ? "to redraw" : "recolored");
+    }
+
+    /**
+     * Draw values of lines whose branches were built after the creation of the layer.
+     */
+    public void branchesAdded() {
+        if (!buckets.isEmpty()) {
+            invalidateCanvas();
+            markDirty();
+        }
+    }
+
+    public void clear() {
+        if (!buckets.isEmpty()) {
+            buckets.clear();
+            recoloredLines.clear();
+            invalidateCanvas();
+            markDirty();
+        }
+    }
+
+    private void drawLines(GraphicsContext gc, Collection<LineGraphic> lines, Rectangle bounds) {
+        double zoom = baseMap.zoom().get();
+        gc.setLineWidth(LINE_WIDTH);
+        gc.setLineDashes(null);
+        for (LineGraphic line : lines) {
+            // branches of a line may be set just before the levels of detail of its draw order are published
+            LineLevelsOfDetail lineLevelsOfDetail = levelsOfDetail.get(line.getDrawOrder());
+            LineLevelsOfDetail.Level level = lineLevelsOfDetail != null ? lineLevelsOfDetail.getLevel(zoom) : null;
+            gc.setStroke(ramp.getColor(buckets.get(line)));
+            gc.beginPath();
+            for (BranchGraphic branch : line.getBranches()) {
+                if (!branch.getBoundingBox().intersects(bounds)) {
+                    continue;
+                }
+                int pylonCount = level != null ? level.getPylonCount(branch.getIndex()) : branch.getPylonCount();
+                for (int k = 0; k < pylonCount; k++) {
+                    int i = level != null ? level.getPylonIndex(branch.getIndex(), k) : k;
+                    Point2D p = baseMap.getMapPoint(branch.getLat(i), branch.getLon(i));
+                    if (k == 0) {
+                        gc.moveTo(p.getX(), p.getY());
+                    } else {
+                        gc.lineTo(p.getX(), p.getY());
+                    }
+                }
+            }
+            gc.stroke();
+        }
+    }
+
+    @Override
+    protected boolean isIncrementalRedrawEnabled() {
+        return config.isIncrementalRedraw().get();
+    }
+
+    @Override
+    protected double getDrawMargin() {
+        return LINE_WIDTH;
+    }
+
+    /**
+     * Clear and redraw the viewport area of each recolored line, so that no fringe of its previous color is left and
+     * lines crossing the area are drawn again over it.
+     */
+    private void redrawRecoloredLines() {
+        Rectangle bounds = getMapBounds();
+        double margin = getDrawMargin();
+        for (LineGraphic line : recoloredLines) {
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (BranchGraphic branch : line.getBranches()) {
+                Rectangle box = branch.getBoundingBox();
+                if (!box.intersects(bounds)) {
+                    continue;
+                }
+                // y axis is downward, so the top left corner is at min longitude and max latitude
+                Point2D p1 = baseMap.getMapPoint(box.y2(), box.x1());
+                Point2D p2 = baseMap.getMapPoint(box.y1(), box.x2());
+                minX = Math.min(minX, p1.getX());
+                minY = Math.min(minY, p1.getY());
+                maxX = Math.max(maxX, p2.getX());
+                maxY = Math.max(maxY, p2.getY());
+            }
+            if (minX <= maxX) {
+                redrawArea(minX - margin, minY - margin, maxX - minX + 2 * margin, maxY - minY + 2 * margin);
+            }
+        }
+        recoloredLines.clear();
+    }
+
+    @Override
+    protected void layoutLayer() {
+        // shift or fully redraw the canvas first, so that recolored lines are drawn at their current position
+        super.layoutLayer();
+        if (!recoloredLines.isEmpty()) {
+            redrawRecoloredLines();
+        }
+    }
+
+    @Override
+    protected void draw(GraphicsContext gc, Rectangle bounds, boolean fullRedraw) {
+        if (fullRedraw) {
+            // recolored lines are drawn with all the others
+            recoloredLines.clear();
+        }
+        if (!buckets.isEmpty()) {
+            drawLines(gc, buckets.keySet(), bounds);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.google.auto.service.AutoService;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * RTE open data CSV files, see {@link RteOpenData} for download links. Each file is split into chunks parsed in
+ * parallel, each chunk being pushed in file order as soon as it and the previous ones are parsed. Chunks pushed to
+ * the loader of {@link GeoDataSources} are merged in bulk instead of record by record.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+@AutoService(GeoDataSource.class)
+public class RteCsvGeoDataSource implements GeoDataSource {
+
+    static final String NAME = "rte-csv";
+
+    static final String SUBSTATIONS_FILE_NAME = "postes-electriques-rte.csv";
+
+    static final String AERIAL_LINES_FILE_NAME = "lignes-aeriennes-rte.csv";
+
+    static final String UNDERGROUND_LINES_FILE_NAME = "lignes-souterraines-rte.csv";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Path> getSubstationFiles(Path dir) {
+        return Collections.singletonList(dir.resolve(SUBSTATIONS_FILE_NAME));
+    }
+
+    @Override
+    public List<Path> getLineFiles(Path dir) {
+        return Arrays.asList(dir.resolve(AERIAL_LINES_FILE_NAME), dir.resolve(UNDERGROUND_LINES_FILE_NAME));
+    }
+
+    private static void parseSubstation(SubstationData.Builder builder, String line) {
+        String[] tokens = line.split(";");
+        String id = tokens[0];
+        RteOpenData.BaseVoltage baseVoltage = RteOpenData.parseBaseVoltage(tokens[4]);
+        double lon = Double.parseDouble(tokens[5]);
+        double lat = Double.parseDouble(tokens[6]);
+        builder.add(id, baseVoltage, lon, lat);
+    }
+
+    private static void push(SubstationData.Builder chunkBuilder, GeoDataHandler handler) {
+        if (handler instanceof GeoDataSources.Collector) {
+            ((GeoDataSources.Collector) handler).addSubstations(chunkBuilder);
+        } else {
+            chunkBuilder.push(handler);
+        }
+        handler.onChunkEnd();
+    }
+
+    private static void push(LineSegmentData.Builder chunkBuilder, GeoDataHandler handler) {
+        if (handler instanceof GeoDataSources.Collector) {
+            ((GeoDataSources.Collector) handler).addLineSegments(chunkBuilder);
+        } else {
+            chunkBuilder.push(handler);
+        }
+        handler.onChunkEnd();
+    }
+
+    @Override
+    public void readSubstations(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        CsvFileChunks.forEachInOrder(CsvFileChunks.parseAsync(dir.resolve(SUBSTATIONS_FILE_NAME), SubstationData.Builder::new,
+                RteCsvGeoDataSource::parseSubstation, executor), chunkBuilder -> push(chunkBuilder, handler));
+    }
+
+    private static void parseLine(LineSegmentData.Builder builder, String line, int lon1Index, int lat1Index, int lon2Index, int lat2Index) {
+        String[] tokens = line.split(";");
+        String lineId = tokens[1];
+        if (lineId.isEmpty()) {
+            return;
+        }
+        RteOpenData.BaseVoltage baseVoltage = RteOpenData.parseBaseVoltage(tokens[5]);
+        double lon1 = Double.parseDouble(tokens[lon1Index]);
+        double lat1 = Double.parseDouble(tokens[lat1Index]);
+        double lon2 = Double.parseDouble(tokens[lon2Index]);
+        double lat2 = Double.parseDouble(tokens[lat2Index]);
+        builder.add(lineId, baseVoltage, lon1, lat1, lon2, lat2);
+    }
+
+    private static List<CompletableFuture<LineSegmentData.Builder>> parseLines(Path file, int lon1Index, int lat1Index,
+                                                                              int lon2Index, int lat2Index, Executor executor) {
+        return CsvFileChunks.parseAsync(file, LineSegmentData.Builder::new,
+            (builder, line) -> parseLine(builder, line, lon1Index, lat1Index, lon2Index, lat2Index), executor);
+    }
+
+    @Override
+    public void readLineSegments(Path dir, GeoDataHandler handler, Executor executor) {
+        Objects.requireNonNull(handler);
+        // chunks of both files are parsed concurrently, and pushed in file order
+        List<CompletableFuture<LineSegmentData.Builder>> aerialBuilders = parseLines(dir.resolve(AERIAL_LINES_FILE_NAME), 8, 9, 10, 11, executor);
+        List<CompletableFuture<LineSegmentData.Builder>> undergroundBuilders
+                = parseLines(dir.resolve(UNDERGROUND_LINES_FILE_NAME), 9, 10, 11, 12, executor);
+        CsvFileChunks.forEachInOrder(aerialBuilders, chunkBuilder -> push(chunkBuilder, handler));
+        CsvFileChunks.forEachInOrder(undergroundBuilders, chunkBuilder -> push(chunkBuilder, handler));
+    }
+}
@@ -6,18 +6,13 @@
  */
 package com.powsybl.gse.map;
 
-import com.powsybl.commons.PowsyblException;
 import com.powsybl.commons.config.PlatformConfig;
 import javafx.scene.paint.Color;
-import org.apache.commons.lang3.time.StopWatch;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.Files;
-import java.util.*;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Parse RTE substation and line segment coordinates.
@@ -33,14 +28,20 @@ import java.util.*;
  *         <a href="https://opendata.reseaux-energies.fr/explore/dataset/lignes-souterraines-rte/download/?format=csv&timezone=Europe/Berlin&use_labels_for_header=true">lignes-souterraines-rte.csv</a>
  *     </li>
  * </ul>
+ * Once parsed, data are stored in a binary cache next to the CSV files, which is used instead of the CSV files
+ * as long as they are not modified.
+ * <p>
+ * These files are read by {@link RteCsvGeoDataSource}, other formats being supported through the
+ * {@link GeoDataSource} extension point.
  *
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
  */
 public final class RteOpenData {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(RteOpenData.class);
-
-    enum BaseVoltage {
+    /**
+     * Base voltages, in draw order, each one with the color of the RTE map conventions.
+     */
+    public enum BaseVoltage {
         VL_400_KV(Color.RED, 0),
         VL_225_KV(Color.rgb(34, 139, 34), 1),
         VL_150_KV(Color.rgb(1, 175, 175), 2),
@@ -51,6 +52,8 @@ public final class RteOpenData {
         VL_HORS_TENSION(Color.BLACK, 7),
         VL_COURANT_CONTINU(Color.YELLOW, 8);
 
+        private static final BaseVoltage[] VALUES = values();
+
         private final Color color;
 
         private final int order;
@@ -67,12 +70,49 @@ public final class RteOpenData {
         public int getOrder() {
             return order;
         }
+
+        /**
+         * Get base voltage of a nominal voltage in kV, {@link #VL_HORS_TENSION} if unknown, so that sources of
+         * other TSOs can be drawn with the same conventions.
+         */
+        public static BaseVoltage fromNominalVoltage(double nominalVoltage) {
+            if (Double.isNaN(nominalVoltage) || nominalVoltage <= 0) {
+                return VL_HORS_TENSION;
+            } else if (nominalVoltage >= 300) {
+                return VL_400_KV;
+            } else if (nominalVoltage >= 180) {
+                return VL_225_KV;
+            } else if (nominalVoltage >= 120) {
+                return VL_150_KV;
+            } else if (nominalVoltage >= 75) {
+                return VL_90_KV;
+            } else if (nominalVoltage >= 54) {
+                return VL_63_KV;
+            } else if (nominalVoltage >= 45) {
+                return VL_45_KV;
+            } else {
+                return VL_INF_45_KV;
+            }
+        }
+
+        static BaseVoltage fromOrdinal(int ordinal) {
+            return VALUES[ordinal];
+        }
+
+        static BaseVoltage fromOrder(int order) {
+            for (BaseVoltage baseVoltage : VALUES) {
+                if (baseVoltage.order == order) {
+                    return baseVoltage;
+                }
+            }
+            throw new IllegalArgumentException("No base voltage with draw order " + order);
+        }
     }
 
     private RteOpenData() {
     }
 
-    private static BaseVoltage parseBaseVoltage(String str) {
+    static BaseVoltage parseBaseVoltage(String str) {
         switch (str) {
             case "400 KV":
             case "400 kV":
@@ -104,83 +144,17 @@ public final class RteOpenData {
         }
     }
 
-    private static void skipHeader(BufferedReader reader) throws IOException {
-        String line = reader.readLine();
-        if (line == null) {
-            throw new PowsyblException("Header is missing");
-        }
+    static Path getConfigDir() {
+        return PlatformConfig.defaultConfig().getConfigDir();
     }
 
     public static Map<String, SubstationGraphic> parseSubstations() {
-        Map<String, SubstationGraphic> coords = new HashMap<>();
-
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        int substationCount = 0;
-
-        try (BufferedReader reader = Files.newBufferedReader(PlatformConfig.defaultConfig().getConfigDir().resolve("postes-electriques-rte.csv"))) {
-            skipHeader(reader);
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] tokens = line.split(";");
-                String id = tokens[0];
-                Color color = parseBaseVoltage(tokens[4]).getColor();
-                double lon = Double.parseDouble(tokens[5]);
-                double lat = Double.parseDouble(tokens[6]);
-                coords.put(id, new SubstationGraphic(id, color, new Coordinate(lon, lat)));
-                substationCount++;
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-
-        LOGGER.info("{} substations read in {} ms", substationCount, stopWatch.getTime());
-
-        return coords;
-    }
-
-    private static int parseLine(Map<String, LineGraphic> lines, String fileName, int lon1Index, int lat1Index, int lon2Index, int lat2Index) {
-        int segmentCount = 0;
-        try (BufferedReader reader = Files.newBufferedReader(PlatformConfig.defaultConfig().getConfigDir().resolve(fileName))) {
-            skipHeader(reader);
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] tokens = line.split(";");
-                String lineId = tokens[1];
-                if (lineId.isEmpty()) {
-                    continue;
-                }
-                BaseVoltage baseVoltage = parseBaseVoltage(tokens[5]);
-                double lon1 = Double.parseDouble(tokens[lon1Index]);
-                double lat1 = Double.parseDouble(tokens[lat1Index]);
-                double lon2 = Double.parseDouble(tokens[lon2Index]);
-                double lat2 = Double.parseDouble(tokens[lat2Index]);
-                LineGraphic lineGraphic  = lines.get(lineId);
-                if (lineGraphic == null) {
-                    lineGraphic = new LineGraphic(lineId, baseVoltage.getOrder(), baseVoltage.getColor());
-                    lines.put(lineId, lineGraphic);
-                }
-                lineGraphic.getSegments().add(new SegmentGraphic(new Coordinate(lon1, lat1), new Coordinate(lon2, lat2), lineGraphic));
-                segmentCount++;
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
-        return segmentCount;
+        Path dir = getConfigDir();
+        return GeoDataSources.loadSubstationData(GeoDataSources.find(dir), dir, ForkJoinPool.commonPool()).toGraphics();
     }
 
     public static Map<String, LineGraphic> parseLines() {
-        Map<String, LineGraphic> lines = new HashMap<>();
-
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        int segmentCount = parseLine(lines, "lignes-aeriennes-rte.csv", 8, 9, 10, 11);
-        segmentCount += parseLine(lines, "lignes-souterraines-rte.csv", 9, 10, 11, 12);
-
-        LOGGER.info("{} lines, {} segments read in {} ms", lines.size(), segmentCount, stopWatch.getTime());
-
-        return lines;
+        Path dir = getConfigDir();
+        return GeoDataSources.loadLineSegmentData(GeoDataSources.find(dir), dir, ForkJoinPool.commonPool()).toGraphics();
     }
 }
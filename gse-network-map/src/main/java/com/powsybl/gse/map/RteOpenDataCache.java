@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Binary cache of pre-processed open data, written next to the CSV files and memory mapped on
+ * subsequent reads.
+ * <p>
+ * A cache file starts with a header identifying the source files it has been built from (size,
+ * last modified time and a hash of the first and last blocks of each file), so that any change
+ * of the sources invalidates it. Payload is stored column by column (identifiers, base voltages,
+ * then coordinates) so that it can be bulk copied from the mapped buffer.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class RteOpenDataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RteOpenDataCache.class);
+
+    private static final int MAGIC = 0x47534547; // "GSEG"
+
+    private static final int VERSION = 2;
+
+    private static final int SUBSTATIONS_FORMAT = 1;
+
+    private static final int LINES_FORMAT = 2;
+
+    private static final int HASH_BLOCK_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    interface PayloadWriter {
+
+        void write(DataOutputStream os) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface PayloadReader<T> {
+
+        T read(ByteBuffer buffer);
+    }
+
+    private RteOpenDataCache() {
+    }
+
+    private static void hashBlock(FileChannel channel, long position, int length, CRC32 crc) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+            // read until block is full or end of file is reached
+        }
+        buffer.flip();
+        crc.update(buffer);
+    }
+
+    private static long hashSource(Path source, long size) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            hashBlock(channel, 0, (int) Math.min(size, HASH_BLOCK_SIZE), crc);
+            if (size > HASH_BLOCK_SIZE) {
+                long position = Math.max(HASH_BLOCK_SIZE, size - HASH_BLOCK_SIZE);
+                hashBlock(channel, position, (int) (size - position), crc);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void writeHeader(DataOutputStream os, List<Path> sources, int format) throws IOException {
+        os.writeInt(MAGIC);
+        os.writeInt(VERSION);
+        os.writeInt(format);
+        os.writeInt(sources.size());
+        for (Path source : sources) {
+            long size = Files.size(source);
+            os.writeLong(size);
+            os.writeLong(Files.getLastModifiedTime(source).toMillis());
+            os.writeLong(hashSource(source, size));
+        }
+    }
+
+    private static boolean checkHeader(ByteBuffer buffer, List<Path> sources, int format) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != format
+                || buffer.getInt() != sources.size()) {
+            return false;
+        }
+        for (Path source : sources) {
+            long size = Files.size(source);
+            if (buffer.getLong() != size
+                    || buffer.getLong() != Files.getLastModifiedTime(source).toMillis()
+                    || buffer.getLong() != hashSource(source, size)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read a cache file if it exists and is up to date with its sources and payload format.
+     */
+    static <T> Optional<T> read(Path cacheFile, List<Path> sources, int format, PayloadReader<T> reader) {
+        if (!Files.exists(cacheFile)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (!checkHeader(buffer, sources, format)) {
+                LOGGER.info("Cache {} is out of date", cacheFile);
+                return Optional.empty();
+            }
+            return Optional.of(reader.read(buffer));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot read cache {}: {}", cacheFile, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Atomically (re)write a cache file, errors being only logged as the cache is an optimization.
+     */
+    static void write(Path cacheFile, List<Path> sources, int format, PayloadWriter writer) {
+        Path tmpFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                writeHeader(os, sources, format);
+                writer.write(os);
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write cache {}: {}", cacheFile, e.toString());
+            try {
+                Files.deleteIfExists(tmpFile);
+            } catch (IOException e2) {
+                LOGGER.warn(e2.toString());
+            }
+        }
+    }
+
+    static void writeStrings(DataOutputStream os, String[] strings) throws IOException {
+        byte[][] bytes = new byte[strings.length][];
+        int length = 0;
+        for (int i = 0; i < strings.length; i++) {
+            bytes[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            length += bytes[i].length;
+        }
+        os.writeInt(strings.length);
+        os.writeInt(length);
+        for (byte[] b : bytes) {
+            os.writeInt(b.length);
+        }
+        for (byte[] b : bytes) {
+            os.write(b);
+        }
+    }
+
+    static String[] readStrings(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[buffer.getInt()];
+        int[] lengths = readInts(buffer, strings.length);
+        buffer.get(bytes);
+        int offset = 0;
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String(bytes, offset, lengths[i], StandardCharsets.UTF_8);
+            offset += lengths[i];
+        }
+        return strings;
+    }
+
+    static void writeDoubles(DataOutputStream os, double[] values) throws IOException {
+        for (double value : values) {
+            os.writeDouble(value);
+        }
+    }
+
+    static double[] readDoubles(ByteBuffer buffer, int length) {
+        double[] values = new double[length];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + length * Double.BYTES);
+        return values;
+    }
+
+    static void writeInts(DataOutputStream os, int[] values) throws IOException {
+        for (int value : values) {
+            os.writeInt(value);
+        }
+    }
+
+    static int[] readInts(ByteBuffer buffer, int length) {
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    static byte[] readBytes(ByteBuffer buffer, int length) {
+        byte[] values = new byte[length];
+        buffer.get(values);
+        return values;
+    }
+
+    static Optional<SubstationData> readSubstations(Path cacheFile, List<Path> sources) {
+        Objects.requireNonNull(cacheFile);
+        Objects.requireNonNull(sources);
+        return read(cacheFile, sources, SUBSTATIONS_FORMAT, buffer -> {
+            String[] ids = readStrings(buffer);
+            byte[] baseVoltages = readBytes(buffer, ids.length);
+            double[] lons = readDoubles(buffer, ids.length);
+            double[] lats = readDoubles(buffer, ids.length);
+            return new SubstationData(ids, baseVoltages, lons, lats);
+        });
+    }
+
+    static void writeSubstations(Path cacheFile, List<Path> sources, SubstationData data) {
+        Objects.requireNonNull(cacheFile);
+        Objects.requireNonNull(sources);
+        Objects.requireNonNull(data);
+        write(cacheFile, sources, SUBSTATIONS_FORMAT, os -> {
+            writeStrings(os, data.getIds());
+            os.write(data.getBaseVoltages());
+            writeDoubles(os, data.getLons());
+            writeDoubles(os, data.getLats());
+        });
+    }
+
+    static Optional<LineSegmentData> readLines(Path cacheFile, List<Path> sources) {
+        Objects.requireNonNull(cacheFile);
+        Objects.requireNonNull(sources);
+        return read(cacheFile, sources, LINES_FORMAT, buffer -> {
+            String[] ids = readStrings(buffer);
+            byte[] baseVoltages = readBytes(buffer, ids.length);
+            int[] segmentOffsets = readInts(buffer, ids.length + 1);
+            int segmentCount = segmentOffsets[ids.length];
+            double[] lon1s = readDoubles(buffer, segmentCount);
+            double[] lat1s = readDoubles(buffer, segmentCount);
+            double[] lon2s = readDoubles(buffer, segmentCount);
+            double[] lat2s = readDoubles(buffer, segmentCount);
+            return new LineSegmentData(ids, baseVoltages, segmentOffsets, lon1s, lat1s, lon2s, lat2s);
+        });
+    }
+
+    static void writeLines(Path cacheFile, List<Path> sources, LineSegmentData data) {
+        Objects.requireNonNull(cacheFile);
+        Objects.requireNonNull(sources);
+        Objects.requireNonNull(data);
+        write(cacheFile, sources, LINES_FORMAT, os -> {
+            writeStrings(os, data.getIds());
+            os.write(data.getBaseVoltages());
+            writeInts(os, data.getSegmentOffsets());
+            writeDoubles(os, data.getLon1s());
+            writeDoubles(os, data.getLat1s());
+            writeDoubles(os, data.getLon2s());
+            writeDoubles(os, data.getLat2s());
+        });
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import com.gluonhq.maps.MapView;
+import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.geometry.Point2D;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Top layer highlighting the hovered and the selected substation or line, and updating the selection on click.
+ * <p>
+ * When substations are clustered, a click on a cluster marker zooms in on the cluster instead of selecting.
+ * <p>
+ * Hovering is throttled: mouse moves are coalesced so that at most one picking query runs per pulse.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SelectionLayer extends CanvasBasedLayer {
+
+    private static final Color HOVER_COLOR = Color.rgb(255, 255, 255, 0.6);
+
+    private static final Color SELECTION_COLOR = Color.rgb(30, 144, 255, 0.8);
+
+    private static final double HIGHLIGHT_WIDTH = 6;
+
+    /**
+     * Number of zoom levels a click on a cluster zooms in by.
+     */
+    private static final int CLUSTER_ZOOM_IN = 2;
+
+    private final MapView mapView;
+
+    private final MapPicker picker;
+
+    private final ObjectProperty<MapSelection> selection;
+
+    private final NetworkMapConfig config;
+
+    private MapSelection hovered;
+
+    private SubstationClusters.Cluster hoveredCluster;
+
+    private Point2D hoverPoint;
+
+    private boolean hoverQueryScheduled = false;
+
+    public SelectionLayer(MapView mapView, MapPicker picker, ObjectProperty<MapSelection> selection,
+                          NetworkMapConfig config) {
+        super(mapView);
+        this.mapView = mapView;
+        this.picker = Objects.requireNonNull(picker);
+        this.selection = Objects.requireNonNull(selection);
+        this.config = Objects.requireNonNull(config);
+        selection.addListener((observable, oldValue, newValue) -> markDirty());
+        canvas.setOnMouseMoved(event -> hover(new Point2D(event.getX(), event.getY())));
+        canvas.setOnMouseExited(event -> hover(null));
+    }
+
+    private void hover(Point2D point) {
+        hoverPoint = point;
+        if (!hoverQueryScheduled) {
+            hoverQueryScheduled = true;
+            Platform.runLater(() -> {
+                hoverQueryScheduled = false;
+                SubstationClusters.Cluster newHoveredCluster = null;
+                MapSelection newHovered = null;
+                if (hoverPoint != null) {
+                    Coordinate c = getMapCoordinate(hoverPoint);
+                    newHoveredCluster = pickCluster(c).orElse(null);
+                    if (newHoveredCluster == null) {
+                        newHovered = picker.pick(c, baseMap.zoom().get(), isClustering()).orElse(null);
+                    }
+                }
+                if (!Objects.equals(newHovered, hovered) || newHoveredCluster != hoveredCluster) {
+                    hovered = newHovered;
+                    hoveredCluster = newHoveredCluster;
+                    canvas.setCursor(hovered != null || hoveredCluster != null ? Cursor.HAND : Cursor.DEFAULT);
+                    markDirty();
+                }
+            });
+        }
+    }
+
+    private boolean isClustering() {
+        return config.isSubstationClustering().get();
+    }
+
+    private Optional<SubstationClusters.Cluster> pickCluster(Coordinate c) {
+        return isClustering() ? picker.pickCluster(c, baseMap.zoom().get(), MapPicker.DEFAULT_TOLERANCE) : Optional.empty();
+    }
+
+    /**
+     * Get zoom to zoom in on a cluster at, the first zoom substations are drawn individually at if it is a single one.
+     */
+    static double getClusterZoomIn(double zoom, SubstationClusters.Cluster cluster) {
+        int maxZoom = SubstationClusters.MAX_ZOOM + 1;
+        return cluster.getCount() > 1 ? Math.min(Math.floor(zoom) + CLUSTER_ZOOM_IN, maxZoom) : Math.max(zoom, maxZoom);
+    }
+
+    @Override
+    protected void onMapClick(Coordinate c) {
+        double zoom = baseMap.zoom().get();
+        Optional<SubstationClusters.Cluster> cluster = pickCluster(c);
+        if (cluster.isPresent()) {
+            mapView.setCenter(cluster.get().getLat(), cluster.get().getLon());
+            mapView.setZoom(getClusterZoomIn(zoom, cluster.get()));
+        } else {
+            selection.set(picker.pick(c, zoom, isClustering()).orElse(null));
+        }
+    }
+
+    private void highlight(GraphicsContext gc, MapSelection highlighted, Color color, double zoom) {
+        gc.setStroke(color);
+        gc.setFill(color);
+        if (highlighted.getType() == MapSelection.Type.SUBSTATION) {
+            SubstationGraphic substation = (SubstationGraphic) highlighted.getGraphic();
+            Point2D p = baseMap.getMapPoint(substation.getPosition().getLat(), substation.getPosition().getLon());
+            double size = SubstationLayer.getSize(zoom) + HIGHLIGHT_WIDTH;
+            gc.fillOval(p.getX() - size / 2, p.getY() - size / 2, size, size);
+        } else {
+            LineGraphic line = (LineGraphic) highlighted.getGraphic();
+            gc.beginPath();
+            for (BranchGraphic branch : line.getBranches()) {
+                for (int i = 0; i < branch.getPylonCount(); i++) {
+                    Point2D p = baseMap.getMapPoint(branch.getLat(i), branch.getLon(i));
+                    if (i == 0) {
+                        gc.moveTo(p.getX(), p.getY());
+                    } else {
+                        gc.lineTo(p.getX(), p.getY());
+                    }
+                }
+            }
+            gc.stroke();
+        }
+    }
+
+    @Override
+    protected void draw(GraphicsContext gc, Rectangle bounds, boolean fullRedraw) {
+        double zoom = baseMap.zoom().get();
+        gc.setLineWidth(HIGHLIGHT_WIDTH);
+        gc.setLineDashes(null);
+        if (hoveredCluster != null) {
+            Point2D p = baseMap.getMapPoint(hoveredCluster.getLat(), hoveredCluster.getLon());
+            double size = SubstationLayer.getClusterSize(zoom, hoveredCluster.getCount()) + HIGHLIGHT_WIDTH;
+            gc.setFill(HOVER_COLOR);
+            gc.fillOval(p.getX() - size / 2, p.getY() - size / 2, size, size);
+        }
+        if (hovered != null && !hovered.equals(selection.get())) {
+            highlight(gc, hovered, HOVER_COLOR, zoom);
+        }
+        if (selection.get() != null) {
+            highlight(gc, selection.get(), SELECTION_COLOR, zoom);
+        }
+    }
+}
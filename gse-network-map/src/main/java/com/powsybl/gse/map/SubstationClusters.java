@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import javafx.scene.paint.Color;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Substations aggregated on a screen grid, one level per integer zoom up to {@link #MAX_ZOOM}, computed once at load
+ * time so that drawing substations at low zoom costs one marker per cluster whatever the size of the network.
+ * <p>
+ * At a zoom, substations falling into the same {@link #CELL_SIZE} pixels cell of the Web Mercator grid form a
+ * cluster, drawn at the barycenter of its substations with the color of the most frequent base voltage.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class SubstationClusters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubstationClusters.class);
+
+    /**
+     * Highest zoom substations are clustered at, above substations are drawn individually.
+     */
+    public static final int MAX_ZOOM = 7;
+
+    static final double CELL_SIZE = 32;
+
+    /**
+     * Substations of a zoom level cell.
+     */
+    public static final class Cluster {
+
+        private final double lon;
+
+        private final double lat;
+
+        private final int count;
+
+        private final Color color;
+
+        private Cluster(double lon, double lat, int count, Color color) {
+            this.lon = lon;
+            this.lat = lat;
+            this.count = count;
+            this.color = Objects.requireNonNull(color);
+        }
+
+        public double getLon() {
+            return lon;
+        }
+
+        public double getLat() {
+            return lat;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+    }
+
+    /**
+     * Clusters of a zoom level, indexed by their grid cell.
+     */
+    public static final class Level {
+
+        private final int zoom;
+
+        private final Map<Long, Cluster> clustersByCell;
+
+        private final List<Cluster> clusters;
+
+        private final int maxCount;
+
+        private Level(int zoom, Map<Long, Cluster> clustersByCell) {
+            this.zoom = zoom;
+            this.clustersByCell = Objects.requireNonNull(clustersByCell);
+            clusters = new ArrayList<>(clustersByCell.values());
+            maxCount = clusters.stream().mapToInt(Cluster::getCount).max().orElse(0);
+        }
+
+        public int getZoom() {
+            return zoom;
+        }
+
+        public List<Cluster> getClusters() {
+            return clusters;
+        }
+
+        /**
+         * Get number of substations of the largest cluster.
+         */
+        public int getMaxCount() {
+            return maxCount;
+        }
+
+        /**
+         * Visit clusters located in {@code bounds}. Only the cells intersecting the bounds are looked up, extended by
+         * one cell on each side as a barycenter can be rounded onto the border of its cell.
+         */
+        public void search(Rectangle bounds, Consumer<Cluster> visitor) {
+            Objects.requireNonNull(bounds);
+            Objects.requireNonNull(visitor);
+            int minCellX = getCell(TileGrid.projectX(bounds.x1(), zoom) - CELL_SIZE, zoom);
+            int maxCellX = getCell(TileGrid.projectX(bounds.x2(), zoom) + CELL_SIZE, zoom);
+            int minCellY = getCell(TileGrid.projectY(bounds.y2(), zoom) - CELL_SIZE, zoom);
+            int maxCellY = getCell(TileGrid.projectY(bounds.y1(), zoom) + CELL_SIZE, zoom);
+            if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > clusters.size()) {
+                // bounds larger than the populated part of the grid
+                for (Cluster cluster : clusters) {
+                    if (bounds.contains(cluster.lon, cluster.lat)) {
+                        visitor.accept(cluster);
+                    }
+                }
+                return;
+            }
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    Cluster cluster = clustersByCell.get(getCellKey(cellX, cellY));
+                    if (cluster != null && bounds.contains(cluster.lon, cluster.lat)) {
+                        visitor.accept(cluster);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulator of the substations of a cell.
+     */
+    private static final class Cell {
+
+        private double x = 0;
+
+        private double y = 0;
+
+        private int count = 0;
+
+        // substation count by draw order, and first substation color of each draw order
+        private final Map<Integer, Integer> countByDrawOrder = new TreeMap<>();
+
+        private final Map<Integer, Color> colorByDrawOrder = new HashMap<>();
+
+        private void add(SubstationGraphic substation, double sx, double sy) {
+            x += sx;
+            y += sy;
+            count++;
+            countByDrawOrder.merge(substation.getDrawOrder(), 1, Integer::sum);
+            colorByDrawOrder.putIfAbsent(substation.getDrawOrder(), substation.getColor());
+        }
+
+        private Cluster toCluster(int zoom) {
+            // most frequent base voltage, highest voltage first in case of tie as draw orders are sorted
+            int dominantDrawOrder = -1;
+            int dominantCount = 0;
+            for (Map.Entry<Integer, Integer> e : countByDrawOrder.entrySet()) {
+                if (e.getValue() > dominantCount) {
+                    dominantDrawOrder = e.getKey();
+                    dominantCount = e.getValue();
+                }
+            }
+            return new Cluster(TileGrid.unprojectLon(x / count, zoom), TileGrid.unprojectLat(y / count, zoom), count,
+                               colorByDrawOrder.get(dominantDrawOrder));
+        }
+    }
+
+    private final List<Level> levels;
+
+    private SubstationClusters(List<Level> levels) {
+        this.levels = Objects.requireNonNull(levels);
+    }
+
+    /**
+     * Get grid cell of a projected coordinate, clamped to the world.
+     */
+    private static int getCell(double projected, int zoom) {
+        double cellCount = TileGrid.getWorldSize(zoom) / CELL_SIZE;
+        return (int) Math.max(0, Math.min(cellCount - 1, Math.floor(projected / CELL_SIZE)));
+    }
+
+    private static long getCellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private static Level buildLevel(Collection<SubstationGraphic> substations, int zoom) {
+        Map<Long, Cell> cells = new LinkedHashMap<>();
+        for (SubstationGraphic substation : substations) {
+            double x = TileGrid.projectX(substation.getPosition().getLon(), zoom);
+            double y = TileGrid.projectY(substation.getPosition().getLat(), zoom);
+            cells.computeIfAbsent(getCellKey(getCell(x, zoom), getCell(y, zoom)), k -> new Cell()).add(substation, x, y);
+        }
+        Map<Long, Cluster> clustersByCell = new LinkedHashMap<>(cells.size());
+        cells.forEach((key, cell) -> clustersByCell.put(key, cell.toCluster(zoom)));
+        return new Level(zoom, clustersByCell);
+    }
+
+    static SubstationClusters build(Collection<SubstationGraphic> substations) {
+        Objects.requireNonNull(substations);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        List<Level> levels = IntStream.rangeClosed(0, MAX_ZOOM)
+                .parallel()
+                .mapToObj(zoom -> buildLevel(substations, zoom))
+                .collect(Collectors.toList());
+
+        stopWatch.stop();
+        LOGGER.info("Substation clusters computed in {} ms ({} substations, {})", stopWatch.getTime(), substations.size(),
+                levels.stream().map(l -> l.getClusters().size() + " at zoom " + l.getZoom()).collect(Collectors.joining(", ")));
+
+        return new SubstationClusters(levels);
+    }
+
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Get level to use at a given zoom or null if substations have to be drawn individually.
+     */
+    public Level getLevel(double zoom) {
+        if (zoom >= MAX_ZOOM + 1) {
+            return null;
+        }
+        return levels.get(Math.max(0, (int) Math.floor(zoom)));
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar storage of substation positions, as read from open data CSV or from binary cache.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class SubstationData {
+
+    static final class Builder {
+
+        private String[] ids = new String[1024];
+
+        private byte[] baseVoltages = new byte[1024];
+
+        private double[] lons = new double[1024];
+
+        private double[] lats = new double[1024];
+
+        private int size = 0;
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int newCapacity = Math.max(capacity, ids.length * 2);
+                ids = Arrays.copyOf(ids, newCapacity);
+                baseVoltages = Arrays.copyOf(baseVoltages, newCapacity);
+                lons = Arrays.copyOf(lons, newCapacity);
+                lats = Arrays.copyOf(lats, newCapacity);
+            }
+        }
+
+        Builder add(String id, RteOpenData.BaseVoltage baseVoltage, double lon, double lat) {
+            Objects.requireNonNull(id);
+            Objects.requireNonNull(baseVoltage);
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            baseVoltages[size] = (byte) baseVoltage.ordinal();
+            lons[size] = lon;
+            lats[size] = lat;
+            size++;
+            return this;
+        }
+
+        /**
+         * Append substations of another builder, for instance one filled from another chunk of the same file.
+         * Columns are copied in bulk.
+         */
+        Builder addAll(Builder other) {
+            Objects.requireNonNull(other);
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.ids, 0, ids, size, other.size);
+            System.arraycopy(other.baseVoltages, 0, baseVoltages, size, other.size);
+            System.arraycopy(other.lons, 0, lons, size, other.size);
+            System.arraycopy(other.lats, 0, lats, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        /**
+         * Push substations of this builder to a handler, in insertion order.
+         */
+        void push(GeoDataHandler handler) {
+            Objects.requireNonNull(handler);
+            for (int i = 0; i < size; i++) {
+                handler.onSubstation(ids[i], RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[i]), lons[i], lats[i]);
+            }
+        }
+
+        SubstationData build() {
+            return new SubstationData(Arrays.copyOf(ids, size), Arrays.copyOf(baseVoltages, size),
+                                      Arrays.copyOf(lons, size), Arrays.copyOf(lats, size));
+        }
+    }
+
+    private final String[] ids;
+
+    private final byte[] baseVoltages;
+
+    private final double[] lons;
+
+    private final double[] lats;
+
+    SubstationData(String[] ids, byte[] baseVoltages, double[] lons, double[] lats) {
+        this.ids = Objects.requireNonNull(ids);
+        this.baseVoltages = Objects.requireNonNull(baseVoltages);
+        this.lons = Objects.requireNonNull(lons);
+        this.lats = Objects.requireNonNull(lats);
+        if (baseVoltages.length != ids.length || lons.length != ids.length || lats.length != ids.length) {
+            throw new IllegalArgumentException("Inconsistent substation columns size");
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    String[] getIds() {
+        return ids;
+    }
+
+    byte[] getBaseVoltages() {
+        return baseVoltages;
+    }
+
+    double[] getLons() {
+        return lons;
+    }
+
+    double[] getLats() {
+        return lats;
+    }
+
+    Map<String, SubstationGraphic> toGraphics() {
+        Map<String, SubstationGraphic> substations = new HashMap<>(ids.length * 4 / 3 + 1);
+        for (int i = 0; i < ids.length; i++) {
+            RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal(baseVoltages[i]);
+            substations.put(ids[i], new SubstationGraphic(ids[i], baseVoltage.getOrder(), baseVoltage.getColor(), new Coordinate(lons[i], lats[i])));
+        }
+        return substations;
+    }
+}
@@ -7,7 +7,6 @@
 package com.powsybl.gse.map;
 
 import com.github.davidmoten.rtree.geometry.Rectangle;
-import com.powsybl.iidm.network.Substation;
 import javafx.scene.paint.Color;
 
 import java.util.Objects;
@@ -19,14 +18,15 @@ public class SubstationGraphic implements IndexableGraphic {
 
     private final String id;
 
+    private final int drawOrder;
+
     private final Color color;
 
     private final Coordinate position;
 
-    private Substation model;
-
-    public SubstationGraphic(String id, Color color, Coordinate position) {
+    public SubstationGraphic(String id, int drawOrder, Color color, Coordinate position) {
         this.id = Objects.requireNonNull(id);
+        this.drawOrder = drawOrder;
         this.color = Objects.requireNonNull(color);
         this.position = Objects.requireNonNull(position);
     }
@@ -35,6 +35,13 @@ public class SubstationGraphic implements IndexableGraphic {
         return id;
     }
 
+    /**
+     * Get draw order of the substation base voltage, the highest voltage being the first.
+     */
+    public int getDrawOrder() {
+        return drawOrder;
+    }
+
     public Color getColor() {
         return color;
     }
@@ -43,14 +50,6 @@ public class SubstationGraphic implements IndexableGraphic {
         return position;
     }
 
-    public Substation getModel() {
-        return model;
-    }
-
-    public void setModel(Substation model) {
-        this.model = model;
-    }
-
     @Override
     public Rectangle getBoundingBox() {
         throw new AssertionError("TODO");
@@ -9,8 +9,6 @@ package com.powsybl.gse.map;
 import com.github.davidmoten.rtree.RTree;
 import com.github.davidmoten.rtree.geometry.Geometries;
 import com.github.davidmoten.rtree.geometry.Geometry;
-import com.github.davidmoten.rtree.geometry.Point;
-import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,20 +28,29 @@ public final class SubstationGraphicIndex {
         this.tree = Objects.requireNonNull(tree);
     }
 
-    public static SubstationGraphicIndex build(Collection<SubstationGraphic> substations) {
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
+    private static RTree.Builder newTreeBuilder() {
+        return RTree.maxChildren(4);
+    }
 
-        RTree<SubstationGraphic, Geometry> tree = RTree.create();
-        for (SubstationGraphic substation : substations) {
-            Point point = Geometries.pointGeographic(substation.getPosition().getLon(),
-                    substation.getPosition().getLat());
-            tree = tree.add(substation, point);
-        }
+    private static Geometry getGeometry(SubstationGraphic substation) {
+        return Geometries.pointGeographic(substation.getPosition().getLon(), substation.getPosition().getLat());
+    }
 
-        LOGGER.info("Substation R-tree built in {} ms", stopWatch.getTime());
+    public static SubstationGraphicIndex build(Collection<SubstationGraphic> substations) {
+        return build(substations, IndexBuildMode.BULK);
+    }
+
+    public static SubstationGraphicIndex build(Collection<SubstationGraphic> substations, IndexBuildMode mode) {
+        return new SubstationGraphicIndex(GraphicIndexes.build(substations, SubstationGraphicIndex::getGeometry,
+                SubstationGraphicIndex::newTreeBuilder, mode, "Substation", LOGGER));
+    }
 
-        return new SubstationGraphicIndex(tree);
+    /**
+     * Create a new index including an additional substation, this index being left unchanged.
+     */
+    public SubstationGraphicIndex add(SubstationGraphic substation) {
+        Objects.requireNonNull(substation);
+        return new SubstationGraphicIndex(tree.add(substation, getGeometry(substation)));
     }
 
     public RTree<SubstationGraphic, Geometry> getTree() {
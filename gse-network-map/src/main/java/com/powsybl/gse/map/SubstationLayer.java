@@ -6,17 +6,22 @@
  */
 package com.powsybl.gse.map;
 
+import com.github.davidmoten.rtree.geometry.Rectangle;
 import com.gluonhq.maps.MapView;
 import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
 import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -27,48 +32,253 @@ public class SubstationLayer extends CanvasBasedLayer {
 
     private static final Color UNMAPPED_SUBSTATION_COLOR = Color.GRAY;
 
+    private static final double LABEL_SHOW_ZOOM_THRESHOLD = 9;
+
+    private static final Font LABEL_FONT = Font.font(11);
+
+    private static final double LABEL_OFFSET = 10;
+
+    private static final Font CLUSTER_FONT = Font.font(9);
+
+    private static final Color CLUSTER_TEXT_COLOR = Color.WHITE;
+
     private final SubstationGraphicIndex substationIndex;
 
-    public SubstationLayer(MapView mapView, SubstationGraphicIndex substationIndex) {
+    private final SubstationClusters clusters;
+
+    private final GraphicModelMapping mapping;
+
+    private final NetworkMapConfig config;
+
+    private final TileRenderer tileRenderer;
+
+    // drawing mode of the current canvas content
+    private boolean canvasTileRendering;
+
+    private boolean canvasClustering;
+
+    // clustering mode tiles are rasterized with, only written from the application thread
+    private volatile boolean tileClustering;
+
+    // label width by substation id, measuring text being costly
+    private final Map<String, Double> labelWidths = new HashMap<>();
+
+    private final Text labelText = new Text();
+
+    private double labelHeight = Double.NaN;
+
+    // mapped substations labels first, then by decreasing voltage
+    private final Comparator<SubstationGraphic> labelPriority;
+
+    public SubstationLayer(MapView mapView, SubstationGraphicIndex substationIndex, SubstationClusters clusters,
+                           GraphicModelMapping mapping, RenderScheduler renderScheduler, Executor executor,
+                           NetworkMapConfig config) {
         super(mapView);
         this.substationIndex = Objects.requireNonNull(substationIndex);
+        this.clusters = Objects.requireNonNull(clusters);
+        this.mapping = Objects.requireNonNull(mapping);
+        this.config = Objects.requireNonNull(config);
+        // tiles drawn in a strip may be placeholders, so ready tiles are drawn with a full redraw
+        tileRenderer = new TileRenderer(executor, renderScheduler, this::paintTile, () -> {
+            invalidateCanvas();
+            markDirty();
+        });
+        labelText.setFont(LABEL_FONT);
+        tileClustering = config.isSubstationClustering().get();
+        labelPriority = Comparator.comparing((SubstationGraphic substation) -> !mapping.isMapped(substation))
+                .thenComparingInt(SubstationGraphic::getDrawOrder)
+                .thenComparing(SubstationGraphic::getId);
+    }
+
+    static double getSize(double zoom) {
+        return zoom < 8 ? zoom / 2 : zoom;
+    }
+
+    /**
+     * Get size of the marker of a cluster of {@code count} substations, growing with the logarithm of the count.
+     */
+    static double getClusterSize(double zoom, int count) {
+        return count <= 1 ? getSize(zoom) : getSize(zoom) + 3 * Math.log(count) / Math.log(2);
+    }
+
+    private SubstationClusters.Level getClusterLevel(double zoom, boolean clustering) {
+        return clustering ? clusters.getLevel(zoom) : null;
+    }
+
+    /**
+     * Rasterize substations of a tile, called from a tile renderer worker thread.
+     */
+    private void paintTile(TileRaster raster, int zoom, int x, int y, double originX, double originY) {
+        SubstationClusters.Level level = getClusterLevel(zoom, tileClustering);
+        if (level != null) {
+            level.search(TileGrid.getTileBounds(zoom, x, y, getClusterSize(zoom, level.getMaxCount())), cluster ->
+                raster.fillCircle(TileGrid.projectX(cluster.getLon(), zoom) - originX,
+                                  TileGrid.projectY(cluster.getLat(), zoom) - originY,
+                                  getClusterSize(zoom, cluster.getCount()) / 2, TileRaster.toArgb(cluster.getColor())));
+            return;
+        }
+        double size = getSize(zoom);
+        int unmappedArgb = TileRaster.toArgb(UNMAPPED_SUBSTATION_COLOR);
+        substationIndex.getTree().search(TileGrid.getTileBounds(zoom, x, y, size))
+                .toBlocking()
+                .forEach(e -> {
+                    SubstationGraphic substation = e.value();
+                    int argb = mapping.isMapped(substation) ? TileRaster.toArgb(substation.getColor()) : unmappedArgb;
+                    raster.fillCircle(TileGrid.projectX(substation.getPosition().getLon(), zoom) - originX,
+                                      TileGrid.projectY(substation.getPosition().getLat(), zoom) - originY,
+                                      size / 2, argb);
+                });
+    }
+
+    @Override
+    protected boolean isIncrementalRedrawEnabled() {
+        // label placement depends on all the visible labels, they cannot be placed strip by strip
+        return config.isIncrementalRedraw().get()
+                && config.isTileRendering().get() == canvasTileRendering
+                && config.isSubstationClustering().get() == canvasClustering
+                && baseMap.zoom().get() <= LABEL_SHOW_ZOOM_THRESHOLD;
     }
 
     @Override
-    protected void layoutLayer() {
-        super.layoutLayer();
+    protected double getDrawMargin() {
+        double zoom = baseMap.zoom().doubleValue();
+        SubstationClusters.Level level = getClusterLevel(zoom, config.isSubstationClustering().get());
+        return level != null ? getClusterSize(zoom, level.getMaxCount()) : getSize(zoom);
+    }
+
+    /**
+     * Draw one marker per cluster, with its substation count. Markers are skipped if already rasterized as tiles.
+     */
+    private int drawClusters(GraphicsContext gc, Rectangle bounds, SubstationClusters.Level level, double zoom,
+                             boolean tileRendering) {
+        int[] drawnClusters = new int[1];
+        gc.save();
+        gc.setFont(CLUSTER_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        level.search(bounds, cluster -> {
+            Point2D p = baseMap.getMapPoint(cluster.getLat(), cluster.getLon());
+            if (!tileRendering) {
+                double size = getClusterSize(zoom, cluster.getCount());
+                gc.setFill(cluster.getColor());
+                gc.fillOval(p.getX() - size / 2, p.getY() - size / 2, size, size);
+            }
+            if (cluster.getCount() > 1) {
+                gc.setFill(CLUSTER_TEXT_COLOR);
+                gc.fillText(Integer.toString(cluster.getCount()), p.getX(), p.getY());
+            }
+            drawnClusters[0]++;
+        });
+        gc.restore();
+        return drawnClusters[0];
+    }
+
+    private double getLabelWidth(String label) {
+        return labelWidths.computeIfAbsent(label, l -> {
+            labelText.setText(l);
+            return labelText.getLayoutBounds().getWidth();
+        });
+    }
+
+    private double getLabelHeight() {
+        if (Double.isNaN(labelHeight)) {
+            labelText.setText("Xg");
+            labelHeight = labelText.getLayoutBounds().getHeight();
+        }
+        return labelHeight;
+    }
+
+    /**
+     * Draw labels of substations that do not overlap a label of a substation with a higher priority.
+     */
+    private void drawLabels(GraphicsContext gc, List<SubstationGraphic> substations, int[] placedAndCulled) {
+        substations.sort(labelPriority);
+        LabelPlacement placement = new LabelPlacement(canvas.getWidth(), canvas.getHeight());
+        double height = getLabelHeight();
+        for (SubstationGraphic substation : substations) {
+            Point2D p = baseMap.getMapPoint(substation.getPosition().getLat(), substation.getPosition().getLon());
+            double x = p.getX() + LABEL_OFFSET;
+            double y = p.getY() + LABEL_OFFSET;
+            // text is drawn from its baseline, the placed box starts from its top
+            if (placement.place(x, y - LABEL_FONT.getSize(), getLabelWidth(substation.getId()), height)) {
+                gc.setFill(mapping.isMapped(substation) ? substation.getColor() : UNMAPPED_SUBSTATION_COLOR);
+                gc.fillText(substation.getId(), x, y);
+            }
+        }
+        placedAndCulled[0] = placement.getPlacedCount();
+        placedAndCulled[1] = placement.getCulledCount();
+    }
+
+    @Override
+    protected void draw(GraphicsContext gc, Rectangle bounds, boolean fullRedraw) {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        GraphicsContext gc = canvas.getGraphicsContext2D();
         gc.setLineWidth(1);
-        gc.setFont(Font.font(11));
+        gc.setFont(LABEL_FONT);
 
         double zoom = baseMap.zoom().doubleValue();
-        double size = zoom < 8 ? zoom / 2 : zoom;
+        double size = getSize(zoom);
+        boolean showLabels = zoom > LABEL_SHOW_ZOOM_THRESHOLD;
+
+        boolean tileRendering = config.isTileRendering().get();
+        canvasTileRendering = tileRendering;
+        boolean clustering = config.isSubstationClustering().get();
+        canvasClustering = clustering;
+        SubstationClusters.Level level = getClusterLevel(zoom, clustering);
+        if (tileRendering) {
+            if (clustering != tileClustering) {
+                tileClustering = clustering;
+                tileRenderer.invalidate();
+            }
+            tileRenderer.draw(gc, zoom, baseMap.getTranslateX(), baseMap.getTranslateY(), canvas.getWidth(), canvas.getHeight(),
+                              bounds);
+            if (!showLabels && level == null) {
+                return;
+            }
+            // labels and cluster counts are not rasterized, but there are only a few of them visible
+        }
+
+        if (level != null) {
+            int drawnClusters = drawClusters(gc, bounds, level, zoom, tileRendering);
+            stopWatch.stop();
+            MapMetrics.getInstance().counter("substations.drawnClusters").increment(drawnClusters);
+            LOGGER.debug("{} substation clusters drawn in {} ms", drawnClusters, stopWatch.getTime());
+            return;
+        }
 
-        int[] drawnSubstations = new int[1];
+        List<SubstationGraphic> substations = new ArrayList<>();
 
-        substationIndex.getTree().search(getMapBounds())
+        substationIndex.getTree().search(bounds)
                 .toBlocking()
                 .toIterable()
                 .forEach(e -> {
                     SubstationGraphic substation = e.value();
-                    Point2D p = baseMap.getMapPoint(substation.getPosition().getLat(),
-                                                    substation.getPosition().getLon());
-                    if (Objects.isNull(substation.getModel())) {
-                        gc.setFill(UNMAPPED_SUBSTATION_COLOR);
-                    } else {
-                        gc.setFill(substation.getColor());
+                    if (!tileRendering) {
+                        Point2D p = baseMap.getMapPoint(substation.getPosition().getLat(),
+                                                        substation.getPosition().getLon());
+                        if (!mapping.isMapped(substation)) {
+                            gc.setFill(UNMAPPED_SUBSTATION_COLOR);
+                        } else {
+                            gc.setFill(substation.getColor());
+                        }
+                        gc.fillArc(p.getX() - size / 2, p.getY() - size / 2, size, size, 0, 360, ArcType.ROUND);
                     }
-                    gc.fillArc(p.getX() - size / 2, p.getY() - size / 2, size, size, 0, 360, ArcType.ROUND);
-                    if (zoom > 9) {
-                        gc.fillText(substation.getId(), p.getX() + 10, p.getY() + 10);
-                    }
-                    drawnSubstations[0]++;
+                    substations.add(substation);
                 });
 
+        int[] placedAndCulled = new int[2];
+        if (showLabels) {
+            drawLabels(gc, substations, placedAndCulled);
+        }
+
         stopWatch.stop();
-        LOGGER.info("{} substations drawn in {} ms ", drawnSubstations[0], stopWatch.getTime());
+        MapMetrics.getInstance().counter("substations.drawn").increment(substations.size());
+        if (fullRedraw) {
+            LOGGER.info("{} substations drawn in {} ms ({} labels placed, {} culled)", substations.size(),
+                        stopWatch.getTime(), placedAndCulled[0], placedAndCulled[1]);
+        } else {
+            LOGGER.debug("{} substations redrawn in {} ms ", substations.size(), stopWatch.getTime());
+        }
     }
 }
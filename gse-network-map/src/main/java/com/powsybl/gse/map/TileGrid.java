@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Geometries;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+
+/**
+ * Web Mercator projection of the map tile grid: at zoom {@code z}, the world is {@code 2^z} tiles of
+ * {@link #TILE_SIZE} pixels wide and high.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class TileGrid {
+
+    static final int TILE_SIZE = 256;
+
+    private TileGrid() {
+    }
+
+    static double getWorldSize(double zoom) {
+        return TILE_SIZE * Math.pow(2, zoom);
+    }
+
+    static double projectX(double lon, double zoom) {
+        return (lon + 180) / 360 * getWorldSize(zoom);
+    }
+
+    static double projectY(double lat, double zoom) {
+        double latRad = Math.toRadians(lat);
+        return (1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * getWorldSize(zoom);
+    }
+
+    static double unprojectLon(double x, double zoom) {
+        return x / getWorldSize(zoom) * 360.0 - 180.0;
+    }
+
+    static double unprojectLat(double y, double zoom) {
+        double latRad = Math.atan(Math.sinh(Math.PI * (1 - 2 * y / getWorldSize(zoom))));
+        return latRad * 180.0 / Math.PI;
+    }
+
+    /**
+     * Get geographic bounds of a tile, extended by {@code margin} pixels on each side.
+     */
+    static Rectangle getTileBounds(int zoom, int x, int y, double margin) {
+        double minX = (double) x * TILE_SIZE - margin;
+        double maxX = (double) (x + 1) * TILE_SIZE + margin;
+        double minY = (double) y * TILE_SIZE - margin;
+        double maxY = (double) (y + 1) * TILE_SIZE + margin;
+        return Geometries.rectangleGeographic(unprojectLon(minX, zoom), unprojectLat(maxY, zoom),
+                                              unprojectLon(maxX, zoom), unprojectLat(minY, zoom));
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Square ARGB pixel buffer a tile is rasterized into. Unlike a JavaFX canvas, it can be drawn from any thread.
+ * Shapes are drawn with opaque colors, without anti-aliasing, and are clipped to the buffer.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class TileRaster {
+
+    private final int size;
+
+    private final int[] pixels;
+
+    TileRaster(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid raster size: " + size);
+        }
+        this.size = size;
+        pixels = new int[size * size];
+    }
+
+    static int toArgb(Color color) {
+        Objects.requireNonNull(color);
+        return ((int) Math.round(color.getOpacity() * 255) << 24)
+                | ((int) Math.round(color.getRed() * 255) << 16)
+                | ((int) Math.round(color.getGreen() * 255) << 8)
+                | (int) Math.round(color.getBlue() * 255);
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int[] getPixels() {
+        return pixels;
+    }
+
+    int getPixel(int x, int y) {
+        return pixels[y * size + x];
+    }
+
+    void clear() {
+        Arrays.fill(pixels, 0);
+    }
+
+    private void fillBlock(int x, int y, int width, int argb) {
+        int minX = Math.max(0, x);
+        int maxX = Math.min(size, x + width);
+        int minY = Math.max(0, y);
+        int maxY = Math.min(size, y + width);
+        for (int j = minY; j < maxY; j++) {
+            int offset = j * size;
+            for (int i = minX; i < maxX; i++) {
+                pixels[offset + i] = argb;
+            }
+        }
+    }
+
+    /**
+     * Draw a segment of {@code width} pixels, and dashed if {@code dashes} (alternating on and off lengths, starting
+     * at segment start as for a canvas stroke) is not empty.
+     */
+    void drawLine(double x1, double y1, double x2, double y2, int argb, int width, double... dashes) {
+        double margin = width;
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+
+        // Liang-Barsky clipping of the segment parameter range to the raster extended by the line width
+        double[] range = {0, 1};
+        if (!clip(-dx, x1 + margin, range) || !clip(dx, size + margin - x1, range)
+                || !clip(-dy, y1 + margin, range) || !clip(dy, size + margin - y1, range)) {
+            return;
+        }
+
+        double length = Math.sqrt(dx * dx + dy * dy);
+        int steps = (int) Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)) * (range[1] - range[0]));
+        int offset = width / 2;
+        double dashLength = 0;
+        for (double dash : dashes) {
+            dashLength += dash;
+        }
+        for (int s = 0; s <= steps; s++) {
+            double t = steps == 0 ? range[0] : range[0] + (range[1] - range[0]) * s / steps;
+            if (dashLength > 0 && !isDashOn(t * length % dashLength, dashes)) {
+                continue;
+            }
+            fillBlock((int) Math.floor(x1 + dx * t) - offset, (int) Math.floor(y1 + dy * t) - offset, width, argb);
+        }
+    }
+
+    private static boolean clip(double p, double q, double[] range) {
+        if (p == 0) {
+            return q >= 0;
+        }
+        double r = q / p;
+        if (p < 0) {
+            if (r > range[1]) {
+                return false;
+            }
+            range[0] = Math.max(range[0], r);
+        } else {
+            if (r < range[0]) {
+                return false;
+            }
+            range[1] = Math.min(range[1], r);
+        }
+        return true;
+    }
+
+    private static boolean isDashOn(double position, double[] dashes) {
+        double end = 0;
+        for (int i = 0; i < dashes.length; i++) {
+            end += dashes[i];
+            if (position < end) {
+                return i % 2 == 0;
+            }
+        }
+        return true;
+    }
+
+    void fillCircle(double cx, double cy, double radius, int argb) {
+        int minX = Math.max(0, (int) Math.floor(cx - radius));
+        int maxX = Math.min(size - 1, (int) Math.ceil(cx + radius));
+        int minY = Math.max(0, (int) Math.floor(cy - radius));
+        int maxY = Math.min(size - 1, (int) Math.ceil(cy + radius));
+        double radius2 = radius * radius;
+        for (int j = minY; j <= maxY; j++) {
+            double py = j + 0.5 - cy;
+            int offset = j * size;
+            for (int i = minX; i <= maxX; i++) {
+                double px = i + 0.5 - cx;
+                if (px * px + py * py <= radius2) {
+                    pixels[offset + i] = argb;
+                }
+            }
+        }
+    }
+}
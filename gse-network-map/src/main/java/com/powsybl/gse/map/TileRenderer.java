@@ -0,0 +1,361 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import javafx.application.Platform;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * Render a layer as {@link TileGrid} tiles rasterized on worker threads, so that the JavaFX application thread
+ * only has to blit already rasterized tiles.
+ * <p>
+ * Rasterized tiles are cached per zoom level with a LRU eviction. Missing visible tiles are queued and rasterized
+ * by at most one job per processor. Until a tile is ready, the tile of the previous zoom level covering it, if
+ * cached, is drawn scaled instead.
+ * <p>
+ * Rasterized tiles are converted to images on the JavaFX application thread by a {@link RenderScheduler} task, so
+ * that a burst of tiles is spread over several pulses instead of stalling one. If the task is dropped by a
+ * {@link RenderScheduler#cancel()}, it is submitted again at next draw.
+ * <p>
+ * Except {@link TilePainter#paint}, all methods have to be called from the JavaFX application thread.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+final class TileRenderer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TileRenderer.class);
+
+    static final int DEFAULT_CAPACITY_PER_ZOOM = 128;
+
+    // tiles are already rasterized, their upload comes before the drawing of the time sliced layers
+    static final int UPLOAD_PRIORITY = Integer.MIN_VALUE;
+
+    private static final int MAX_CACHED_ZOOM_COUNT = 3;
+
+    private static final int MAX_ZOOM = 20;
+
+    @FunctionalInterface
+    interface TilePainter {
+
+        /**
+         * Rasterize a tile, called from a worker thread. {@code originX} and {@code originY} are the world pixel
+         * coordinates, at tile zoom, of the raster top left corner.
+         */
+        void paint(TileRaster raster, int zoom, int x, int y, double originX, double originY);
+    }
+
+    static final class TileKey {
+
+        private final int zoom;
+
+        private final int x;
+
+        private final int y;
+
+        TileKey(int zoom, int x, int y) {
+            this.zoom = zoom;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof TileKey) {
+                TileKey other = (TileKey) obj;
+                return zoom == other.zoom && x == other.x && y == other.y;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(zoom, x, y);
+        }
+
+        @Override
+        public String toString() {
+            return zoom + "/" + x + "/" + y;
+        }
+    }
+
+    private static final class RasterizedTile {
+
+        private final TileKey key;
+
+        private final TileRaster raster;
+
+        private RasterizedTile(TileKey key, TileRaster raster) {
+            this.key = key;
+            this.raster = raster;
+        }
+    }
+
+    private final Executor executor;
+
+    private final RenderScheduler scheduler;
+
+    private final TilePainter painter;
+
+    private final Runnable onTileReady;
+
+    private final int capacityPerZoom;
+
+    private final int maxJobCount = Runtime.getRuntime().availableProcessors();
+
+    // zoom level caches, in least recently used order
+    private final LinkedHashMap<Integer, LinkedHashMap<TileKey, WritableImage>> caches = new LinkedHashMap<>(16, 0.75f, true);
+
+    // tiles waiting for a job, the first one being the next to be rasterized
+    private final Deque<TileKey> queue = new ArrayDeque<>();
+
+    private final Set<TileKey> queued = new HashSet<>();
+
+    private Set<TileKey> visible = Collections.emptySet();
+
+    // rasterized tiles waiting to be uploaded as images
+    private final Deque<RasterizedTile> uploads = new ArrayDeque<>();
+
+    private boolean uploadScheduled = false;
+
+    // scheduler generation the upload task has been submitted at
+    private int uploadGeneration;
+
+    private int jobCount = 0;
+
+    private boolean readyNotified = false;
+
+    // incremented each time already rasterized or queued tiles become invalid
+    private volatile int generation = 0;
+
+    TileRenderer(Executor executor, RenderScheduler scheduler, TilePainter painter, Runnable onTileReady) {
+        this(executor, scheduler, painter, onTileReady, DEFAULT_CAPACITY_PER_ZOOM);
+    }
+
+    TileRenderer(Executor executor, RenderScheduler scheduler, TilePainter painter, Runnable onTileReady,
+                 int capacityPerZoom) {
+        this.executor = Objects.requireNonNull(executor);
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.painter = Objects.requireNonNull(painter);
+        this.onTileReady = Objects.requireNonNull(onTileReady);
+        if (capacityPerZoom <= 0) {
+            throw new IllegalArgumentException("Invalid capacity per zoom: " + capacityPerZoom);
+        }
+        this.capacityPerZoom = capacityPerZoom;
+    }
+
+    static int getTileZoom(double zoom) {
+        return Math.max(0, Math.min(MAX_ZOOM, (int) Math.round(zoom)));
+    }
+
+    private LinkedHashMap<TileKey, WritableImage> getCache(int zoom) {
+        LinkedHashMap<TileKey, WritableImage> cache = caches.get(zoom);
+        if (cache == null) {
+            cache = new LinkedHashMap<TileKey, WritableImage>(capacityPerZoom * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TileKey, WritableImage> eldest) {
+                    return size() > capacityPerZoom;
+                }
+            };
+            caches.put(zoom, cache);
+            if (caches.size() > MAX_CACHED_ZOOM_COUNT) {
+                Iterator<Integer> it = caches.keySet().iterator();
+                it.next();
+                it.remove();
+            }
+        }
+        return cache;
+    }
+
+    private WritableImage getCachedTile(TileKey key) {
+        LinkedHashMap<TileKey, WritableImage> cache = caches.get(key.zoom);
+        return cache != null ? cache.get(key) : null;
+    }
+
+    /**
+     * Draw visible tiles of the viewport intersecting some bounds and queue the missing visible ones.
+     *
+     * @param zoom map zoom
+     * @param translateX x position of the world origin in the viewport
+     * @param translateY y position of the world origin in the viewport
+     * @param bounds geographic bounds of the redrawn area, for instance a strip exposed by a pan
+     */
+    void draw(GraphicsContext gc, double zoom, double translateX, double translateY, double width, double height,
+              Rectangle bounds) {
+        Objects.requireNonNull(bounds);
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        int tileZoom = getTileZoom(zoom);
+        double scale = Math.pow(2, zoom - tileZoom);
+        double tileSize = TileGrid.TILE_SIZE * scale;
+        int tileCount = 1 << tileZoom;
+        int minX = Math.max(0, (int) Math.floor(-translateX / tileSize));
+        int maxX = Math.min(tileCount - 1, (int) Math.floor((width - translateX) / tileSize));
+        int minY = Math.max(0, (int) Math.floor(-translateY / tileSize));
+        int maxY = Math.min(tileCount - 1, (int) Math.floor((height - translateY) / tileSize));
+
+        Set<TileKey> newVisible = new HashSet<>();
+        List<TileKey> missing = new ArrayList<>();
+        int drawnCount = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                TileKey key = new TileKey(tileZoom, x, y);
+                newVisible.add(key);
+                WritableImage image = getCachedTile(key);
+                if (image == null) {
+                    missing.add(key);
+                }
+                if (!TileGrid.getTileBounds(tileZoom, x, y, 0).intersects(bounds)) {
+                    continue;
+                }
+                double screenX = translateX + x * tileSize;
+                double screenY = translateY + y * tileSize;
+                if (image != null) {
+                    gc.drawImage(image, screenX, screenY, tileSize, tileSize);
+                    drawnCount++;
+                } else {
+                    drawParentTile(gc, key, screenX, screenY, tileSize);
+                }
+            }
+        }
+        visible = newVisible;
+
+        // queued tiles that are not visible anymore are useless
+        queue.removeIf(key -> !newVisible.contains(key));
+        queued.retainAll(newVisible);
+        for (TileKey key : missing) {
+            if (queued.add(key)) {
+                queue.addLast(key);
+            }
+        }
+        pump();
+        scheduleUploads();
+
+        stopWatch.stop();
+        MapMetrics metrics = MapMetrics.getInstance();
+        metrics.timer("tiles.draw").record(stopWatch.getNanoTime());
+        metrics.gauge("tiles.queueDepth").set(queue.size());
+        LOGGER.debug("{} tiles drawn, {} missing at zoom {} in {} ms", drawnCount, missing.size(), tileZoom,
+                stopWatch.getTime());
+    }
+
+    private void drawParentTile(GraphicsContext gc, TileKey key, double screenX, double screenY, double tileSize) {
+        if (key.zoom == 0) {
+            return;
+        }
+        WritableImage parent = getCachedTile(new TileKey(key.zoom - 1, key.x / 2, key.y / 2));
+        if (parent != null) {
+            double half = TileGrid.TILE_SIZE / 2.0;
+            gc.drawImage(parent, (key.x % 2) * half, (key.y % 2) * half, half, half, screenX, screenY, tileSize, tileSize);
+        }
+    }
+
+    private void pump() {
+        while (jobCount < maxJobCount && !queue.isEmpty()) {
+            TileKey key = queue.removeFirst();
+            int jobGeneration = generation;
+            jobCount++;
+            executor.execute(() -> rasterize(key, jobGeneration));
+        }
+    }
+
+    private void rasterize(TileKey key, int jobGeneration) {
+        TileRaster raster = null;
+        try {
+            if (jobGeneration == generation) {
+                raster = new TileRaster(TileGrid.TILE_SIZE);
+                painter.paint(raster, key.zoom, key.x, key.y, (double) key.x * TileGrid.TILE_SIZE,
+                              (double) key.y * TileGrid.TILE_SIZE);
+            }
+        } catch (Exception e) {
+            LOGGER.error(e.toString(), e);
+            raster = null;
+        }
+        TileRaster result = raster;
+        Platform.runLater(() -> publish(key, jobGeneration, result));
+    }
+
+    private void publish(TileKey key, int jobGeneration, TileRaster raster) {
+        jobCount--;
+        if (jobGeneration != generation) {
+            // tile has been invalidated while being rasterized, it might have been queued again since
+            pump();
+            return;
+        }
+        if (raster != null) {
+            // stays queued until uploaded, so that it is not rasterized again meanwhile
+            uploads.addLast(new RasterizedTile(key, raster));
+            scheduleUploads();
+        } else {
+            queued.remove(key);
+        }
+        pump();
+    }
+
+    private void scheduleUploads() {
+        if (uploads.isEmpty() || uploadScheduled && uploadGeneration == scheduler.getGeneration()) {
+            return;
+        }
+        uploadScheduled = true;
+        uploadGeneration = scheduler.getGeneration();
+        scheduler.submit(UPLOAD_PRIORITY, this::upload);
+    }
+
+    private boolean upload(long deadline) {
+        boolean visibleUploaded = false;
+        while (!uploads.isEmpty()) {
+            RasterizedTile tile = uploads.removeFirst();
+            queued.remove(tile.key);
+            int size = tile.raster.getSize();
+            WritableImage image = new WritableImage(size, size);
+            image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), tile.raster.getPixels(), 0, size);
+            getCache(tile.key.zoom).put(tile.key, image);
+            visibleUploaded |= visible.contains(tile.key);
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        if (visibleUploaded && !readyNotified) {
+            // one redraw for all the tiles uploaded during the same pulse
+            readyNotified = true;
+            Platform.runLater(() -> {
+                readyNotified = false;
+                onTileReady.run();
+            });
+        }
+        if (uploads.isEmpty()) {
+            uploadScheduled = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop all rasterized and queued tiles, for instance because of a change of the drawing parameters.
+     */
+    void invalidate() {
+        generation++;
+        caches.clear();
+        queue.clear();
+        queued.clear();
+        uploads.clear();
+    }
+
+    int getCachedTileCount(int zoom) {
+        LinkedHashMap<TileKey, WritableImage> cache = caches.get(zoom);
+        return cache != null ? cache.size() : 0;
+    }
+}
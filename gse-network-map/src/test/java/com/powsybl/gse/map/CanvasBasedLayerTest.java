@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CanvasBasedLayerTest {
+
+    private static final double WIDTH = 40;
+
+    private static final double HEIGHT = 30;
+
+    @Test
+    public void testNoShift() {
+        assertTrue(CanvasBasedLayer.getExposedAreas(0, 0, WIDTH, HEIGHT).isEmpty());
+    }
+
+    @Test
+    public void testHorizontalShift() {
+        List<double[]> areas = CanvasBasedLayer.getExposedAreas(10, 0, WIDTH, HEIGHT);
+        assertEquals(1, areas.size());
+        assertArrayEquals(new double[] {0, 0, 10, HEIGHT}, areas.get(0), 0);
+
+        areas = CanvasBasedLayer.getExposedAreas(-10, 0, WIDTH, HEIGHT);
+        assertEquals(1, areas.size());
+        assertArrayEquals(new double[] {30, 0, 10, HEIGHT}, areas.get(0), 0);
+    }
+
+    @Test
+    public void testVerticalShift() {
+        List<double[]> areas = CanvasBasedLayer.getExposedAreas(0, 5, WIDTH, HEIGHT);
+        assertEquals(1, areas.size());
+        assertArrayEquals(new double[] {0, 0, WIDTH, 5}, areas.get(0), 0);
+
+        areas = CanvasBasedLayer.getExposedAreas(0, -5, WIDTH, HEIGHT);
+        assertEquals(1, areas.size());
+        assertArrayEquals(new double[] {0, 25, WIDTH, 5}, areas.get(0), 0);
+    }
+
+    @Test
+    public void testDiagonalShift() {
+        List<double[]> areas = CanvasBasedLayer.getExposedAreas(-10, 5, WIDTH, HEIGHT);
+        assertEquals(2, areas.size());
+        assertArrayEquals(new double[] {30, 0, 10, HEIGHT}, areas.get(0), 0);
+        assertArrayEquals(new double[] {0, 0, 30, 5}, areas.get(1), 0);
+    }
+
+    private static int countAreasContaining(List<double[]> areas, double x, double y) {
+        int count = 0;
+        for (double[] area : areas) {
+            if (x >= area[0] && x < area[0] + area[2] && y >= area[1] && y < area[1] + area[3]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testCoverage() {
+        // each pixel is either covered by the shifted content or redrawn once
+        int[] shifts = {-39, -12, -1, 0, 1, 7, 29};
+        for (int dx : shifts) {
+            for (int dy : shifts) {
+                List<double[]> areas = CanvasBasedLayer.getExposedAreas(dx, dy, WIDTH, HEIGHT);
+                for (int x = 0; x < WIDTH; x++) {
+                    for (int y = 0; y < HEIGHT; y++) {
+                        boolean shifted = x - dx >= 0 && x - dx < WIDTH && y - dy >= 0 && y - dy < HEIGHT;
+                        assertEquals("shift (" + dx + ", " + dy + "), pixel (" + x + ", " + y + ")",
+                                     shifted ? 0 : 1, countAreasContaining(areas, x + 0.5, y + 0.5));
+                    }
+                }
+            }
+        }
+    }
+}
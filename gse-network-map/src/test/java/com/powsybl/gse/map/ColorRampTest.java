@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.scene.paint.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class ColorRampTest {
+
+    @Test
+    public void test() {
+        ColorRamp ramp = ColorRamp.LOADING;
+        assertEquals(4, ramp.getBucketCount());
+        assertEquals(ColorRamp.NO_BUCKET, ramp.getBucket(Double.NaN));
+        assertEquals(0, ramp.getBucket(-10));
+        assertEquals(0, ramp.getBucket(49.9));
+        assertEquals(1, ramp.getBucket(50));
+        assertEquals(2, ramp.getBucket(99));
+        assertEquals(3, ramp.getBucket(100));
+        assertEquals(3, ramp.getBucket(250));
+        assertEquals(Color.RED, ramp.getColor(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidColorCount() {
+        new ColorRamp(new double[] {1, 2}, Color.RED, Color.GREEN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThresholds() {
+        new ColorRamp(new double[] {2, 1}, Color.RED, Color.GREEN, Color.BLUE);
+    }
+}
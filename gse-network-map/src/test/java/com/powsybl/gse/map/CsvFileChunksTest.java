@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class CsvFileChunksTest {
+
+    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("csv-file-chunks-test", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    private List<String> parse(int maxChunkCount, long minChunkSize) {
+        List<String> lines = new ArrayList<>();
+        for (List<String> chunkLines : CsvFileChunks.<List<String>>parse(file, maxChunkCount, minChunkSize, ArrayList::new, List::add, EXECUTOR)) {
+            lines.addAll(chunkLines);
+        }
+        return lines;
+    }
+
+    @Test
+    public void test() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add("L" + i + ";Ligne \u00e9" + i + ";" + i * 0.5);
+        }
+        List<String> content = new ArrayList<>();
+        content.add("Id;Name;Value");
+        content.addAll(lines);
+        Files.write(file, content, StandardCharsets.UTF_8);
+
+        assertEquals(lines, parse(1, CsvFileChunks.DEFAULT_MIN_CHUNK_SIZE));
+        assertEquals(lines, parse(7, 1));
+        assertEquals(lines, parse(64, 100));
+        assertEquals(7, CsvFileChunks.<List<String>>parse(file, 7, 1, ArrayList::new, List::add, EXECUTOR).size());
+    }
+
+    @Test
+    public void testHeaderOnly() throws IOException {
+        Files.write(file, "Id;Name;Value".getBytes(StandardCharsets.UTF_8));
+        assertEquals(new ArrayList<>(), parse(4, 1));
+    }
+
+    @Test
+    public void testParseError() throws IOException {
+        Files.write(file, "Id;Value\nL1;1\nL2;x\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            CsvFileChunks.<List<Double>>parse(file, 2, 1, ArrayList::new, (values, line) -> values.add(Double.parseDouble(line.split(";")[1])), EXECUTOR);
+            fail();
+        } catch (NumberFormatException ignored) {
+            // the parsing error is thrown as is, not wrapped
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.powsybl.commons.PowsyblException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GeoDataSourceTest {
+
+    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("geo-data-source-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private void writeGeoJson() throws IOException {
+        Files.write(dir.resolve("substations.geojson"), Arrays.asList(
+                "{\"type\": \"FeatureCollection\", \"name\": \"substations\", \"features\": [",
+                "  {\"type\": \"Feature\", \"properties\": {\"id\": \"S1\", \"nominalVoltage\": 380},",
+                "   \"geometry\": {\"type\": \"Point\", \"coordinates\": [1.5, 47.25]}},",
+                "  {\"type\": \"Feature\", \"properties\": {\"id\": \"S2\", \"nominalVoltage\": 110},",
+                "   \"geometry\": {\"type\": \"Point\", \"coordinates\": [2.5, 48.75]}},",
+                "  {\"type\": \"Feature\", \"properties\": {\"nominalVoltage\": 110},",
+                "   \"geometry\": {\"type\": \"Point\", \"coordinates\": [3.5, 49.75]}}",
+                "]}"),
+                StandardCharsets.UTF_8);
+        Files.write(dir.resolve("lines.geojson"), Arrays.asList(
+                "{\"type\": \"FeatureCollection\", \"features\": [",
+                "  {\"type\": \"Feature\", \"properties\": {\"id\": \"L1\", \"nominalVoltage\": 220},",
+                "   \"geometry\": {\"type\": \"LineString\", \"coordinates\": [[1.0, 47.0], [1.5, 47.5], [2.0, 48.0]]}},",
+                "  {\"type\": \"Feature\", \"properties\": {\"id\": \"L2\"},",
+                "   \"geometry\": {\"type\": \"MultiLineString\", \"coordinates\": [[[2.0, 48.0], [2.5, 48.5]], [[3.0, 49.0], [3.5, 49.5]]]}}",
+                "]}"),
+                StandardCharsets.UTF_8);
+    }
+
+    private static void assertSubstationData(SubstationData data) {
+        assertArrayEquals(new String[] {"S1", "S2"}, data.getIds());
+        assertEquals(RteOpenData.BaseVoltage.VL_400_KV, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[0]));
+        assertEquals(RteOpenData.BaseVoltage.VL_90_KV, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[1]));
+        assertArrayEquals(new double[] {1.5, 2.5}, data.getLons(), 0);
+        assertArrayEquals(new double[] {47.25, 48.75}, data.getLats(), 0);
+    }
+
+    private static void assertLineSegmentData(LineSegmentData data) {
+        assertArrayEquals(new String[] {"L1", "L2"}, data.getIds());
+        assertEquals(RteOpenData.BaseVoltage.VL_225_KV, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[0]));
+        assertEquals(RteOpenData.BaseVoltage.VL_HORS_TENSION, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[1]));
+        assertArrayEquals(new int[] {0, 2, 4}, data.getSegmentOffsets());
+        assertArrayEquals(new double[] {1.0, 1.5, 2.0, 3.0}, data.getLon1s(), 0);
+        assertArrayEquals(new double[] {1.5, 2.0, 2.5, 3.5}, data.getLon2s(), 0);
+    }
+
+    @Test
+    public void testFromNominalVoltage() {
+        assertEquals(RteOpenData.BaseVoltage.VL_400_KV, RteOpenData.BaseVoltage.fromNominalVoltage(400));
+        assertEquals(RteOpenData.BaseVoltage.VL_225_KV, RteOpenData.BaseVoltage.fromNominalVoltage(220));
+        assertEquals(RteOpenData.BaseVoltage.VL_63_KV, RteOpenData.BaseVoltage.fromNominalVoltage(63));
+        assertEquals(RteOpenData.BaseVoltage.VL_INF_45_KV, RteOpenData.BaseVoltage.fromNominalVoltage(20));
+        assertEquals(RteOpenData.BaseVoltage.VL_HORS_TENSION, RteOpenData.BaseVoltage.fromNominalVoltage(Double.NaN));
+    }
+
+    @Test
+    public void testGeoJson() throws IOException {
+        writeGeoJson();
+        GeoDataSource source = GeoDataSources.find(dir);
+        assertEquals(GeoJsonDataSource.NAME, source.getName());
+        assertSubstationData(GeoDataSources.loadSubstationData(source, dir, EXECUTOR));
+        assertLineSegmentData(GeoDataSources.loadLineSegmentData(source, dir, EXECUTOR));
+        assertTrue(Files.exists(dir.resolve("geojson-substations.bin")));
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+        writeGeoJson();
+        GeoDataSource geoJsonSource = new GeoJsonDataSource();
+        GeoBinaryDataSource.write(dir.resolve(GeoBinaryDataSource.FILE_NAME),
+                                  GeoDataSources.loadSubstationData(geoJsonSource, dir, EXECUTOR),
+                                  GeoDataSources.loadLineSegmentData(geoJsonSource, dir, EXECUTOR));
+
+        // binary source is preferred to others and is not cached
+        GeoDataSource source = GeoDataSources.find(dir);
+        assertEquals(GeoBinaryDataSource.NAME, source.getName());
+        assertSubstationData(GeoDataSources.loadSubstationData(source, dir, EXECUTOR));
+        assertLineSegmentData(GeoDataSources.loadLineSegmentData(source, dir, EXECUTOR));
+        assertFalse(Files.exists(dir.resolve("binary-substations.bin")));
+
+        // a model can be built from any source
+        GeoModel geoModel = GeoModel.load(dir, EXECUTOR).join();
+        assertEquals(2, geoModel.getSubstations().size());
+        assertEquals(2, geoModel.getLines().size());
+    }
+
+    @Test(expected = PowsyblException.class)
+    public void testNoSource() {
+        GeoDataSources.find(dir);
+    }
+}
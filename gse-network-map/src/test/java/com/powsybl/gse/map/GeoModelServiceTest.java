@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GeoModelServiceTest {
+
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private static GeoModel createModel(CompletableFuture<Void> branchesIndexesFuture) {
+        return new GeoModel(Collections.emptyMap(), Collections.emptyMap(), SubstationGraphicIndex.build(Collections.emptyList()),
+                            SubstationClusters.build(Collections.emptyList()),
+                            GraphicNameIndex.build(Collections.emptyMap(), Collections.emptyMap()),
+                            GraphicNameIndex.build(Collections.emptyMap(), Collections.emptyMap()),
+                            new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), branchesIndexesFuture);
+    }
+
+    @Test
+    public void test() {
+        int[] loadCount = new int[1];
+        GeoModelService service = new GeoModelService(executor -> {
+            loadCount[0]++;
+            return CompletableFuture.completedFuture(createModel(CompletableFuture.completedFuture(null)));
+        });
+
+        // model is loaded once and shared
+        CompletableFuture<GeoModel> model1 = service.acquire(DIRECT_EXECUTOR);
+        CompletableFuture<GeoModel> model2 = service.acquire(DIRECT_EXECUTOR);
+        assertSame(model1, model2);
+        assertEquals(1, loadCount[0]);
+        assertEquals(2, service.getRefCount());
+
+        // and released with the last user
+        service.release();
+        assertSame(model1, service.acquire(DIRECT_EXECUTOR));
+        service.release();
+        service.release();
+        assertEquals(0, service.getRefCount());
+
+        // so that it is reloaded by next user
+        assertNotSame(model1, service.acquire(DIRECT_EXECUTOR));
+        assertEquals(2, loadCount[0]);
+        service.release();
+    }
+
+    @Test
+    public void testLowerVoltageFailure() {
+        CompletableFuture<Void> branchesIndexesFuture = new CompletableFuture<>();
+        int[] loadCount = new int[1];
+        GeoModelService service = new GeoModelService(executor -> {
+            loadCount[0]++;
+            return CompletableFuture.completedFuture(createModel(loadCount[0] == 1 ? branchesIndexesFuture : CompletableFuture.completedFuture(null)));
+        });
+
+        // model is shared while lower voltages are being built
+        CompletableFuture<GeoModel> model1 = service.acquire(DIRECT_EXECUTOR);
+        assertSame(model1, service.acquire(DIRECT_EXECUTOR));
+
+        // a failed lower voltage is not shared with next users, which reload the model
+        branchesIndexesFuture.completeExceptionally(new IllegalStateException("failed"));
+        CompletableFuture<GeoModel> model2 = service.acquire(DIRECT_EXECUTOR);
+        assertNotSame(model1, model2);
+        assertEquals(2, loadCount[0]);
+        assertSame(model2, service.acquire(DIRECT_EXECUTOR));
+        assertEquals(4, service.getRefCount());
+    }
+
+    @Test
+    public void testLoadingFailure() {
+        int[] loadCount = new int[1];
+        GeoModelService service = new GeoModelService(executor -> {
+            loadCount[0]++;
+            if (loadCount[0] == 1) {
+                throw new IllegalStateException("failed");
+            }
+            return CompletableFuture.completedFuture(createModel(CompletableFuture.completedFuture(null)));
+        });
+
+        // loading has already failed when the model is acquired
+        CompletableFuture<GeoModel> model1 = service.acquire(DIRECT_EXECUTOR);
+        assertTrue(model1.isCompletedExceptionally());
+
+        // the failed model is not shared with next users, which load it again
+        CompletableFuture<GeoModel> model2 = service.acquire(DIRECT_EXECUTOR);
+        assertNotSame(model1, model2);
+        assertEquals(2, loadCount[0]);
+        assertFalse(model2.isCompletedExceptionally());
+        assertSame(model2, service.acquire(DIRECT_EXECUTOR));
+        assertEquals(3, service.getRefCount());
+    }
+
+    @Test
+    public void testLowerVoltageFailureBeforeAcquisition() {
+        int[] loadCount = new int[1];
+        GeoModelService service = new GeoModelService(executor -> {
+            loadCount[0]++;
+            CompletableFuture<Void> branchesIndexesFuture = new CompletableFuture<>();
+            if (loadCount[0] == 1) {
+                branchesIndexesFuture.completeExceptionally(new IllegalStateException("failed"));
+            } else {
+                branchesIndexesFuture.complete(null);
+            }
+            return CompletableFuture.completedFuture(createModel(branchesIndexesFuture));
+        });
+
+        // lower voltages have already failed when the model is acquired
+        CompletableFuture<GeoModel> model1 = service.acquire(DIRECT_EXECUTOR);
+        CompletableFuture<GeoModel> model2 = service.acquire(DIRECT_EXECUTOR);
+        assertNotSame(model1, model2);
+        assertEquals(2, loadCount[0]);
+        assertSame(model2, service.acquire(DIRECT_EXECUTOR));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleaseNotAcquired() {
+        new GeoModelService(executor -> null).release();
+    }
+}
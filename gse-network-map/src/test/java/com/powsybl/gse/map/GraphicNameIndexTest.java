@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class GraphicNameIndexTest {
+
+    private static GraphicNameIndex<String> createIndex(Map<String, String> aliases) {
+        Map<String, String> byId = new LinkedHashMap<>();
+        for (String id : Arrays.asList("VALENCE", "Saint-\u00c9tienne", "ST ETIENNE", "MARSEILLE 1", "BORDEAUX")) {
+            byId.put(id, id);
+        }
+        return GraphicNameIndex.build(byId, aliases);
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("sainteloi", GraphicNameIndex.normalize(" Saint-\u00c9LOI "));
+        assertEquals("marseille1", GraphicNameIndex.normalize("Marseille_1"));
+        assertEquals("", GraphicNameIndex.normalize(" - "));
+    }
+
+    @Test
+    public void testExactAndNormalized() {
+        GraphicNameIndex<String> index = createIndex(Collections.emptyMap());
+        assertEquals("VALENCE", index.findExact("VALENCE"));
+        assertNull(index.findExact("Valence"));
+        assertNull(index.findExact(null));
+        assertEquals("VALENCE", index.findNormalized("Valence"));
+        assertEquals("MARSEILLE 1", index.findNormalized("marseille-1"));
+        assertEquals("Saint-\u00c9tienne", index.findNormalized("SAINT ETIENNE"));
+        assertNull(index.findNormalized("LYON"));
+    }
+
+    @Test
+    public void testAliases() {
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("Bordeaux Nord", "BORDEAUX");
+        aliases.put("Lyon", "UNKNOWN");
+        GraphicNameIndex<String> index = createIndex(aliases);
+        assertEquals("BORDEAUX", index.findAlias("BORDEAUX-NORD"));
+        assertNull(index.findAlias("Lyon"));
+        assertNull(index.findAlias(null));
+    }
+
+    @Test
+    public void testAmbiguousAlias() {
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("Sud", "BORDEAUX");
+        aliases.put("SUD", "MARSEILLE 1");
+        GraphicNameIndex<String> index = createIndex(aliases);
+        assertNull(index.findAlias("sud"));
+    }
+
+    @Test
+    public void testFuzzy() {
+        GraphicNameIndex<String> index = createIndex(Collections.emptyMap());
+        assertEquals("VALENCE", index.findFuzzy("VALENCES", s -> true));
+        assertEquals("BORDEAUX", index.findFuzzy("BORDEAU", s -> true));
+        assertNull(index.findFuzzy("BORDEAU", s -> !s.equals("BORDEAUX")));
+        assertNull(index.findFuzzy("TOULOUSE", s -> true));
+        assertNull(index.findFuzzy(null, s -> true));
+    }
+
+    @Test
+    public void testReadAliases() throws IOException {
+        Path file = Files.createTempFile("graphic-name-index-test", ".csv");
+        try {
+            Files.write(file, Arrays.asList("# alias;id", "", "Bordeaux Nord;BORDEAUX", "invalid"), StandardCharsets.UTF_8);
+            assertEquals(Collections.singletonMap("Bordeaux Nord", "BORDEAUX"), GraphicNameIndex.readAliases(file));
+        } finally {
+            Files.delete(file);
+        }
+        assertTrue(GraphicNameIndex.readAliases(file).isEmpty());
+    }
+}
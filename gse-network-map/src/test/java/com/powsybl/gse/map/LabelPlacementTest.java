@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class LabelPlacementTest {
+
+    @Test
+    public void test() {
+        LabelPlacement placement = new LabelPlacement(100, 50);
+        assertTrue(placement.place(10, 10, 30, 10));
+        // overlapping the first one
+        assertFalse(placement.place(30, 15, 30, 10));
+        // on the right of the first one
+        assertTrue(placement.place(50, 10, 30, 10));
+        // below the first one
+        assertTrue(placement.place(10, 30, 30, 10));
+        // partly outside of the screen
+        assertTrue(placement.place(90, -5, 30, 10));
+        // fully outside of the screen
+        assertFalse(placement.place(200, 10, 30, 10));
+        assertEquals(4, placement.getPlacedCount());
+        assertEquals(2, placement.getCulledCount());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class LineGeometryStoreTest {
+
+    @Test
+    public void test() {
+        LineSegmentData data = new LineSegmentData.Builder()
+                .add("L1", RteOpenData.BaseVoltage.VL_400_KV, 1, 1, 1, 2)
+                .add("L2", RteOpenData.BaseVoltage.VL_225_KV, 1, 1, 2, 1)
+                .add("L1", RteOpenData.BaseVoltage.VL_400_KV, 1, 2, 1, 3)
+                .add("L1", RteOpenData.BaseVoltage.VL_400_KV, 1, 2, 0, 2)
+                .build();
+        LineGeometryStore store = LineGeometryStore.build(data);
+
+        assertEquals(2, store.getLineCount());
+        assertEquals("L1", store.getLineId(0));
+        assertEquals("L2", store.getLineId(1));
+
+        // pylons are shared inside a line only
+        assertEquals(6, store.getPylonCount());
+
+        // cross pylon (1, 2) of L1 has 3 neighbors, in segment order
+        assertEquals(3, store.getNeighborCount(1));
+        assertEquals(0, store.getNeighbor(1, 0));
+        assertEquals(2, store.getNeighbor(1, 1));
+        assertEquals(3, store.getNeighbor(1, 2));
+
+        // L1 starts at its most western leaf (0, 2) and has a nested branch starting at the cross, emitted first
+        assertEquals(3, store.getBranchCount());
+        assertEquals(2, store.getBranchCount(0));
+        int nested = store.getFirstBranch(0);
+        assertEquals(2, store.getBranchPylonCount(nested));
+        assertEquals(1, store.getBranchPylon(nested, 0));
+        assertEquals(2, store.getBranchPylon(nested, 1));
+        int main = nested + 1;
+        assertEquals(3, store.getBranchPylonCount(main));
+        assertEquals(3, store.getBranchPylon(main, 0));
+        assertEquals(1, store.getBranchPylon(main, 1));
+        assertEquals(0, store.getBranchPylon(main, 2));
+
+        BranchGraphic branch = store.toGraphics().get("L2").getBranches().get(0);
+        assertEquals(2, branch.getPylonCount());
+        assertEquals(new Coordinate(1, 1), branch.getPylons().get(0).getCoordinate());
+        assertEquals(2, branch.getLon(1), 0);
+    }
+
+    @Test
+    public void testLongBranch() {
+        // would overflow the stack with a recursive traversal
+        int segmentCount = 200000;
+        LineSegmentData.Builder builder = new LineSegmentData.Builder();
+        for (int i = 0; i < segmentCount; i++) {
+            builder.add("L1", RteOpenData.BaseVoltage.VL_400_KV, i, 0, i + 1, 0);
+        }
+        LineGeometryStore store = LineGeometryStore.build(builder.build());
+        assertEquals(1, store.getBranchCount());
+        assertEquals(segmentCount + 1, store.getBranchPylonCount(0));
+        assertEquals(segmentCount, store.getLon(store.getBranchPylon(0, segmentCount)), 0);
+    }
+
+    @Test
+    public void testParallel() {
+        LineSegmentData.Builder builder = new LineSegmentData.Builder();
+        for (int l = 0; l < 100; l++) {
+            for (int i = 0; i < 10; i++) {
+                builder.add("L" + l, RteOpenData.BaseVoltage.VL_63_KV, i, l, i + 1, l);
+            }
+            builder.add("L" + l, RteOpenData.BaseVoltage.VL_63_KV, 5, l, 5, l + 0.5);
+        }
+        LineSegmentData data = builder.build();
+        LineGeometryStore store = LineGeometryStore.build(data, Integer.MAX_VALUE);
+        LineGeometryStore parallelStore = LineGeometryStore.build(data, 15);
+        assertArrayEquals(store.getLineIds(), parallelStore.getLineIds());
+        assertArrayEquals(store.getLinePylonOffsets(), parallelStore.getLinePylonOffsets());
+        assertArrayEquals(store.getLons(), parallelStore.getLons(), 0);
+        assertArrayEquals(store.getLats(), parallelStore.getLats(), 0);
+        assertArrayEquals(store.getAdjacencyOffsets(), parallelStore.getAdjacencyOffsets());
+        assertArrayEquals(store.getAdjacency(), parallelStore.getAdjacency());
+        assertArrayEquals(store.getLineBranchOffsets(), parallelStore.getLineBranchOffsets());
+        assertArrayEquals(store.getBranchPylonOffsets(), parallelStore.getBranchPylonOffsets());
+        assertArrayEquals(store.getBranchPylons(), parallelStore.getBranchPylons());
+        assertEquals(200, parallelStore.getBranchCount());
+    }
+}
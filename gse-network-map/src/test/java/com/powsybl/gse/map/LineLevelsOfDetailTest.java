@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class LineLevelsOfDetailTest {
+
+    @Test
+    public void test() {
+        LineSegmentData.Builder builder = new LineSegmentData.Builder();
+        // straight line
+        for (int i = 0; i < 10; i++) {
+            builder.add("L1", RteOpenData.BaseVoltage.VL_400_KV, 2 + i * 0.01, 47, 2 + (i + 1) * 0.01, 47);
+        }
+        // line with a 0.005 degree detour in the middle, a few pixels at zoom 10 but less than a pixel at zoom 6
+        builder.add("L2", RteOpenData.BaseVoltage.VL_400_KV, 2, 48, 2.05, 48)
+                .add("L2", RteOpenData.BaseVoltage.VL_400_KV, 2.05, 48, 2.055, 48.005)
+                .add("L2", RteOpenData.BaseVoltage.VL_400_KV, 2.055, 48.005, 2.06, 48)
+                .add("L2", RteOpenData.BaseVoltage.VL_400_KV, 2.06, 48, 2.1, 48);
+        LineGeometryStore store = LineGeometryStore.build(builder.build());
+        LineLevelsOfDetail levelsOfDetail = LineLevelsOfDetail.build(store);
+
+        assertEquals(3, levelsOfDetail.getLevels().size());
+        assertEquals(6, levelsOfDetail.getLevel(5).getMaxZoom(), 0);
+        assertEquals(8, levelsOfDetail.getLevel(7.5).getMaxZoom(), 0);
+        assertEquals(10, levelsOfDetail.getLevel(10).getMaxZoom(), 0);
+        assertNull(levelsOfDetail.getLevel(10.5));
+
+        for (LineLevelsOfDetail.Level level : levelsOfDetail.getLevels()) {
+            // straight line is reduced to its ends
+            assertEquals(2, level.getPylonCount(0));
+            assertEquals(0, level.getPylonIndex(0, 0));
+            assertEquals(10, level.getPylonIndex(0, 1));
+        }
+
+        // detour is only visible at higher zooms
+        assertEquals(2, levelsOfDetail.getLevel(6).getPylonCount(1));
+        assertEquals(5, levelsOfDetail.getLevel(10).getPylonCount(1));
+    }
+}
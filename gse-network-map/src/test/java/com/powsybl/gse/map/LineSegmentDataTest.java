@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import java.util.SortedMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class LineSegmentDataTest {
+
+    @Test
+    public void testAddAll() {
+        // 3 chunks sharing lines, large enough to grow the columns, merged in bulk or added segment by segment
+        LineSegmentData.Builder[] chunks = new LineSegmentData.Builder[3];
+        LineSegmentData.Builder expectedBuilder = new LineSegmentData.Builder();
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new LineSegmentData.Builder();
+            for (int i = 0; i < 5000; i++) {
+                String lineId = "L" + (i * 7 + c) % 1500;
+                RteOpenData.BaseVoltage baseVoltage = RteOpenData.BaseVoltage.fromOrdinal((byte) (lineId.hashCode() & 3));
+                chunks[c].add(lineId, baseVoltage, c, i, c + 1, i + 1);
+                expectedBuilder.add(lineId, baseVoltage, c, i, c + 1, i + 1);
+            }
+        }
+        LineSegmentData.Builder builder = new LineSegmentData.Builder();
+        for (LineSegmentData.Builder chunk : chunks) {
+            builder.addAll(chunk);
+        }
+        LineSegmentData data = builder.build();
+        LineSegmentData expected = expectedBuilder.build();
+        assertArrayEquals(expected.getIds(), data.getIds());
+        assertArrayEquals(expected.getBaseVoltages(), data.getBaseVoltages());
+        assertArrayEquals(expected.getSegmentOffsets(), data.getSegmentOffsets());
+        assertArrayEquals(expected.getLon1s(), data.getLon1s(), 0);
+        assertArrayEquals(expected.getLat1s(), data.getLat1s(), 0);
+        assertArrayEquals(expected.getLon2s(), data.getLon2s(), 0);
+        assertArrayEquals(expected.getLat2s(), data.getLat2s(), 0);
+        assertEquals(15000, data.getSegmentCount());
+    }
+
+    @Test
+    public void testSplitByDrawOrder() {
+        LineSegmentData data = new LineSegmentData.Builder()
+                .add("L1", RteOpenData.BaseVoltage.VL_63_KV, 0, 0, 1, 1)
+                .add("L2", RteOpenData.BaseVoltage.VL_400_KV, 1, 1, 2, 2)
+                .add("L3", RteOpenData.BaseVoltage.VL_63_KV, 2, 2, 3, 3)
+                .add("L1", RteOpenData.BaseVoltage.VL_63_KV, 1, 1, 4, 4)
+                .build();
+        SortedMap<Integer, LineSegmentData> split = data.splitByDrawOrder();
+        assertEquals(2, split.size());
+
+        // highest voltage first
+        LineSegmentData data400 = split.get(split.firstKey());
+        assertEquals(RteOpenData.BaseVoltage.VL_400_KV.getOrder(), (int) split.firstKey());
+        assertArrayEquals(new String[] {"L2"}, data400.getIds());
+        assertArrayEquals(new double[] {2}, data400.getLon2s(), 0);
+
+        LineSegmentData data63 = split.get(RteOpenData.BaseVoltage.VL_63_KV.getOrder());
+        assertArrayEquals(new String[] {"L1", "L3"}, data63.getIds());
+        assertArrayEquals(new int[] {0, 2, 3}, data63.getSegmentOffsets());
+        assertArrayEquals(new double[] {0, 1, 2}, data63.getLon1s(), 0);
+        assertArrayEquals(new double[] {1, 4, 3}, data63.getLat2s(), 0);
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class MapMetricsTest {
+
+    @Test
+    public void testTimer() {
+        MapMetrics metrics = new MapMetrics();
+        MapMetrics.Timer timer = metrics.timer("frame.LineLayer");
+        assertSame(timer, metrics.timer("frame.LineLayer"));
+        timer.record(TimeUnit.MICROSECONDS.toNanos(500));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(3));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(3, timer.getCount());
+        assertEquals(1003.5, timer.getTotalTime(), 1e-9);
+        assertEquals(1000, timer.getMaxTime(), 1e-9);
+        assertEquals(1000, timer.getLastTime(), 1e-9);
+        assertArrayEquals(new long[] {1, 0, 1, 0, 0, 0, 0, 0, 0, 1}, timer.getHistogram());
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        MapMetrics metrics = new MapMetrics();
+        metrics.timer("index.substation").record(TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.counter("lines.segments").increment(100);
+        metrics.counter("lines.segments").increment(50);
+        metrics.gauge("lines.simplificationRate").set(0.25);
+
+        StringWriter writer = new StringWriter();
+        metrics.writeJson(writer);
+        JsonNode root = new ObjectMapper().readTree(writer.toString());
+        JsonNode timer = root.path("timers").path("index.substation");
+        assertEquals(1, timer.path("count").asLong());
+        assertEquals(20, timer.path("maxMs").asDouble(), 1e-9);
+        assertEquals(1, timer.path("histogram").path("le32ms").asLong());
+        assertEquals(150, root.path("counters").path("lines.segments").asLong());
+        assertEquals(0.25, root.path("gauges").path("lines.simplificationRate").asDouble(), 1e-9);
+
+        assertTrue(metrics.format().contains("lines.segments: 150"));
+
+        metrics.reset();
+        assertEquals("", metrics.format());
+    }
+}
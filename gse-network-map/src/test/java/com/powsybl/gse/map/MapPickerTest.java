@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.scene.paint.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class MapPickerTest {
+
+    private static final double ZOOM = 10;
+
+    private MapPicker picker;
+
+    private static Coordinate shift(Coordinate c, double dx, double dy) {
+        return new Coordinate(TileGrid.unprojectLon(TileGrid.projectX(c.getLon(), ZOOM) + dx, ZOOM),
+                              TileGrid.unprojectLat(TileGrid.projectY(c.getLat(), ZOOM) + dy, ZOOM));
+    }
+
+    @Before
+    public void setUp() {
+        LineGraphic l1 = new LineGraphic("l1", 0, Color.RED);
+        l1.getSegments().add(new SegmentGraphic(new Coordinate(2, 48), new Coordinate(3, 48), l1));
+        l1.getSegments().add(new SegmentGraphic(new Coordinate(3, 48), new Coordinate(3, 47), l1));
+        l1.updateBranches();
+        LineGraphic l2 = new LineGraphic("l2", 1, Color.GREEN);
+        l2.getSegments().add(new SegmentGraphic(new Coordinate(2, 47.99), new Coordinate(3, 47.99), l2));
+        l2.updateBranches();
+
+        TreeMap<Integer, BranchGraphicIndex> branchesIndexes = new TreeMap<>();
+        branchesIndexes.put(0, BranchGraphicIndex.build(l1.getBranches()));
+        branchesIndexes.put(1, BranchGraphicIndex.build(l2.getBranches()));
+        List<SubstationGraphic> substations = Arrays.asList(new SubstationGraphic("s1", 0, Color.RED, new Coordinate(2, 48)),
+                                                            new SubstationGraphic("s2", 0, Color.RED, new Coordinate(2.01, 48)));
+        picker = new MapPicker(branchesIndexes, SubstationGraphicIndex.build(substations), SubstationClusters.build(substations));
+    }
+
+    @Test
+    public void testSegmentDistance() {
+        assertEquals(1, MapPicker.getDistance(5, 1, 0, 0, 10, 0), 0);
+        assertEquals(5, MapPicker.getDistance(13, 4, 0, 0, 10, 0), 0);
+        assertEquals(5, MapPicker.getDistance(3, 4, 0, 0, 0, 0), 0);
+    }
+
+    @Test
+    public void testPick() {
+        // on the substation
+        assertEquals("s1", picker.pick(new Coordinate(2, 48), ZOOM, true).map(MapSelection::getId).orElse(null));
+
+        // on l1 vertical part, far from its pylons and from l2
+        Coordinate c = shift(new Coordinate(3, 47.5), 3, 0);
+        MapSelection selection = picker.pick(c, ZOOM, true).orElse(null);
+        assertNotNull(selection);
+        assertEquals(MapSelection.Type.LINE, selection.getType());
+        assertEquals("l1", selection.getId());
+        assertFalse(picker.pick(shift(new Coordinate(3, 47.5), 10, 0), ZOOM, true).isPresent());
+
+        // l2 is about 18 px below l1 at zoom 10, the nearest one is picked
+        Coordinate onL2 = shift(new Coordinate(2.5, 47.99), 0, -2);
+        assertEquals("l2", picker.pick(onL2, ZOOM, true).map(MapSelection::getId).orElse(null));
+        Coordinate onL1 = shift(new Coordinate(2.5, 48), 0, 2);
+        assertEquals("l1", picker.pick(onL1, ZOOM, true).map(MapSelection::getId).orElse(null));
+
+        // both are within a large tolerance, still the nearest one
+        assertEquals("l2", picker.pickBranch(onL2, ZOOM, 50).map(b -> b.getLine().getId()).orElse(null));
+    }
+
+    @Test
+    public void testPickCluster() {
+        // s1 and s2 are in the same cluster at zoom 5, which hides them
+        Coordinate c = new Coordinate(2.005, 48);
+        SubstationClusters.Cluster cluster = picker.pickCluster(c, 5, MapPicker.DEFAULT_TOLERANCE).orElse(null);
+        assertNotNull(cluster);
+        assertEquals(2, cluster.getCount());
+        assertFalse(picker.pickCluster(new Coordinate(6, 44), 5, MapPicker.DEFAULT_TOLERANCE).isPresent());
+
+        // hidden substations are not picked at a clustered zoom, but still are if clustering is off
+        assertEquals(MapSelection.Type.LINE, picker.pick(c, 5, true).map(MapSelection::getType).orElse(null));
+        assertEquals(MapSelection.Type.SUBSTATION, picker.pick(c, 5, false).map(MapSelection::getType).orElse(null));
+
+        // no cluster above clustered zooms
+        assertFalse(picker.pickCluster(new Coordinate(2, 48), ZOOM, MapPicker.DEFAULT_TOLERANCE).isPresent());
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class RenderSchedulerTest {
+
+    @Test
+    public void testPriority() {
+        RenderScheduler scheduler = new RenderScheduler(Long.MAX_VALUE / 2);
+        List<String> done = new ArrayList<>();
+        scheduler.submit(2, () -> done.add("a"));
+        scheduler.submit(0, () -> done.add("b"));
+        scheduler.submit(2, () -> done.add("c"));
+        scheduler.submit(1, () -> done.add("d"));
+        assertFalse(scheduler.isIdle());
+        scheduler.runPulse();
+        assertTrue(scheduler.isIdle());
+        assertEquals(Arrays.asList("b", "d", "a", "c"), done);
+
+        RenderScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.getFrameCount());
+        assertEquals(0, metrics.getDroppedFrameCount());
+        assertEquals(4, metrics.getTaskCount());
+        assertEquals(1, metrics.getPulseCount());
+        assertTrue(metrics.getLastFrameLatency() >= 0);
+    }
+
+    @Test
+    public void testTimeSlicing() {
+        // with a zero budget, only one step is run per pulse
+        RenderScheduler scheduler = new RenderScheduler(0);
+        int[] steps = new int[1];
+        scheduler.submit(0, deadline -> ++steps[0] == 3);
+        List<String> done = new ArrayList<>();
+        scheduler.submit(1, () -> done.add("a"));
+        scheduler.runPulse();
+        scheduler.runPulse();
+        assertEquals(2, steps[0]);
+        assertTrue(done.isEmpty());
+        scheduler.runPulse();
+        assertEquals(3, steps[0]);
+        assertTrue(done.isEmpty());
+        scheduler.runPulse();
+        assertEquals(Arrays.asList("a"), done);
+        assertTrue(scheduler.isIdle());
+
+        RenderScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.getFrameCount());
+        assertEquals(4, metrics.getPulseCount());
+    }
+
+    @Test
+    public void testCancel() {
+        RenderScheduler scheduler = new RenderScheduler(0);
+        List<String> done = new ArrayList<>();
+        int generation = scheduler.getGeneration();
+        scheduler.submit(0, () -> done.add("a"));
+        scheduler.submit(0, () -> done.add("b"));
+        scheduler.runPulse();
+        scheduler.cancel();
+        assertEquals(generation + 1, scheduler.getGeneration());
+        assertTrue(scheduler.isIdle());
+
+        scheduler.submit(0, () -> done.add("c"));
+        scheduler.runPulse();
+        assertEquals(Arrays.asList("a", "c"), done);
+
+        RenderScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(1, metrics.getFrameCount());
+        assertEquals(1, metrics.getDroppedFrameCount());
+        assertEquals(2, metrics.getTaskCount());
+        assertEquals(1, metrics.getDroppedTaskCount());
+
+        // nothing to drop
+        scheduler.cancel();
+        assertEquals(1, scheduler.getMetrics().getDroppedFrameCount());
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class RteOpenDataCacheTest {
+
+    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+
+    private static final GeoDataSource SOURCE = new RteCsvGeoDataSource();
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("rte-open-data-cache-test");
+        Files.write(dir.resolve("postes-electriques-rte.csv"), Arrays.asList(
+                "Code poste;Nom poste;Fonction;Etat;Tension;Longitude;Latitude",
+                "S1;Substation 1;POSTE DE TRANSFORMATION;EN EXPLOITATION;400 kV;1.5;47.25",
+                "S2;Substation 2;POSTE DE TRANSFORMATION;EN EXPLOITATION;63 kV;2.5;48.75"),
+                StandardCharsets.UTF_8);
+        Files.write(dir.resolve("lignes-aeriennes-rte.csv"), Arrays.asList(
+                "Code ligne;Identifiant;Proprietaire;Etat;Type;Tension;Nombre circuit;Geo;Lon1;Lat1;Lon2;Lat2",
+                "C1;L1;RTE;EN EXPLOITATION;AERIEN;400 kV;1;;1.0;47.0;1.5;47.5",
+                "C2;L2;RTE;EN EXPLOITATION;AERIEN;225 kV;1;;2.0;48.0;2.5;48.5",
+                "C1;L1;RTE;EN EXPLOITATION;AERIEN;400 kV;1;;1.5;47.5;2.0;48.0"),
+                StandardCharsets.UTF_8);
+        Files.write(dir.resolve("lignes-souterraines-rte.csv"), Arrays.asList(
+                "Code ligne;Identifiant;Proprietaire;Etat;Type;Tension;Nombre circuit;Geo;Longueur;Lon1;Lat1;Lon2;Lat2",
+                "C3;L2;RTE;EN EXPLOITATION;SOUTERRAIN;225 kV;1;;10;2.5;48.5;3.0;49.0"),
+                StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static void assertSubstationData(SubstationData data) {
+        assertEquals(2, data.size());
+        assertArrayEquals(new String[] {"S1", "S2"}, data.getIds());
+        assertEquals(RteOpenData.BaseVoltage.VL_400_KV, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[0]));
+        assertEquals(RteOpenData.BaseVoltage.VL_63_KV, RteOpenData.BaseVoltage.fromOrdinal(data.getBaseVoltages()[1]));
+        assertArrayEquals(new double[] {1.5, 2.5}, data.getLons(), 0);
+        assertArrayEquals(new double[] {47.25, 48.75}, data.getLats(), 0);
+    }
+
+    private static void assertLineSegmentData(LineSegmentData data) {
+        assertEquals(2, data.getLineCount());
+        assertEquals(4, data.getSegmentCount());
+        assertArrayEquals(new String[] {"L1", "L2"}, data.getIds());
+        assertArrayEquals(new int[] {0, 2, 4}, data.getSegmentOffsets());
+        assertArrayEquals(new double[] {1.0, 1.5, 2.0, 2.5}, data.getLon1s(), 0);
+        assertArrayEquals(new double[] {47.0, 47.5, 48.0, 48.5}, data.getLat1s(), 0);
+        assertArrayEquals(new double[] {1.5, 2.0, 2.5, 3.0}, data.getLon2s(), 0);
+        assertArrayEquals(new double[] {47.5, 48.0, 48.5, 49.0}, data.getLat2s(), 0);
+    }
+
+    @Test
+    public void test() throws IOException {
+        // first load parses CSV and writes the cache
+        assertSubstationData(GeoDataSources.loadSubstationData(SOURCE, dir, EXECUTOR));
+        assertLineSegmentData(GeoDataSources.loadLineSegmentData(SOURCE, dir, EXECUTOR));
+        assertTrue(Files.exists(dir.resolve("rte-csv-substations.bin")));
+        assertTrue(Files.exists(dir.resolve("rte-csv-lines.bin")));
+
+        // cache is up to date
+        assertTrue(RteOpenDataCache.readSubstations(dir.resolve("rte-csv-substations.bin"),
+                Collections.singletonList(dir.resolve("postes-electriques-rte.csv"))).isPresent());
+
+        // second load comes from the cache
+        assertSubstationData(GeoDataSources.loadSubstationData(SOURCE, dir, EXECUTOR));
+        assertLineSegmentData(GeoDataSources.loadLineSegmentData(SOURCE, dir, EXECUTOR));
+
+        // a modification of the source invalidates the cache
+        Path file = dir.resolve("postes-electriques-rte.csv");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        assertFalse(RteOpenDataCache.readSubstations(dir.resolve("rte-csv-substations.bin"),
+                Collections.singletonList(file)).isPresent());
+        assertSubstationData(GeoDataSources.loadSubstationData(SOURCE, dir, EXECUTOR));
+    }
+
+    private static Map<String, List<List<Coordinate>>> getBranchCoordinates(GeoModel geoModel) {
+        return geoModel.getLines().values().stream()
+                .collect(Collectors.toMap(LineGraphic::getId, line -> line.getBranches().stream()
+                        .map(branch -> branch.getPylons().stream().map(PylonGraphic::getCoordinate).collect(Collectors.toList()))
+                        .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testSnapshot() {
+        // first load computes branches and writes the snapshot
+        GeoModel geoModel = GeoModel.load(dir, EXECUTOR).join();
+        // highest voltage is indexed once loaded, lower ones may still be being indexed
+        assertTrue(geoModel.getBranchesIndexes().containsKey(geoModel.getBranchesIndexFutures().firstKey()));
+        geoModel.getBranchesIndexesFuture().join();
+        assertTrue(Files.exists(dir.resolve("network-map-snapshot.bin")));
+        Map<String, List<List<Coordinate>>> branches = getBranchCoordinates(geoModel);
+        assertEquals(Arrays.asList(Arrays.asList(new Coordinate(1.0, 47.0), new Coordinate(1.5, 47.5), new Coordinate(2.0, 48.0))),
+                branches.get("L1"));
+        assertEquals(2, geoModel.getBranchesIndexes().size());
+
+        // second load comes from the snapshot
+        GeoModel geoModel2 = GeoModel.load(dir, EXECUTOR).join();
+        geoModel2.getBranchesIndexesFuture().join();
+        assertEquals(branches, getBranchCoordinates(geoModel2));
+        assertEquals(geoModel.getBranchesIndexes().keySet(), geoModel2.getBranchesIndexes().keySet());
+        assertEquals(2, geoModel2.getSubstations().size());
+    }
+
+    @Test
+    public void testLoadExecutor() {
+        // all the loading tasks are run by the given executor, so with a direct one the model is loaded on return
+        int[] taskCount = new int[1];
+        Executor directExecutor = task -> {
+            taskCount[0]++;
+            task.run();
+        };
+        CompletableFuture<GeoModel> geoModel = GeoModel.load(dir, directExecutor);
+        assertTrue(geoModel.isDone());
+        assertTrue(geoModel.join().getBranchesIndexesFuture().isDone());
+        assertEquals(2, geoModel.join().getBranchesIndexes().size());
+        assertTrue(taskCount[0] > 0);
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import com.github.davidmoten.rtree.geometry.Geometries;
+import com.github.davidmoten.rtree.geometry.Rectangle;
+import javafx.scene.paint.Color;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class SubstationClustersTest {
+
+    @Test
+    public void test() {
+        // 2 nearby 225 kV substations and a 400 kV one, and a far away substation
+        List<SubstationGraphic> substations = Arrays.asList(
+                new SubstationGraphic("s1", 1, Color.GREEN, new Coordinate(2, 48)),
+                new SubstationGraphic("s2", 1, Color.GREEN, new Coordinate(2.01, 48.01)),
+                new SubstationGraphic("s3", 0, Color.RED, new Coordinate(2.02, 48)),
+                new SubstationGraphic("s4", 0, Color.RED, new Coordinate(6, 44)));
+        SubstationClusters clusters = SubstationClusters.build(substations);
+        assertEquals(SubstationClusters.MAX_ZOOM + 1, clusters.getLevels().size());
+        assertNull(clusters.getLevel(8));
+        assertNull(clusters.getLevel(12.5));
+
+        SubstationClusters.Level level = clusters.getLevel(5.5);
+        assertNotNull(level);
+        assertEquals(5, level.getZoom());
+        assertEquals(2, level.getClusters().size());
+        assertEquals(3, level.getMaxCount());
+
+        SubstationClusters.Cluster cluster = level.getClusters().get(0);
+        assertEquals(3, cluster.getCount());
+        assertEquals(Color.GREEN, cluster.getColor());
+        assertEquals(2.01, cluster.getLon(), 1e-3);
+
+        List<SubstationClusters.Cluster> found = new ArrayList<>();
+        level.search(Geometries.rectangleGeographic(5, 43, 7, 45), found::add);
+        assertEquals(1, found.size());
+        assertEquals(1, found.get(0).getCount());
+        assertEquals(Color.RED, found.get(0).getColor());
+
+        // at zoom 0 all substations are in the same cell, highest voltage wins the tie
+        SubstationClusters.Level level0 = clusters.getLevel(0);
+        assertEquals(1, level0.getClusters().size());
+        assertEquals(4, level0.getClusters().get(0).getCount());
+        assertEquals(Color.RED, level0.getClusters().get(0).getColor());
+    }
+
+    @Test
+    public void testSearch() {
+        // grid of substations over France, and bounds of all sizes including ones beyond the world
+        List<SubstationGraphic> substations = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            substations.add(new SubstationGraphic("s" + i, i % 3, Color.GREEN,
+                                                  new Coordinate(-5 + random.nextDouble() * 14, 42 + random.nextDouble() * 9)));
+        }
+        SubstationClusters clusters = SubstationClusters.build(substations);
+        List<Rectangle> boundsList = new ArrayList<>();
+        boundsList.add(Geometries.rectangleGeographic(-180, -90, 180, 90));
+        for (int i = 0; i < 100; i++) {
+            double lon = -6 + random.nextDouble() * 16;
+            double lat = 41 + random.nextDouble() * 11;
+            double size = random.nextDouble() * random.nextDouble() * 10;
+            boundsList.add(Geometries.rectangleGeographic(lon, lat, lon + size, lat + size / 2));
+        }
+        for (SubstationClusters.Level level : clusters.getLevels()) {
+            for (Rectangle bounds : boundsList) {
+                Set<SubstationClusters.Cluster> expected = level.getClusters().stream()
+                        .filter(cluster -> bounds.contains(cluster.getLon(), cluster.getLat()))
+                        .collect(Collectors.toSet());
+                Set<SubstationClusters.Cluster> found = new HashSet<>();
+                level.search(bounds, found::add);
+                assertEquals(expected, found);
+            }
+        }
+    }
+}
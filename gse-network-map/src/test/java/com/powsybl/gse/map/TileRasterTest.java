@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.map;
+
+import javafx.scene.paint.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public class TileRasterTest {
+
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void testArgb() {
+        assertEquals(RED, TileRaster.toArgb(Color.RED));
+        assertEquals(0xFF228B22, TileRaster.toArgb(Color.rgb(34, 139, 34)));
+    }
+
+    @Test
+    public void testLine() {
+        TileRaster raster = new TileRaster(16);
+        raster.drawLine(2, 5.5, 12, 5.5, RED, 1);
+        for (int x = 2; x <= 12; x++) {
+            assertEquals(RED, raster.getPixel(x, 5));
+        }
+        assertEquals(0, raster.getPixel(1, 5));
+        assertEquals(0, raster.getPixel(13, 5));
+        assertEquals(0, raster.getPixel(5, 4));
+
+        // clipped line crossing the raster
+        raster.clear();
+        raster.drawLine(-1000, 8.5, 1000, 8.5, RED, 2);
+        for (int x = 0; x < 16; x++) {
+            assertEquals(RED, raster.getPixel(x, 7));
+            assertEquals(RED, raster.getPixel(x, 8));
+        }
+
+        // dashed line, 1 pixel on then 7 pixels off
+        raster.clear();
+        raster.drawLine(0, 0.5, 15.5, 0.5, RED, 1, 1, 7);
+        assertEquals(RED, raster.getPixel(0, 0));
+        assertEquals(0, raster.getPixel(4, 0));
+        assertEquals(RED, raster.getPixel(8, 0));
+    }
+
+    @Test
+    public void testCircle() {
+        TileRaster raster = new TileRaster(16);
+        raster.fillCircle(8, 8, 2.5, RED);
+        assertEquals(RED, raster.getPixel(8, 8));
+        assertEquals(RED, raster.getPixel(6, 8));
+        assertEquals(0, raster.getPixel(5, 5));
+        assertEquals(0, raster.getPixel(11, 8));
+    }
+
+    @Test
+    public void testTileGrid() {
+        assertEquals(128, TileGrid.projectX(0, 0), 1e-9);
+        assertEquals(128, TileGrid.projectY(0, 0), 1e-9);
+        assertEquals(2.35, TileGrid.unprojectLon(TileGrid.projectX(2.35, 10), 10), 1e-9);
+        assertEquals(48.85, TileGrid.unprojectLat(TileGrid.projectY(48.85, 10), 10), 1e-9);
+        assertEquals(6, TileRenderer.getTileZoom(6.3));
+        assertEquals(7, TileRenderer.getTileZoom(6.5));
+    }
+}
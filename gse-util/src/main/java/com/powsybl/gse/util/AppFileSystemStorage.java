@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.gse.util;
+
+import com.powsybl.afs.AppFileSystem;
+import com.powsybl.afs.storage.AppStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Access to the storage of an application file system, which is not exposed by the AFS API and is read by
+ * reflection.
+ *
+ * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
+ */
+public final class AppFileSystemStorage {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppFileSystemStorage.class);
+
+    private AppFileSystemStorage() {
+    }
+
+    /**
+     * Get the storage of a file system, or nothing if it cannot be read, for instance because of an AFS version
+     * change.
+     */
+    public static Optional<AppStorage> getStorage(AppFileSystem fileSystem) {
+        Objects.requireNonNull(fileSystem);
+        try {
+            Field storageField = AppFileSystem.class.getDeclaredField("storage");
+            storageField.setAccessible(true);
+            return Optional.ofNullable((AppStorage) storageField.get(fileSystem));
+        } catch (NoSuchFieldException | IllegalAccessException | SecurityException e) {
+            LOGGER.warn("Cannot read storage of file system {}", fileSystem.getName(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Check if a file system storage is remote. When the storage cannot be read, it is assumed to be remote.
+     */
+    public static boolean isRemote(AppFileSystem fileSystem) {
+        return getStorage(fileSystem).map(AppStorage::isRemote).orElse(true);
+    }
+}